@@ -71,9 +71,21 @@ final class ReloadSubcommand extends AbstrtactSubcommand
 		// reload config file
 		ctx.plugin().reloadConfig();
 
+		// publish a snapshot of the reloaded settings
+		ctx.config().reload();
+
+		// reload road block materials
+		ctx.materials().reload();
+
 		// reload messages
 		ctx.messageBuilder().reload();
 
+		// discard player on-road states evaluated with the previous on-road-height
+		ctx.roadState().clear();
+
+		// register or unregister feature listeners and tasks to match the reloaded settings
+		ctx.features().refresh();
+
 		// send player success message
 		ctx.messageBuilder().compose(sender, MessageId.COMMAND_SUCCESS_RELOAD).send();
 
@@ -21,7 +21,6 @@ import com.winterhavenmc.roadblock.core.util.PluginCtx;
 import com.winterhavenmc.roadblock.core.ports.highlights.HighlightStyle;
 import com.winterhavenmc.roadblock.core.util.Macro;
 import com.winterhavenmc.roadblock.core.util.MessageId;
-import com.winterhavenmc.roadblock.core.util.Config;
 
 import org.bukkit.Location;
 import org.bukkit.command.CommandSender;
@@ -79,7 +78,7 @@ final class ShowSubcommand extends AbstrtactSubcommand
 		}
 
 		// get show distance from config
-		int distance = Config.SHOW_DISTANCE.getInt(ctx.plugin().getConfig());
+		int distance = ctx.config().get().showDistance();
 
 		// if argument passed, try to parse string to int
 		if (argsList.size() == 1)
@@ -17,6 +17,7 @@
 
 package com.winterhavenmc.roadblock.adapters.commands.bukkit;
 
+import com.winterhavenmc.roadblock.adapters.datastore.BlockLocationCache;
 import com.winterhavenmc.roadblock.core.util.PluginCtx;
 import com.winterhavenmc.roadblock.core.util.Macro;
 import com.winterhavenmc.roadblock.core.util.MessageId;
@@ -65,6 +66,7 @@ final class StatusSubcommand extends AbstrtactSubcommand
 		displayPluginVersion(sender);
 		displayDebugSetting(sender);
 		displayProfileSetting(sender);
+		displayCacheFootprint(sender);
 		displayLanguageSetting(sender);
 		displayLocaleSetting(sender);
 		displayTimezoneSetting(sender);
@@ -122,6 +124,15 @@ final class StatusSubcommand extends AbstrtactSubcommand
 	}
 
 
+	private void displayCacheFootprint(final CommandSender sender)
+	{
+		if (Config.DEBUG.getBoolean(ctx.plugin().getConfig()))
+		{
+			sender.sendMessage(ChatColor.DARK_RED + "CACHE: " + BlockLocationCache.getInstance().footprint());
+		}
+	}
+
+
 	private void displayLanguageSetting(final CommandSender sender)
 	{
 		ctx.messageBuilder().compose(sender, MessageId.COMMAND_STATUS_LANGUAGE_SETTING)
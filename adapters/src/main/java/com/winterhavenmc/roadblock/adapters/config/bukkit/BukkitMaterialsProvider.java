@@ -7,6 +7,8 @@ import org.bukkit.block.Block;
 import org.bukkit.plugin.Plugin;
 
 import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.function.Supplier;
@@ -14,12 +16,16 @@ import java.util.function.Supplier;
 
 public final class BukkitMaterialsProvider implements MaterialsProvider
 {
+	private final Plugin plugin;
 	private final Supplier<Set<Material>> materialsSupplier;
+	private volatile MaterialTable table;
 
 
 	public BukkitMaterialsProvider(final Plugin plugin)
 	{
-		this.materialsSupplier = () -> BukkitMaterialsProvider.getValidMaterials(plugin);
+		this.plugin = plugin;
+		this.table = MaterialTable.compile(getValidMaterials(plugin));
+		this.materialsSupplier = () -> this.table.materials();
 	}
 
 
@@ -30,6 +36,16 @@ public final class BukkitMaterialsProvider implements MaterialsProvider
 	}
 
 
+	/**
+	 * Parse the configured road block materials again, and replace the material table with one built from them
+	 */
+	@Override
+	public void reload()
+	{
+		this.table = MaterialTable.compile(getValidMaterials(plugin));
+	}
+
+
 	/**
 	 * Check if a material is a valid road block material
 	 *
@@ -39,14 +55,14 @@ public final class BukkitMaterialsProvider implements MaterialsProvider
 	@Override
 	public boolean isRoadBlockMaterial(final Material material)
 	{
-		return material != null && this.materialsSupplier.get().contains(material);
+		return material != null && this.table.contains(material);
 	}
 
 
 	@Override
 	public boolean contains(final Material material)
 	{
-		return this.materialsSupplier.get().contains(material);
+		return material != null && this.table.contains(material);
 	}
 
 
@@ -98,4 +114,33 @@ public final class BukkitMaterialsProvider implements MaterialsProvider
 		return returnSet;
 	}
 
+
+	/**
+	 * An immutable table of road block materials, indexed by material ordinal. A table is never modified
+	 * once built; a reload builds a new table and replaces the reference to the old one.
+	 *
+	 * @param byOrdinal a flag for each material, set if the material is a road block material
+	 * @param materials an unmodifiable set of the road block materials
+	 */
+	private record MaterialTable(boolean[] byOrdinal, Set<Material> materials)
+	{
+		static MaterialTable compile(final Set<Material> materials)
+		{
+			final boolean[] byOrdinal = new boolean[Material.values().length];
+			for (Material material : materials)
+			{
+				byOrdinal[material.ordinal()] = true;
+			}
+
+			final Set<Material> materialSet = materials.isEmpty() ? EnumSet.noneOf(Material.class) : EnumSet.copyOf(materials);
+			return new MaterialTable(byOrdinal, Collections.unmodifiableSet(materialSet));
+		}
+
+
+		boolean contains(final Material material)
+		{
+			return byOrdinal[material.ordinal()];
+		}
+	}
+
 }
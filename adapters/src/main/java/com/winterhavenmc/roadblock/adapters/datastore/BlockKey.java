@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.roadblock.adapters.datastore;
+
+
+/**
+ * Utility class that packs block coordinates into a single primitive {@code long}, using the same
+ * bit layout as the Minecraft server: 26 bits for x, 26 bits for z and 12 bits for y.
+ * This covers the full world border range on the horizontal axes, and a vertical range of -2048 to 2047.
+ */
+public final class BlockKey
+{
+	private static final int XZ_BITS = 26;
+	private static final int Y_BITS = 12;
+	private static final long XZ_MASK = (1L << XZ_BITS) - 1L;
+	private static final long Y_MASK = (1L << Y_BITS) - 1L;
+	private static final int X_SHIFT = Y_BITS + XZ_BITS;
+	private static final int Z_SHIFT = Y_BITS;
+
+
+	/**
+	 * Private class constructor to prevent instantiation
+	 */
+	private BlockKey()
+	{
+		throw new AssertionError();
+	}
+
+
+	/**
+	 * Pack block coordinates into a long key
+	 *
+	 * @param x the block x coordinate
+	 * @param y the block y coordinate
+	 * @param z the block z coordinate
+	 * @return the packed key
+	 */
+	public static long pack(final int x, final int y, final int z)
+	{
+		return ((x & XZ_MASK) << X_SHIFT) | ((z & XZ_MASK) << Z_SHIFT) | (y & Y_MASK);
+	}
+
+
+	/**
+	 * Unpack the block x coordinate from a packed key
+	 *
+	 * @param key the packed key
+	 * @return the block x coordinate
+	 */
+	public static int x(final long key)
+	{
+		return (int) (key >> X_SHIFT);
+	}
+
+
+	/**
+	 * Unpack the block y coordinate from a packed key
+	 *
+	 * @param key the packed key
+	 * @return the block y coordinate
+	 */
+	public static int y(final long key)
+	{
+		return (int) (key << (Long.SIZE - Y_BITS) >> (Long.SIZE - Y_BITS));
+	}
+
+
+	/**
+	 * Unpack the block z coordinate from a packed key
+	 *
+	 * @param key the packed key
+	 * @return the block z coordinate
+	 */
+	public static int z(final long key)
+	{
+		return (int) (key << XZ_BITS >> (XZ_BITS + Z_SHIFT));
+	}
+
+}
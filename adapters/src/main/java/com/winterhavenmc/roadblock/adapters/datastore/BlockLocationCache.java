@@ -19,16 +19,27 @@ package com.winterhavenmc.roadblock.adapters.datastore;
 
 import com.winterhavenmc.roadblock.models.blocklocation.BlockLocation;
 
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 
 
+/**
+ * A cache of protected block locations and their persistence status.
+ * <p>
+ * The cache is a two-level structure: each world has a table of chunk buckets keyed by packed chunk
+ * coordinates, and each bucket holds the statuses of the blocks in that chunk, keyed by block coordinates
+ * packed into a primitive {@code long} by {@link BlockKey}. A whole chunk can therefore be installed or
+ * evicted with a single bucket operation, and no boxed keys are created on lookup.
+ */
 @SuppressWarnings("UnusedReturnValue")
 public final class BlockLocationCache
 {
-	// block cache
-	private final Map<BlockLocation, CacheStatus> blockMap = new ConcurrentHashMap<>();
+	// block cache, one table of chunk buckets per world
+	private final Map<UUID, WorldTable> worldTables = new ConcurrentHashMap<>();
 
 
 	/**
@@ -59,31 +70,384 @@ public final class BlockLocationCache
 
 	public CacheStatus get(final BlockLocation key)
 	{
-		return blockMap.get(key);
+		return (key instanceof BlockLocation.Valid validLocation)
+				? get(validLocation.worldUid(), validLocation.blockX(), validLocation.blockY(), validLocation.blockZ())
+				: null;
+	}
+
+
+	/**
+	 * Get the cached status of a block by its coordinates, without creating a location record
+	 *
+	 * @param worldUid the uid of the world containing the block
+	 * @param x        the block x coordinate
+	 * @param y        the block y coordinate
+	 * @param z        the block z coordinate
+	 * @return the cached status, or {@code null} if the block is not in the cache
+	 */
+	public CacheStatus get(final UUID worldUid, final int x, final int y, final int z)
+	{
+		final WorldTable table = worldTables.get(worldUid);
+		if (table != null)
+		{
+			synchronized (table)
+			{
+				final ChunkBlocks bucket = table.chunks.get(ChunkKey.ofBlock(x, z));
+				return (bucket != null) ? bucket.get(BlockKey.pack(x, y, z)) : null;
+			}
+		}
+		return null;
 	}
 
 
 	public CacheStatus put(final BlockLocation key, final CacheStatus value)
 	{
-		return blockMap.put(key, value);
+		if (key instanceof BlockLocation.Valid validLocation)
+		{
+			final WorldTable table = getOrCreateTable(validLocation.worldUid(), validLocation.worldName());
+			synchronized (table)
+			{
+				final long chunkKey = ChunkKey.ofBlock(validLocation.blockX(), validLocation.blockZ());
+				ChunkBlocks bucket = table.chunks.get(chunkKey);
+				if (bucket == null)
+				{
+					bucket = new ChunkBlocks();
+					table.chunks.put(chunkKey, bucket);
+				}
+				return bucket.put(pack(validLocation), value);
+			}
+		}
+		return null;
 	}
 
 
 	public CacheStatus remove(final BlockLocation key)
 	{
-		return blockMap.remove(key);
+		if (key instanceof BlockLocation.Valid validLocation)
+		{
+			final WorldTable table = worldTables.get(validLocation.worldUid());
+			if (table != null)
+			{
+				synchronized (table)
+				{
+					final ChunkBlocks bucket = table.chunks.get(ChunkKey.ofBlock(validLocation.blockX(), validLocation.blockZ()));
+					return (bucket != null) ? bucket.remove(pack(validLocation)) : null;
+				}
+			}
+		}
+		return null;
 	}
 
 
 	boolean containsKey(final BlockLocation key)
 	{
-		return blockMap.containsKey(key);
+		return get(key) != null;
+	}
+
+
+	/**
+	 * Check if all protected blocks of a chunk have been loaded into the cache
+	 *
+	 * @param worldUid the uid of the world containing the chunk
+	 * @param chunkX   the chunk x coordinate
+	 * @param chunkZ   the chunk z coordinate
+	 * @return {@code true} if the chunk is resident in the cache, {@code false} if not
+	 */
+	public boolean isChunkResident(final UUID worldUid, final int chunkX, final int chunkZ)
+	{
+		final WorldTable table = worldTables.get(worldUid);
+		if (table != null)
+		{
+			synchronized (table)
+			{
+				final ChunkBlocks bucket = table.chunks.get(ChunkKey.pack(chunkX, chunkZ));
+				return bucket != null && bucket.isResident();
+			}
+		}
+		return false;
+	}
+
+
+	/**
+	 * Check if any of the blocks below a block, down to a given distance, is protected. The answer is read
+	 * from the road height map of the chunk, without a lookup per block; it is complete only if the chunk
+	 * is resident.
+	 *
+	 * @param worldUid the uid of the world containing the block
+	 * @param x        the block x coordinate
+	 * @param y        the block y coordinate
+	 * @param z        the block z coordinate
+	 * @param distance the number of blocks below to check
+	 * @return {@code true} if a protected block lies within {@code distance} below the block, {@code false} if not
+	 */
+	public boolean isAboveProtected(final UUID worldUid, final int x, final int y, final int z, final int distance)
+	{
+		final WorldTable table = worldTables.get(worldUid);
+		if (table != null)
+		{
+			synchronized (table)
+			{
+				final ChunkBlocks bucket = table.chunks.get(ChunkKey.ofBlock(x, z));
+				return bucket != null && bucket.anyProtectedBetween(x, z, y - distance, y - 1);
+			}
+		}
+		return false;
+	}
+
+
+	/**
+	 * Visit the cached blocks of a chunk with their statuses. For a resident chunk these are all of its
+	 * protected blocks, along with any pending deletes; for any other chunk, only its pending changes.
+	 *
+	 * @param worldUid the uid of the world containing the chunk
+	 * @param chunkX   the chunk x coordinate
+	 * @param chunkZ   the chunk z coordinate
+	 * @param visitor  the visitor to call for each cached block
+	 * @return {@code true} if the chunk is resident in the cache, {@code false} if not
+	 */
+	public boolean forEachInChunk(final UUID worldUid, final int chunkX, final int chunkZ, final BlockVisitor visitor)
+	{
+		final WorldTable table = worldTables.get(worldUid);
+		if (table != null)
+		{
+			synchronized (table)
+			{
+				final ChunkBlocks bucket = table.chunks.get(ChunkKey.pack(chunkX, chunkZ));
+				if (bucket != null)
+				{
+					bucket.forEach((key, status) -> visitor.visit(BlockKey.x(key), BlockKey.y(key), BlockKey.z(key), status));
+					return bucket.isResident();
+				}
+			}
+		}
+		return false;
+	}
+
+
+	/**
+	 * Install all protected blocks of a chunk, as read from the datastore, and mark the chunk resident.
+	 * Statuses already in the cache for the chunk take precedence over the datastore records, and a chunk
+	 * that is already resident is left unchanged, since its bucket is more current than any datastore read.
+	 *
+	 * @param worldUid  the uid of the world containing the chunk
+	 * @param worldName the name of the world containing the chunk
+	 * @param chunkX    the chunk x coordinate
+	 * @param chunkZ    the chunk z coordinate
+	 * @param blocks    the protected block locations in the chunk
+	 */
+	public void installChunk(final UUID worldUid, final String worldName,
+	                         final int chunkX, final int chunkZ,
+	                         final Collection<BlockLocation.Valid> blocks)
+	{
+		final WorldTable table = getOrCreateTable(worldUid, worldName);
+		synchronized (table)
+		{
+			final long chunkKey = ChunkKey.pack(chunkX, chunkZ);
+			ChunkBlocks bucket = table.chunks.get(chunkKey);
+			if (bucket == null)
+			{
+				bucket = new ChunkBlocks();
+				table.chunks.put(chunkKey, bucket);
+			}
+			else if (bucket.isResident())
+			{
+				return;
+			}
+
+			for (BlockLocation.Valid blockLocation : blocks)
+			{
+				bucket.putIfAbsent(pack(blockLocation), CacheStatus.RESIDENT);
+			}
+
+			bucket.setResident();
+		}
+	}
+
+
+	/**
+	 * Remove the cached blocks of a chunk. Blocks with a pending status are kept, in a bucket that is
+	 * no longer resident, until their change has been written to the datastore.
+	 *
+	 * @param worldUid the uid of the world containing the chunk
+	 * @param chunkX   the chunk x coordinate
+	 * @param chunkZ   the chunk z coordinate
+	 */
+	public void evictChunk(final UUID worldUid, final int chunkX, final int chunkZ)
+	{
+		final WorldTable table = worldTables.get(worldUid);
+		if (table != null)
+		{
+			synchronized (table)
+			{
+				final long chunkKey = ChunkKey.pack(chunkX, chunkZ);
+				final ChunkBlocks bucket = table.chunks.remove(chunkKey);
+				if (bucket != null)
+				{
+					final ChunkBlocks pending = bucket.pendingOnly();
+					if (pending != null)
+					{
+						table.chunks.put(chunkKey, pending);
+					}
+				}
+			}
+		}
+	}
+
+
+	/**
+	 * Record that the pending change of a block has been written to the datastore. The block becomes
+	 * {@code RESIDENT} if it was inserted into a resident chunk; otherwise it is removed from the cache.
+	 * Nothing is changed if the block's status is no longer the expected pending status, because a newer
+	 * change for the block has been made since.
+	 *
+	 * @param location the block location
+	 * @param expected the pending status that was written
+	 */
+	public void complete(final BlockLocation.Valid location, final CacheStatus expected)
+	{
+		final WorldTable table = worldTables.get(location.worldUid());
+		if (table != null)
+		{
+			synchronized (table)
+			{
+				final long chunkKey = ChunkKey.ofBlock(location.blockX(), location.blockZ());
+				final ChunkBlocks bucket = table.chunks.get(chunkKey);
+				if (bucket == null || bucket.get(pack(location)) != expected)
+				{
+					return;
+				}
+
+				if (expected == CacheStatus.PENDING_INSERT && bucket.isResident())
+				{
+					bucket.put(pack(location), CacheStatus.RESIDENT);
+				}
+				else
+				{
+					bucket.remove(pack(location));
+					if (!bucket.isResident() && bucket.size() == 0)
+					{
+						table.chunks.remove(chunkKey);
+					}
+				}
+			}
+		}
 	}
 
 
+	/**
+	 * Get a snapshot of all cached block locations. Locations are unpacked into new records,
+	 * so this should not be used in a hot path.
+	 *
+	 * @return a Set of all block locations in the cache at the time of the call
+	 */
 	public Set<BlockLocation> keySet()
 	{
-		return blockMap.keySet();
+		final Set<BlockLocation> keys = new HashSet<>();
+
+		for (WorldTable table : worldTables.values())
+		{
+			synchronized (table)
+			{
+				table.chunks.forEachValue(bucket -> bucket.forEach((key, status) -> keys.add(table.unpack(key))));
+			}
+		}
+
+		return keys;
+	}
+
+
+	/**
+	 * Report the memory used by this cache
+	 *
+	 * @return a footprint record containing the number of worlds, chunks, cached blocks, and estimated bytes retained
+	 */
+	public Footprint footprint()
+	{
+		final int[] chunks = new int[1];
+		final int[] blocks = new int[1];
+		final long[] bytes = new long[1];
+
+		for (WorldTable table : worldTables.values())
+		{
+			synchronized (table)
+			{
+				chunks[0] += table.chunks.size();
+				bytes[0] += table.chunks.footprint();
+				table.chunks.forEachValue(bucket ->
+				{
+					blocks[0] += bucket.size();
+					bytes[0] += bucket.footprint();
+				});
+			}
+		}
+
+		return new Footprint(worldTables.size(), chunks[0], blocks[0], bytes[0]);
+	}
+
+
+	private WorldTable getOrCreateTable(final UUID worldUid, final String worldName)
+	{
+		return worldTables.computeIfAbsent(worldUid, uid -> new WorldTable(worldName, uid));
+	}
+
+
+	private static long pack(final BlockLocation.Valid validLocation)
+	{
+		return BlockKey.pack(validLocation.blockX(), validLocation.blockY(), validLocation.blockZ());
+	}
+
+
+	/**
+	 * Visitor for the cached blocks of a chunk
+	 */
+	@FunctionalInterface
+	public interface BlockVisitor
+	{
+		void visit(int x, int y, int z, CacheStatus status);
+	}
+
+
+	/**
+	 * Memory footprint of the cache
+	 *
+	 * @param worlds the number of worlds with a cache table
+	 * @param chunks the number of chunk buckets
+	 * @param blocks the number of cached block locations
+	 * @param bytes  the estimated number of bytes retained by the cache tables
+	 */
+	public record Footprint(int worlds, int chunks, int blocks, long bytes)
+	{
+		@Override
+		public String toString()
+		{
+			return blocks + " blocks in " + chunks + " chunks of " + worlds + " worlds, " + (bytes / 1024) + " KiB";
+		}
+	}
+
+
+	/**
+	 * The table of chunk buckets for a single world
+	 */
+	private static final class WorldTable
+	{
+		private final String worldName;
+		private final UUID worldUid;
+		private final LongObjectMap<ChunkBlocks> chunks = new LongObjectMap<>();
+
+
+		private WorldTable(final String worldName, final UUID worldUid)
+		{
+			this.worldName = worldName;
+			this.worldUid = worldUid;
+		}
+
+
+		private BlockLocation unpack(final long key)
+		{
+			final int x = BlockKey.x(key);
+			final int z = BlockKey.z(key);
+			return new BlockLocation.Valid(worldName, worldUid, x, BlockKey.y(key), z, x >> 4, z >> 4);
+		}
 	}
 
 }
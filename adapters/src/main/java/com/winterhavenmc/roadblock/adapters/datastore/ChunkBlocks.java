@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.roadblock.adapters.datastore;
+
+
+/**
+ * The cached block statuses for a single chunk. A bucket is {@code resident} once every protected block
+ * in the chunk has been loaded from the datastore; until then it only holds statuses written by this server
+ * session, and a miss cannot be taken to mean the block is unprotected.
+ * <p>
+ * Each bucket with a protected block also keeps a {@link RoadHeightMap} of its columns, updated on every
+ * change of status, so a check for road below a location needs no lookup per block.
+ * <p>
+ * This class is not thread safe; it is guarded by the lock of its owning world table.
+ */
+final class ChunkBlocks
+{
+	private LongStatusMap blocks;
+	private RoadHeightMap heights;
+	private boolean resident;
+
+
+	CacheStatus get(final long blockKey)
+	{
+		return (blocks != null) ? blocks.get(blockKey) : null;
+	}
+
+
+	CacheStatus put(final long blockKey, final CacheStatus status)
+	{
+		if (blocks == null)
+		{
+			blocks = new LongStatusMap();
+		}
+		final CacheStatus previous = blocks.put(blockKey, status);
+		updateHeights(blockKey, previous, status);
+		return previous;
+	}
+
+
+	/**
+	 * Map a key to a status only if the key is not already present, so that statuses
+	 * written during this session are not overwritten by older datastore records
+	 *
+	 * @param blockKey the packed block key
+	 * @param status   the status to map to the key
+	 */
+	void putIfAbsent(final long blockKey, final CacheStatus status)
+	{
+		if (get(blockKey) == null)
+		{
+			put(blockKey, status);
+		}
+	}
+
+
+	CacheStatus remove(final long blockKey)
+	{
+		final CacheStatus previous = (blocks != null) ? blocks.remove(blockKey) : null;
+		updateHeights(blockKey, previous, null);
+		return previous;
+	}
+
+
+	/**
+	 * Check if any block in a column between two heights is protected
+	 *
+	 * @param x    the block x coordinate of the column
+	 * @param z    the block z coordinate of the column
+	 * @param minY the lowest height to check, inclusive
+	 * @param maxY the highest height to check, inclusive
+	 * @return {@code true} if a protected block lies between the heights, {@code false} if not
+	 */
+	boolean anyProtectedBetween(final int x, final int z, final int minY, final int maxY)
+	{
+		return heights != null && heights.anyBetween(x, z, minY, maxY, this);
+	}
+
+
+	/**
+	 * Check if a status protects its block
+	 *
+	 * @param status the cached status, or {@code null}
+	 * @return {@code true} if the block is protected or its insert is pending, {@code false} if not
+	 */
+	static boolean isProtected(final CacheStatus status)
+	{
+		return status == CacheStatus.RESIDENT || status == CacheStatus.PENDING_INSERT;
+	}
+
+
+	void forEach(final LongStatusMap.EntryVisitor visitor)
+	{
+		if (blocks != null)
+		{
+			blocks.forEach(visitor);
+		}
+	}
+
+
+	int size()
+	{
+		return (blocks != null) ? blocks.size() : 0;
+	}
+
+
+	boolean isResident()
+	{
+		return resident;
+	}
+
+
+	void setResident()
+	{
+		this.resident = true;
+	}
+
+
+	/**
+	 * Copy the entries with a pending status into a new bucket that is not resident
+	 *
+	 * @return the new bucket, or {@code null} if this bucket has no pending entries
+	 */
+	ChunkBlocks pendingOnly()
+	{
+		final ChunkBlocks pending = new ChunkBlocks();
+		forEach((key, status) ->
+		{
+			if (status != CacheStatus.RESIDENT)
+			{
+				pending.put(key, status);
+			}
+		});
+		return (pending.size() > 0) ? pending : null;
+	}
+
+
+	long footprint()
+	{
+		// object header and fields, plus the backing map and height map if allocated
+		return 24 + ((blocks != null) ? 32 + blocks.footprint() : 0) + ((heights != null) ? heights.footprint() : 0);
+	}
+
+
+	private void updateHeights(final long blockKey, final CacheStatus previous, final CacheStatus status)
+	{
+		final boolean wasProtected = isProtected(previous);
+		final boolean nowProtected = isProtected(status);
+
+		if (!wasProtected && nowProtected)
+		{
+			if (heights == null)
+			{
+				heights = new RoadHeightMap();
+			}
+			heights.add(BlockKey.x(blockKey), BlockKey.y(blockKey), BlockKey.z(blockKey));
+		}
+		else if (wasProtected && !nowProtected && heights != null)
+		{
+			heights.remove(BlockKey.x(blockKey), BlockKey.y(blockKey), BlockKey.z(blockKey), this);
+		}
+	}
+
+}
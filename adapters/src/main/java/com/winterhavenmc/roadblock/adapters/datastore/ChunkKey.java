@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.roadblock.adapters.datastore;
+
+
+/**
+ * Utility class that packs chunk coordinates into a single primitive {@code long}
+ */
+public final class ChunkKey
+{
+	/**
+	 * Private class constructor to prevent instantiation
+	 */
+	private ChunkKey()
+	{
+		throw new AssertionError();
+	}
+
+
+	/**
+	 * Pack chunk coordinates into a long key
+	 *
+	 * @param chunkX the chunk x coordinate
+	 * @param chunkZ the chunk z coordinate
+	 * @return the packed key
+	 */
+	public static long pack(final int chunkX, final int chunkZ)
+	{
+		return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+	}
+
+
+	/**
+	 * Pack the coordinates of the chunk containing a block into a long key
+	 *
+	 * @param blockX the block x coordinate
+	 * @param blockZ the block z coordinate
+	 * @return the packed key
+	 */
+	public static long ofBlock(final int blockX, final int blockZ)
+	{
+		return pack(blockX >> 4, blockZ >> 4);
+	}
+
+
+	/**
+	 * Unpack the chunk x coordinate from a packed key
+	 *
+	 * @param key the packed key
+	 * @return the chunk x coordinate
+	 */
+	public static int x(final long key)
+	{
+		return (int) (key >> 32);
+	}
+
+
+	/**
+	 * Unpack the chunk z coordinate from a packed key
+	 *
+	 * @param key the packed key
+	 * @return the chunk z coordinate
+	 */
+	public static int z(final long key)
+	{
+		return (int) key;
+	}
+
+}
@@ -31,11 +31,16 @@ public enum DatastoreMessage implements LocalizedMessage
 	DATASTORE_INITIALIZED_ERROR("The SQLite datastore is already initialized."),
 	DATASTORE_CLOSE_ERROR("An error occurred while closing the SQLite datastore."),
 	DATASTORE_CLOSED_NOTICE("The SQLite datastore connection was successfully closed."),
+	STATEMENT_CACHE_NOTICE("SQLite datastore statements prepared: {1}, reused from cache: {2}."),
 
 	SCHEMA_VERSION_ERROR("Could not read schema version."),
 	SCHEMA_UPDATE_ERROR("An error occurred while trying to update the SQLite datastore schema."),
 	SCHEMA_UP_TO_DATE_NOTICE("Current schema is up to date."),
 	SCHEMA_BLOCK_RECORDS_MIGRATED_NOTICE("{0} block records migrated to schema v{1}"),
+	SCHEMA_INDEX_UPDATED_NOTICE("The SQLite datastore indexes were updated for schema v{1}."),
+	SCHEMA_TABLES_COMPACTED_NOTICE("The SQLite datastore tables were compacted for schema v{1}."),
+	SCHEMA_BLOCK_RECORDS_MISMATCH_ERROR("Only {1} of {2} block records could be copied to schema v{3} of the SQLite datastore. The schema update was rolled back."),
+	SCHEMA_OUTDATED_ERROR("The SQLite datastore is at schema v{1} and could not be updated to schema v{2}. The datastore was not started, and its records were left unchanged."),
 
 	CREATE_BLOCK_TABLE_ERROR("An error occurred while trying to create the Block table in the SQLite datastore."),
 	CREATE_BLOCK_INVALID_WORLD_ERROR("Stored location has invalid world  ''{0}''. Skipping record."),
@@ -45,10 +50,15 @@ public enum DatastoreMessage implements LocalizedMessage
 	SELECT_BLOCK_COUNT_ERROR("An error occurred while trying to get the block count from the SQLite datastore."),
 	SELECT_BLOCKS_IN_CHUNK_ERROR("An error occurred while trying to select block records in a given chunk from the SQLite datastore."),
 	SELECT_BLOCKS_BY_PROXIMITY_ERROR("An error occurred while trying to select block records by proximity from the SQLite datastore."),
+	SELECT_ROAD_CHUNKS_ERROR("An error occurred while trying to select the chunks holding road blocks from the SQLite datastore."),
 
 	INSERT_BLOCK_ERROR("An error occurred while attempting to insert a block in the SQLite datastore."),
 
 	DELETE_BLOCK_RECORD_ERROR("An error occurred while attempting to delete a block record from the SQLite datastore."),
+
+	WRITE_QUEUE_ERROR("An error occurred while writing queued block changes to the SQLite datastore. The changes will be retried."),
+	WRITE_QUEUE_FLUSH_ERROR("{1} queued block changes could not be written to the SQLite datastore before it was closed."),
+	WRITE_QUEUE_STOP_ERROR("The SQLite datastore writer did not stop within {1} seconds. Its prepared statements were left open."),
 	;
 
 	private final String defaultMessage;
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.winterhavenmc.roadblock.adapters.datastore;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+
+/**
+ * The blocks found by a {@link FloodFill}, held as packed {@link BlockKey} coordinates in a primitive array
+ */
+public final class FillResult
+{
+	static final FillResult EMPTY = new FillResult(new long[0], 0);
+
+	private final long[] keys;
+	private final int size;
+
+
+	FillResult(final long[] keys, final int size)
+	{
+		this.keys = keys;
+		this.size = size;
+	}
+
+
+	/**
+	 * Get the number of blocks in the result
+	 *
+	 * @return the number of blocks
+	 */
+	public int size()
+	{
+		return size;
+	}
+
+
+	/**
+	 * Get the packed coordinates of a block in the result
+	 *
+	 * @param index the index of the block, from zero to {@code size() - 1}
+	 * @return the packed {@link BlockKey} coordinates of the block
+	 */
+	public long key(final int index)
+	{
+		return keys[index];
+	}
+
+
+	/**
+	 * Get the packed coordinates of all blocks in the result
+	 *
+	 * @return a new array of packed {@link BlockKey} coordinates
+	 */
+	public long[] toArray()
+	{
+		return Arrays.copyOf(keys, size);
+	}
+
+
+	/**
+	 * Create a Location for each block in the result
+	 *
+	 * @param world the world of the blocks
+	 * @return a Set of Location of the blocks
+	 */
+	public Set<Location> toLocations(final World world)
+	{
+		final Set<Location> locations = HashSet.newHashSet(size);
+		for (int i = 0; i < size; i++)
+		{
+			locations.add(new Location(world, BlockKey.x(keys[i]), BlockKey.y(keys[i]), BlockKey.z(keys[i])));
+		}
+		return locations;
+	}
+
+}
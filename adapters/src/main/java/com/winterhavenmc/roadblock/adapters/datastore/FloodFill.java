@@ -0,0 +1,254 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.winterhavenmc.roadblock.adapters.datastore;
+
+import com.winterhavenmc.roadblock.core.ports.config.MaterialsProvider;
+
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.World;
+
+import java.util.Arrays;
+
+
+/**
+ * A flood fill that finds the road blocks connected horizontally to a starting block, within a distance
+ * of the starting block. Coordinates are packed into primitive {@code long} keys and held in a ring buffer
+ * queue and a primitive visited set, so no objects are allocated per block visited.
+ * <p>
+ * Block types are read a chunk layer at a time through a {@link LayerReader}, which marks the road blocks
+ * in the 16 x 16 layer of a chunk at the height of the fill. Each layer is read at most once per fill.
+ * <p>
+ * This class is not thread safe; use a new instance for each fill.
+ */
+public final class FloodFill
+{
+	private static final int LAYER_WORDS = 16 * 16 / Long.SIZE;
+
+	private final LayerReader reader;
+	private final LongObjectMap<long[]> layers = new LongObjectMap<>();
+	private long currentChunk;
+	private long[] currentLayer;
+
+
+	/**
+	 * Class constructor
+	 *
+	 * @param reader the reader for the road blocks of a chunk layer
+	 */
+	public FloodFill(final LayerReader reader)
+	{
+		this.reader = reader;
+	}
+
+
+	/**
+	 * Create a flood fill that reads the blocks of a world, treating blocks of any configured road block
+	 * material as road. Each chunk layer is read from a snapshot of the chunk.
+	 *
+	 * @param world     the world to read
+	 * @param materials the provider of the configured road block materials
+	 * @return a new flood fill
+	 */
+	public static FloodFill of(final World world, final MaterialsProvider materials)
+	{
+		return new FloodFill((chunkX, chunkZ, y, layer) ->
+				readLayer(world.getChunkAt(chunkX, chunkZ).getChunkSnapshot(false, false, false), y, materials, layer));
+	}
+
+
+	/**
+	 * Create a flood fill that reads snapshots of the loaded chunks within spread distance of a starting
+	 * block, so the fill itself may run on any thread. The snapshots are taken when this method is called,
+	 * which must be on the server thread. Chunks that are not loaded are not read, and hold no road blocks.
+	 *
+	 * @param world          the world to read
+	 * @param startX         the x coordinate of the starting block
+	 * @param startZ         the z coordinate of the starting block
+	 * @param spreadDistance the distance from the starting block that the fill may not reach
+	 * @param materials      the provider of the configured road block materials
+	 * @return a new flood fill
+	 */
+	public static FloodFill ofSnapshots(final World world,
+	                                    final int startX,
+	                                    final int startZ,
+	                                    final int spreadDistance,
+	                                    final MaterialsProvider materials)
+	{
+		final LongObjectMap<ChunkSnapshot> snapshots = new LongObjectMap<>();
+		final long limit = (long) spreadDistance * spreadDistance;
+
+		for (int chunkX = (startX - spreadDistance) >> 4; chunkX <= (startX + spreadDistance) >> 4; chunkX++)
+		{
+			for (int chunkZ = (startZ - spreadDistance) >> 4; chunkZ <= (startZ + spreadDistance) >> 4; chunkZ++)
+			{
+				// distance from the starting block to the nearest block of the chunk
+				final long dx = Math.max(0, Math.max((chunkX << 4) - startX, startX - ((chunkX << 4) + 15)));
+				final long dz = Math.max(0, Math.max((chunkZ << 4) - startZ, startZ - ((chunkZ << 4) + 15)));
+
+				if (dx * dx + dz * dz < limit && world.isChunkLoaded(chunkX, chunkZ))
+				{
+					snapshots.put(ChunkKey.pack(chunkX, chunkZ),
+							world.getChunkAt(chunkX, chunkZ).getChunkSnapshot(false, false, false));
+				}
+			}
+		}
+
+		return new FloodFill((chunkX, chunkZ, y, layer) ->
+		{
+			final ChunkSnapshot snapshot = snapshots.get(ChunkKey.pack(chunkX, chunkZ));
+			if (snapshot != null)
+			{
+				readLayer(snapshot, y, materials, layer);
+			}
+		});
+	}
+
+
+	/**
+	 * Find the road blocks connected to a starting block along the horizontal axes, within a distance of the
+	 * starting block. The starting block is included in the result if it is a road block.
+	 *
+	 * @param startX         the x coordinate of the starting block
+	 * @param y              the y coordinate of the starting block, and of every block in the fill
+	 * @param startZ         the z coordinate of the starting block
+	 * @param spreadDistance the distance from the starting block that the fill may not reach
+	 * @return the blocks found
+	 */
+	public FillResult fill(final int startX, final int y, final int startZ, final int spreadDistance)
+	{
+		if (spreadDistance < 1 || !isRoad(startX, y, startZ))
+		{
+			return FillResult.EMPTY;
+		}
+
+		final long limit = (long) spreadDistance * spreadDistance;
+		final LongHashSet visited = new LongHashSet();
+		final LongQueue queue = new LongQueue();
+		long[] result = new long[64];
+		int size = 0;
+
+		final long startKey = BlockKey.pack(startX, y, startZ);
+		visited.add(startKey);
+		queue.add(startKey);
+
+		while (!queue.isEmpty())
+		{
+			final long key = queue.poll();
+			final int x = BlockKey.x(key);
+			final int z = BlockKey.z(key);
+
+			if (size == result.length)
+			{
+				result = Arrays.copyOf(result, size << 1);
+			}
+			result[size++] = key;
+
+			for (int direction = 0; direction < 4; direction++)
+			{
+				final int nextX = x + ((direction == 0) ? 1 : (direction == 1) ? -1 : 0);
+				final int nextZ = z + ((direction == 2) ? 1 : (direction == 3) ? -1 : 0);
+				final long dx = nextX - startX;
+				final long dz = nextZ - startZ;
+
+				if (dx * dx + dz * dz < limit)
+				{
+					final long nextKey = BlockKey.pack(nextX, y, nextZ);
+					if (visited.add(nextKey) && isRoad(nextX, y, nextZ))
+					{
+						queue.add(nextKey);
+					}
+				}
+			}
+		}
+
+		return new FillResult(result, size);
+	}
+
+
+	private boolean isRoad(final int x, final int y, final int z)
+	{
+		final long chunk = ChunkKey.ofBlock(x, z);
+
+		// consecutive blocks are usually in the same chunk
+		if (currentLayer == null || chunk != currentChunk)
+		{
+			long[] layer = layers.get(chunk);
+			if (layer == null)
+			{
+				layer = new long[LAYER_WORDS];
+				reader.read(x >> 4, z >> 4, y, layer);
+				layers.put(chunk, layer);
+			}
+			currentChunk = chunk;
+			currentLayer = layer;
+		}
+
+		final int bit = ((z & 15) << 4) | (x & 15);
+		return (currentLayer[bit >> 6] & (1L << bit)) != 0;
+	}
+
+
+	private static void readLayer(final ChunkSnapshot snapshot,
+	                              final int y,
+	                              final MaterialsProvider materials,
+	                              final long[] layer)
+	{
+		for (int z = 0; z < 16; z++)
+		{
+			for (int x = 0; x < 16; x++)
+			{
+				if (materials.contains(snapshot.getBlockType(x, y, z)))
+				{
+					setBit(layer, x, z);
+				}
+			}
+		}
+	}
+
+
+	/**
+	 * Mark a block as road in a chunk layer
+	 *
+	 * @param layer the chunk layer
+	 * @param x     the x coordinate of the block within the chunk, from 0 to 15
+	 * @param z     the z coordinate of the block within the chunk, from 0 to 15
+	 */
+	public static void setBit(final long[] layer, final int x, final int z)
+	{
+		final int bit = (z << 4) | x;
+		layer[bit >> 6] |= 1L << bit;
+	}
+
+
+	/**
+	 * Reads the road blocks of a chunk layer
+	 */
+	@FunctionalInterface
+	public interface LayerReader
+	{
+		/**
+		 * Mark the road blocks in a 16 x 16 layer of a chunk, using {@link FloodFill#setBit}
+		 *
+		 * @param chunkX the chunk x coordinate
+		 * @param chunkZ the chunk z coordinate
+		 * @param y      the y coordinate of the layer
+		 * @param layer  the layer to mark, with every block initially unmarked
+		 */
+		void read(int chunkX, int chunkZ, int y, long[] layer);
+	}
+
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.winterhavenmc.roadblock.adapters.datastore;
+
+/**
+ * An open-addressing hash set of primitive {@code long} keys, using linear probing. Keys can be added
+ * but not removed, so no boxed keys or entry nodes are ever allocated and no tombstones are needed.
+ * <p>
+ * This class is not thread safe; callers are responsible for synchronization.
+ */
+public final class LongHashSet
+{
+	private static final int MIN_CAPACITY = 64;
+
+	private long[] keys;
+	private boolean[] used;
+	private int size;
+	private int mask;
+	private int resizeThreshold;
+
+
+	public LongHashSet()
+	{
+		allocate(MIN_CAPACITY);
+	}
+
+
+	/**
+	 * Create a set sized to hold a number of keys without growing
+	 *
+	 * @param expectedSize the number of keys the set is expected to hold
+	 */
+	public LongHashSet(final int expectedSize)
+	{
+		allocate(Math.max(MIN_CAPACITY, Integer.highestOneBit(Math.max(1, expectedSize) * 4 / 3) << 1));
+	}
+
+
+	/**
+	 * Add a key to the set
+	 *
+	 * @param key the packed key
+	 * @return {@code true} if the key was added, {@code false} if it was already present
+	 */
+	public boolean add(final long key)
+	{
+		int slot = slot(key);
+		while (used[slot])
+		{
+			if (keys[slot] == key)
+			{
+				return false;
+			}
+			slot = (slot + 1) & mask;
+		}
+
+		keys[slot] = key;
+		used[slot] = true;
+
+		if (++size > resizeThreshold)
+		{
+			rehash(keys.length << 1);
+		}
+		return true;
+	}
+
+
+	/**
+	 * Check if a key is in the set
+	 *
+	 * @param key the packed key
+	 * @return {@code true} if the key is present, {@code false} if not
+	 */
+	public boolean contains(final long key)
+	{
+		int slot = slot(key);
+		while (used[slot])
+		{
+			if (keys[slot] == key)
+			{
+				return true;
+			}
+			slot = (slot + 1) & mask;
+		}
+		return false;
+	}
+
+
+	public int size()
+	{
+		return size;
+	}
+
+
+	private int slot(final long key)
+	{
+		// fibonacci hashing spreads the packed coordinate bits across the table
+		long hash = key * 0x9E3779B97F4A7C15L;
+		return (int) (hash ^ (hash >>> 32)) & mask;
+	}
+
+
+	private void allocate(final int capacity)
+	{
+		keys = new long[capacity];
+		used = new boolean[capacity];
+		mask = capacity - 1;
+		resizeThreshold = (capacity * 3) >>> 2;
+	}
+
+
+	private void rehash(final int capacity)
+	{
+		final long[] oldKeys = keys;
+		final boolean[] oldUsed = used;
+
+		allocate(capacity);
+
+		for (int i = 0; i < oldUsed.length; i++)
+		{
+			if (oldUsed[i])
+			{
+				int slot = slot(oldKeys[i]);
+				while (used[slot])
+				{
+					slot = (slot + 1) & mask;
+				}
+				keys[slot] = oldKeys[i];
+				used[slot] = true;
+			}
+		}
+	}
+
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.roadblock.adapters.datastore;
+
+import java.util.function.Consumer;
+
+
+/**
+ * An open-addressing hash map from primitive {@code long} keys to object values, using linear probing
+ * and backward-shift deletion, so lookups never box their key. A {@code null} value marks an empty slot.
+ * <p>
+ * This class is not thread safe; callers are responsible for synchronization.
+ *
+ * @param <V> the type of mapped values
+ */
+public final class LongObjectMap<V>
+{
+	private static final int MIN_CAPACITY = 16;
+
+	private long[] keys;
+	private Object[] values;
+	private int size;
+	private int mask;
+	private int resizeThreshold;
+
+
+	public LongObjectMap()
+	{
+		allocate(MIN_CAPACITY);
+	}
+
+
+	/**
+	 * Get the value mapped to a key
+	 *
+	 * @param key the packed key
+	 * @return the mapped value, or {@code null} if the key is not present
+	 */
+	@SuppressWarnings("unchecked")
+	public V get(final long key)
+	{
+		int slot = slot(key);
+		while (values[slot] != null)
+		{
+			if (keys[slot] == key)
+			{
+				return (V) values[slot];
+			}
+			slot = (slot + 1) & mask;
+		}
+		return null;
+	}
+
+
+	/**
+	 * Map a key to a value
+	 *
+	 * @param key   the packed key
+	 * @param value the non-null value to map to the key
+	 * @return the previously mapped value, or {@code null} if the key was not present
+	 */
+	@SuppressWarnings("unchecked")
+	public V put(final long key, final V value)
+	{
+		int slot = slot(key);
+		while (values[slot] != null)
+		{
+			if (keys[slot] == key)
+			{
+				final V previous = (V) values[slot];
+				values[slot] = value;
+				return previous;
+			}
+			slot = (slot + 1) & mask;
+		}
+
+		keys[slot] = key;
+		values[slot] = value;
+
+		if (++size > resizeThreshold)
+		{
+			rehash(keys.length << 1);
+		}
+		return null;
+	}
+
+
+	/**
+	 * Remove a key
+	 *
+	 * @param key the packed key
+	 * @return the previously mapped value, or {@code null} if the key was not present
+	 */
+	@SuppressWarnings("unchecked")
+	public V remove(final long key)
+	{
+		int slot = slot(key);
+		while (values[slot] != null)
+		{
+			if (keys[slot] == key)
+			{
+				final V previous = (V) values[slot];
+				shiftBack(slot);
+				size--;
+				return previous;
+			}
+			slot = (slot + 1) & mask;
+		}
+		return null;
+	}
+
+
+	/**
+	 * Visit every value in the map. The map must not be modified during iteration.
+	 *
+	 * @param visitor the visitor to call for each value
+	 */
+	@SuppressWarnings("unchecked")
+	public void forEachValue(final Consumer<V> visitor)
+	{
+		for (Object value : values)
+		{
+			if (value != null)
+			{
+				visitor.accept((V) value);
+			}
+		}
+	}
+
+
+	public int size()
+	{
+		return size;
+	}
+
+
+	/**
+	 * Estimate the heap memory used by the backing arrays of this map, excluding the mapped values
+	 *
+	 * @return the estimated number of bytes retained by this map
+	 */
+	long footprint()
+	{
+		// assumes compressed object references
+		return keys.length * (long) (Long.BYTES + Integer.BYTES);
+	}
+
+
+	private int slot(final long key)
+	{
+		long hash = key * 0x9E3779B97F4A7C15L;
+		return (int) (hash ^ (hash >>> 32)) & mask;
+	}
+
+
+	private void shiftBack(int gap)
+	{
+		int slot = gap;
+		while (true)
+		{
+			slot = (slot + 1) & mask;
+			if (values[slot] == null)
+			{
+				break;
+			}
+
+			final int ideal = slot(keys[slot]);
+
+			// entry may move into the gap only if its ideal slot is not between the gap and its current slot
+			if (((slot - ideal) & mask) >= ((slot - gap) & mask))
+			{
+				keys[gap] = keys[slot];
+				values[gap] = values[slot];
+				gap = slot;
+			}
+		}
+		values[gap] = null;
+	}
+
+
+	private void allocate(final int capacity)
+	{
+		keys = new long[capacity];
+		values = new Object[capacity];
+		mask = capacity - 1;
+		resizeThreshold = (capacity * 3) >>> 2;
+	}
+
+
+	private void rehash(final int capacity)
+	{
+		final long[] oldKeys = keys;
+		final Object[] oldValues = values;
+
+		allocate(capacity);
+
+		for (int i = 0; i < oldValues.length; i++)
+		{
+			if (oldValues[i] != null)
+			{
+				int slot = slot(oldKeys[i]);
+				while (values[slot] != null)
+				{
+					slot = (slot + 1) & mask;
+				}
+				keys[slot] = oldKeys[i];
+				values[slot] = oldValues[i];
+			}
+		}
+	}
+
+}
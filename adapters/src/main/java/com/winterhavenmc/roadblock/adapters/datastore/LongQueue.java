@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.winterhavenmc.roadblock.adapters.datastore;
+
+/**
+ * A first-in first-out queue of primitive {@code long} values, held in a ring buffer that doubles in
+ * capacity when full, so no boxed values or nodes are ever allocated.
+ * <p>
+ * This class is not thread safe; callers are responsible for synchronization.
+ */
+final class LongQueue
+{
+	private static final int MIN_CAPACITY = 64;
+
+	private long[] elements = new long[MIN_CAPACITY];
+	private int head;
+	private int size;
+
+
+	/**
+	 * Add a value at the tail of the queue
+	 *
+	 * @param value the value to add
+	 */
+	void add(final long value)
+	{
+		if (size == elements.length)
+		{
+			grow();
+		}
+		elements[(head + size) & (elements.length - 1)] = value;
+		size++;
+	}
+
+
+	/**
+	 * Remove the value at the head of the queue. The queue must not be empty.
+	 *
+	 * @return the value removed
+	 */
+	long poll()
+	{
+		final long value = elements[head];
+		head = (head + 1) & (elements.length - 1);
+		size--;
+		return value;
+	}
+
+
+	boolean isEmpty()
+	{
+		return size == 0;
+	}
+
+
+	private void grow()
+	{
+		final long[] grown = new long[elements.length << 1];
+
+		// unwrap the ring so the head is at index zero
+		final int headLength = elements.length - head;
+		System.arraycopy(elements, head, grown, 0, headLength);
+		System.arraycopy(elements, 0, grown, headLength, head);
+
+		elements = grown;
+		head = 0;
+	}
+
+}
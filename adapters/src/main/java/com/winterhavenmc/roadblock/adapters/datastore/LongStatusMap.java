@@ -0,0 +1,234 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.roadblock.adapters.datastore;
+
+/**
+ * An open-addressing hash map from primitive {@code long} keys to {@link CacheStatus} values,
+ * using linear probing and backward-shift deletion. Statuses are stored as a single byte per slot,
+ * with zero reserved to mark an empty slot, so no boxed keys or entry nodes are ever allocated.
+ * <p>
+ * This class is not thread safe; callers are responsible for synchronization.
+ */
+final class LongStatusMap
+{
+	private static final CacheStatus[] STATUSES = CacheStatus.values();
+	private static final int MIN_CAPACITY = 16;
+	private static final long BYTES_PER_SLOT = Long.BYTES + Byte.BYTES;
+
+	private long[] keys;
+	private byte[] values;
+	private int size;
+	private int mask;
+	private int resizeThreshold;
+
+
+	LongStatusMap()
+	{
+		allocate(MIN_CAPACITY);
+	}
+
+
+	/**
+	 * Get the status mapped to a key
+	 *
+	 * @param key the packed key
+	 * @return the mapped status, or {@code null} if the key is not present
+	 */
+	CacheStatus get(final long key)
+	{
+		int slot = slot(key);
+		while (values[slot] != 0)
+		{
+			if (keys[slot] == key)
+			{
+				return STATUSES[values[slot] - 1];
+			}
+			slot = (slot + 1) & mask;
+		}
+		return null;
+	}
+
+
+	/**
+	 * Map a key to a status
+	 *
+	 * @param key    the packed key
+	 * @param status the status to map to the key
+	 * @return the previously mapped status, or {@code null} if the key was not present
+	 */
+	CacheStatus put(final long key, final CacheStatus status)
+	{
+		final byte value = (byte) (status.ordinal() + 1);
+
+		int slot = slot(key);
+		while (values[slot] != 0)
+		{
+			if (keys[slot] == key)
+			{
+				final CacheStatus previous = STATUSES[values[slot] - 1];
+				values[slot] = value;
+				return previous;
+			}
+			slot = (slot + 1) & mask;
+		}
+
+		keys[slot] = key;
+		values[slot] = value;
+
+		if (++size > resizeThreshold)
+		{
+			rehash(keys.length << 1);
+		}
+		return null;
+	}
+
+
+	/**
+	 * Remove a key
+	 *
+	 * @param key the packed key
+	 * @return the previously mapped status, or {@code null} if the key was not present
+	 */
+	CacheStatus remove(final long key)
+	{
+		int slot = slot(key);
+		while (values[slot] != 0)
+		{
+			if (keys[slot] == key)
+			{
+				final CacheStatus previous = STATUSES[values[slot] - 1];
+				shiftBack(slot);
+				size--;
+				return previous;
+			}
+			slot = (slot + 1) & mask;
+		}
+		return null;
+	}
+
+
+	/**
+	 * Visit every entry in the map. The map must not be modified during iteration.
+	 *
+	 * @param visitor the visitor to call for each entry
+	 */
+	void forEach(final EntryVisitor visitor)
+	{
+		for (int slot = 0; slot < values.length; slot++)
+		{
+			if (values[slot] != 0)
+			{
+				visitor.visit(keys[slot], STATUSES[values[slot] - 1]);
+			}
+		}
+	}
+
+
+	int size()
+	{
+		return size;
+	}
+
+
+	/**
+	 * Estimate the heap memory used by the backing arrays of this map
+	 *
+	 * @return the estimated number of bytes retained by this map
+	 */
+	long footprint()
+	{
+		return keys.length * BYTES_PER_SLOT;
+	}
+
+
+	private int slot(final long key)
+	{
+		// fibonacci hashing spreads the packed coordinate bits across the table
+		long hash = key * 0x9E3779B97F4A7C15L;
+		return (int) (hash ^ (hash >>> 32)) & mask;
+	}
+
+
+	/**
+	 * Close the gap left by a removed entry, moving any displaced entries that follow it
+	 * back toward their ideal slot so that lookups never need tombstones
+	 */
+	private void shiftBack(int gap)
+	{
+		int slot = gap;
+		while (true)
+		{
+			slot = (slot + 1) & mask;
+			if (values[slot] == 0)
+			{
+				break;
+			}
+
+			final int ideal = slot(keys[slot]);
+
+			// entry may move into the gap only if its ideal slot is not between the gap and its current slot
+			if (((slot - ideal) & mask) >= ((slot - gap) & mask))
+			{
+				keys[gap] = keys[slot];
+				values[gap] = values[slot];
+				gap = slot;
+			}
+		}
+		values[gap] = 0;
+	}
+
+
+	private void allocate(final int capacity)
+	{
+		keys = new long[capacity];
+		values = new byte[capacity];
+		mask = capacity - 1;
+		resizeThreshold = (capacity * 3) >>> 2;
+	}
+
+
+	private void rehash(final int capacity)
+	{
+		final long[] oldKeys = keys;
+		final byte[] oldValues = values;
+
+		allocate(capacity);
+
+		for (int i = 0; i < oldValues.length; i++)
+		{
+			if (oldValues[i] != 0)
+			{
+				int slot = slot(oldKeys[i]);
+				while (values[slot] != 0)
+				{
+					slot = (slot + 1) & mask;
+				}
+				keys[slot] = oldKeys[i];
+				values[slot] = oldValues[i];
+			}
+		}
+	}
+
+
+	@FunctionalInterface
+	interface EntryVisitor
+	{
+		void visit(long key, CacheStatus status);
+	}
+
+}
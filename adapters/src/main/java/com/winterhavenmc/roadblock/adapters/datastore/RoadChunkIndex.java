@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.winterhavenmc.roadblock.adapters.datastore;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/**
+ * The chunks of each world that contain any protected block, held as a bitmap. Chunks are grouped into
+ * regions of 32 x 32 chunks, and each region that holds a road is a bitmap of 1024 bits; regions and worlds
+ * without roads take no memory at all. A negative answer is exact, so callers can skip every other check
+ * for blocks in chunks without roads.
+ * <p>
+ * This class is thread safe. A world without roads is answered without taking a lock.
+ */
+public final class RoadChunkIndex
+{
+	private static final int REGION_SHIFT = 5;
+	private static final int REGION_MASK = (1 << REGION_SHIFT) - 1;
+	private static final int WORDS_PER_REGION = (1 << (2 * REGION_SHIFT)) / Long.SIZE;
+
+	private final Map<UUID, LongObjectMap<long[]>> worlds = new ConcurrentHashMap<>();
+
+
+	/**
+	 * Check if a chunk contains any protected block
+	 *
+	 * @param worldUid the uid of the world containing the chunk
+	 * @param chunkX   the chunk x coordinate
+	 * @param chunkZ   the chunk z coordinate
+	 * @return {@code true} if the chunk contains a protected block, {@code false} if it contains none
+	 */
+	public boolean contains(final UUID worldUid, final int chunkX, final int chunkZ)
+	{
+		final LongObjectMap<long[]> regions = worlds.get(worldUid);
+		if (regions == null)
+		{
+			return false;
+		}
+
+		synchronized (regions)
+		{
+			final long[] bits = regions.get(regionKey(chunkX, chunkZ));
+			final int bit = bit(chunkX, chunkZ);
+			return bits != null && (bits[bit >>> 6] & (1L << bit)) != 0;
+		}
+	}
+
+
+	/**
+	 * Record that a chunk contains a protected block
+	 *
+	 * @param worldUid the uid of the world containing the chunk
+	 * @param chunkX   the chunk x coordinate
+	 * @param chunkZ   the chunk z coordinate
+	 */
+	public void add(final UUID worldUid, final int chunkX, final int chunkZ)
+	{
+		final LongObjectMap<long[]> regions = worlds.computeIfAbsent(worldUid, uid -> new LongObjectMap<>());
+
+		synchronized (regions)
+		{
+			final long regionKey = regionKey(chunkX, chunkZ);
+			long[] bits = regions.get(regionKey);
+			if (bits == null)
+			{
+				bits = new long[WORDS_PER_REGION];
+				regions.put(regionKey, bits);
+			}
+
+			final int bit = bit(chunkX, chunkZ);
+			bits[bit >>> 6] |= 1L << bit;
+		}
+	}
+
+
+	/**
+	 * Record that a chunk no longer contains any protected block
+	 *
+	 * @param worldUid the uid of the world containing the chunk
+	 * @param chunkX   the chunk x coordinate
+	 * @param chunkZ   the chunk z coordinate
+	 */
+	public void remove(final UUID worldUid, final int chunkX, final int chunkZ)
+	{
+		final LongObjectMap<long[]> regions = worlds.get(worldUid);
+		if (regions == null)
+		{
+			return;
+		}
+
+		synchronized (regions)
+		{
+			final long regionKey = regionKey(chunkX, chunkZ);
+			final long[] bits = regions.get(regionKey);
+			if (bits == null)
+			{
+				return;
+			}
+
+			final int bit = bit(chunkX, chunkZ);
+			bits[bit >>> 6] &= ~(1L << bit);
+
+			// drop a region once its last road is gone
+			for (long word : bits)
+			{
+				if (word != 0)
+				{
+					return;
+				}
+			}
+			regions.remove(regionKey);
+		}
+	}
+
+
+	private static long regionKey(final int chunkX, final int chunkZ)
+	{
+		return ChunkKey.pack(chunkX >> REGION_SHIFT, chunkZ >> REGION_SHIFT);
+	}
+
+
+	private static int bit(final int chunkX, final int chunkZ)
+	{
+		return ((chunkZ & REGION_MASK) << REGION_SHIFT) | (chunkX & REGION_MASK);
+	}
+
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.roadblock.adapters.datastore;
+
+import java.util.Arrays;
+
+
+/**
+ * The heights of the protected blocks in each of the 16 x 16 block columns of a chunk. Each column records
+ * its topmost protected y coordinate, and the number of protected blocks it holds, which is more than one
+ * where a road passes under a bridge. A column with a single block is answered from its top height alone;
+ * only a column with more than one needs its blocks looked up one at a time.
+ * <p>
+ * This class is not thread safe; it is maintained by its owning {@link ChunkBlocks}.
+ */
+final class RoadHeightMap
+{
+	private static final short NONE = Short.MIN_VALUE;
+	private static final int COLUMNS = 16 * 16;
+	private static final int HEIGHTS = 1 << 12;
+
+	private final short[] topY = new short[COLUMNS];
+	private final short[] count = new short[COLUMNS];
+
+
+	RoadHeightMap()
+	{
+		Arrays.fill(topY, NONE);
+	}
+
+
+	/**
+	 * Record that a block has become protected
+	 *
+	 * @param x the block x coordinate
+	 * @param y the block y coordinate
+	 * @param z the block z coordinate
+	 */
+	void add(final int x, final int y, final int z)
+	{
+		final int column = column(x, z);
+
+		if (count[column]++ == 0 || y > topY[column])
+		{
+			topY[column] = (short) y;
+		}
+	}
+
+
+	/**
+	 * Record that a block is no longer protected. If the block was the top of a column holding other
+	 * protected blocks, the new top is found by looking up the blocks below it in the column, which must
+	 * already reflect the change.
+	 *
+	 * @param x      the block x coordinate
+	 * @param y      the block y coordinate
+	 * @param z      the block z coordinate
+	 * @param blocks the blocks of the chunk
+	 */
+	void remove(final int x, final int y, final int z, final ChunkBlocks blocks)
+	{
+		final int column = column(x, z);
+
+		if (count[column] == 0)
+		{
+			return;
+		}
+
+		if (--count[column] == 0)
+		{
+			topY[column] = NONE;
+			return;
+		}
+
+		if (topY[column] != y)
+		{
+			return;
+		}
+
+		// the remaining blocks all lie below the removed top, so the first one found going down is the new top
+		for (int below = y - 1; below > y - HEIGHTS; below--)
+		{
+			if (ChunkBlocks.isProtected(blocks.get(BlockKey.pack(x, below, z))))
+			{
+				topY[column] = (short) below;
+				return;
+			}
+		}
+		topY[column] = NONE;
+		count[column] = 0;
+	}
+
+
+	/**
+	 * Check if any block in a column between two heights is protected
+	 *
+	 * @param x      the block x coordinate of the column
+	 * @param z      the block z coordinate of the column
+	 * @param minY   the lowest height to check, inclusive
+	 * @param maxY   the highest height to check, inclusive
+	 * @param blocks the blocks of the chunk, for columns with more than one protected block
+	 * @return {@code true} if a protected block lies between the heights, {@code false} if not
+	 */
+	boolean anyBetween(final int x, final int z, final int minY, final int maxY, final ChunkBlocks blocks)
+	{
+		final int column = column(x, z);
+		final int top = topY[column];
+
+		if (top == NONE || top < minY)
+		{
+			return false;
+		}
+
+		if (top <= maxY)
+		{
+			return true;
+		}
+
+		if (isMultiple(column))
+		{
+			for (int y = minY; y <= maxY; y++)
+			{
+				if (ChunkBlocks.isProtected(blocks.get(BlockKey.pack(x, y, z))))
+				{
+					return true;
+				}
+			}
+		}
+
+		return false;
+	}
+
+
+	long footprint()
+	{
+		// object header and fields, plus both arrays
+		return 24 + 2 * (16 + COLUMNS * Short.BYTES);
+	}
+
+
+	private boolean isMultiple(final int column)
+	{
+		return count[column] > 1;
+	}
+
+
+	private static int column(final int x, final int z)
+	{
+		return ((z & 15) << 4) | (x & 15);
+	}
+
+}
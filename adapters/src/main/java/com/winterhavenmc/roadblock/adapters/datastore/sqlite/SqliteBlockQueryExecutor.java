@@ -1,15 +1,39 @@
 package com.winterhavenmc.roadblock.adapters.datastore.sqlite;
 
+import com.winterhavenmc.roadblock.adapters.datastore.ChunkKey;
 import com.winterhavenmc.roadblock.models.blocklocation.BlockLocation;
 import org.bukkit.Chunk;
 
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 
 class SqliteBlockQueryExecutor
 {
+	/**
+	 * The number of rows bound by each multi-row insert or delete statement; at seven parameters
+	 * per inserted row, this stays well under the host parameter limit of older SQLite builds
+	 */
+	static final int ROWS_PER_STATEMENT = 64;
+	static final int INSERT_COLUMNS = 7;
+	static final int DELETE_COLUMNS = 5;
+
+	/**
+	 * The number of index ranges bound by each proximity query statement
+	 */
+	static final int RANGES_PER_STATEMENT = 64;
+	static final int RANGE_COLUMNS = 3;
+
+
 	ResultSet selectAllRecords(final PreparedStatement preparedStatement) throws SQLException
 	{
 		return preparedStatement.executeQuery();
@@ -18,24 +42,139 @@ class SqliteBlockQueryExecutor
 
 	ResultSet selectRecordsInChunk(final Chunk chunk, final PreparedStatement preparedStatement) throws SQLException
 	{
-		preparedStatement.setLong(1, chunk.getWorld().getUID().getMostSignificantBits());
-		preparedStatement.setLong(2, chunk.getWorld().getUID().getLeastSignificantBits());
-		preparedStatement.setInt( 3, chunk.getX());
-		preparedStatement.setInt( 4, chunk.getZ());
+		return selectRecordsInChunk(chunk.getWorld().getUID(), chunk.getX(), chunk.getZ(), preparedStatement);
+	}
+
+
+	ResultSet selectRecordsInChunk(final UUID worldUid,
+	                               final int chunkX,
+	                               final int chunkZ,
+	                               final PreparedStatement preparedStatement) throws SQLException
+	{
+		preparedStatement.setLong(1, worldUid.getMostSignificantBits());
+		preparedStatement.setLong(2, worldUid.getLeastSignificantBits());
+		preparedStatement.setInt( 3, chunkX);
+		preparedStatement.setInt( 4, chunkZ);
 		return preparedStatement.executeQuery();
 	}
 
 
+	/**
+	 * Expand a query containing a {@code %s} placeholder for a list of chunk coordinate row values
+	 *
+	 * @param query      the query text
+	 * @param chunkCount the number of (chunk_x, chunk_z) row values the statement will bind
+	 * @return the query text with the placeholder replaced
+	 */
+	static String expandChunkList(final String query, final int chunkCount)
+	{
+		return query.formatted(String.join(",", Collections.nCopies(chunkCount, "(?,?)")));
+	}
+
+
+	/**
+	 * Select records in a batch of chunks of a single world. The statement must have been prepared from
+	 * {@link #expandChunkList} with a chunk count of at least {@code chunkKeys.length}; unused row values
+	 * are bound to the last chunk, so one statement can be reused for partial batches.
+	 */
+	ResultSet selectRecordsInChunks(final UUID worldUid,
+	                                final long[] chunkKeys,
+	                                final int chunkCount,
+	                                final int statementChunkCount,
+	                                final PreparedStatement preparedStatement) throws SQLException
+	{
+		preparedStatement.setLong(1, worldUid.getMostSignificantBits());
+		preparedStatement.setLong(2, worldUid.getLeastSignificantBits());
+
+		for (int i = 0; i < statementChunkCount; i++)
+		{
+			final long chunkKey = chunkKeys[Math.min(i, chunkCount - 1)];
+			preparedStatement.setInt(3 + (i * 2), ChunkKey.x(chunkKey));
+			preparedStatement.setInt(4 + (i * 2), ChunkKey.z(chunkKey));
+		}
+
+		return preparedStatement.executeQuery();
+	}
+
+
+	/**
+	 * Decompose the square of blocks within {@code distance} of a location into datastore index ranges.
+	 * Each chunk the square covers is first offered to the resolver; the chunks it cannot answer are merged
+	 * into runs along each chunk column, and every run becomes one range. A range is a single seek on the
+	 * world and chunk prefix of the primary key of the blocks table, so a proximity query reads only the rows
+	 * in the chunks it needs.
+	 *
+	 * @param validBlockLocation the origin location
+	 * @param distance           the distance from the origin, exclusive
+	 * @param resolver           answers a chunk without the datastore, if it can
+	 * @return the index ranges covering the chunks not answered by the resolver
+	 */
+	static List<ChunkRange> planNearbyRanges(final BlockLocation.Valid validBlockLocation,
+	                                         final int distance,
+	                                         final ChunkResolver resolver)
+	{
+		if (distance < 1)
+		{
+			return List.of();
+		}
+
+		final int minChunkX = (validBlockLocation.blockX() - distance + 1) >> 4;
+		final int maxChunkX = (validBlockLocation.blockX() + distance - 1) >> 4;
+		final int minChunkZ = (validBlockLocation.blockZ() - distance + 1) >> 4;
+		final int maxChunkZ = (validBlockLocation.blockZ() + distance - 1) >> 4;
+
+		final List<ChunkRange> ranges = new ArrayList<>();
+		for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++)
+		{
+			int runStart = minChunkZ;
+			for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++)
+			{
+				if (resolver.resolve(chunkX, chunkZ))
+				{
+					if (runStart < chunkZ)
+					{
+						ranges.add(new ChunkRange(chunkX, runStart, chunkZ - 1));
+					}
+					runStart = chunkZ + 1;
+				}
+			}
+			if (runStart <= maxChunkZ)
+			{
+				ranges.add(new ChunkRange(chunkX, runStart, maxChunkZ));
+			}
+		}
+
+		return ranges;
+	}
+
+
+	/**
+	 * Select the coordinates of records within {@code distance} of a location, in a batch of index ranges
+	 * from {@link #planNearbyRanges}. The statement must have been prepared from {@link #expandRowList}
+	 * with {@code statementRangeCount} rows of {@link #RANGE_COLUMNS}; unused rows are bound to an empty range,
+	 * so one statement can be reused for partial batches.
+	 */
 	ResultSet selectNearbyBlocks(final BlockLocation.Valid validBlockLocation,
 	                             final int distance,
+	                             final List<ChunkRange> ranges,
+	                             final int statementRangeCount,
 	                             final PreparedStatement preparedStatement) throws SQLException
 	{
-		preparedStatement.setLong(1, validBlockLocation.worldUid().getMostSignificantBits());
-		preparedStatement.setLong(2, validBlockLocation.worldUid().getLeastSignificantBits());
-		preparedStatement.setInt( 3, validBlockLocation.blockX() - distance);
-		preparedStatement.setInt( 4, validBlockLocation.blockX() + distance);
-		preparedStatement.setInt( 5, validBlockLocation.blockZ() - distance);
-		preparedStatement.setInt( 6, validBlockLocation.blockZ() + distance);
+		for (int i = 0; i < statementRangeCount; i++)
+		{
+			final ChunkRange range = (i < ranges.size()) ? ranges.get(i) : ChunkRange.EMPTY;
+			preparedStatement.setInt(1 + (i * 3), range.chunkX());
+			preparedStatement.setInt(2 + (i * 3), range.minChunkZ());
+			preparedStatement.setInt(3 + (i * 3), range.maxChunkZ());
+		}
+
+		final int offset = statementRangeCount * RANGE_COLUMNS;
+		preparedStatement.setLong(offset + 1, validBlockLocation.worldUid().getMostSignificantBits());
+		preparedStatement.setLong(offset + 2, validBlockLocation.worldUid().getLeastSignificantBits());
+		preparedStatement.setInt( offset + 3, validBlockLocation.blockX() - distance);
+		preparedStatement.setInt( offset + 4, validBlockLocation.blockX() + distance);
+		preparedStatement.setInt( offset + 5, validBlockLocation.blockZ() - distance);
+		preparedStatement.setInt( offset + 6, validBlockLocation.blockZ() + distance);
 		return preparedStatement.executeQuery();
 	}
 
@@ -43,11 +182,7 @@ class SqliteBlockQueryExecutor
 	int deleteRecords(final BlockLocation.Valid validLocation,
 	                  final PreparedStatement preparedStatement) throws SQLException
 	{
-		preparedStatement.setLong(1, validLocation.worldUid().getMostSignificantBits());
-		preparedStatement.setLong(2, validLocation.worldUid().getLeastSignificantBits());
-		preparedStatement.setInt( 3, validLocation.blockX());
-		preparedStatement.setInt( 4, validLocation.blockY());
-		preparedStatement.setInt( 5, validLocation.blockZ());
+		bindDelete(validLocation, preparedStatement);
 		return preparedStatement.executeUpdate();
 	}
 
@@ -55,15 +190,321 @@ class SqliteBlockQueryExecutor
 	int insertRecord(final BlockLocation.Valid blockLocation,
 	                 final PreparedStatement preparedStatement) throws SQLException
 	{
-		preparedStatement.setString(1, blockLocation.worldName());
-		preparedStatement.setLong(  2, blockLocation.worldUid().getMostSignificantBits());
-		preparedStatement.setLong(  3, blockLocation.worldUid().getLeastSignificantBits());
-		preparedStatement.setInt(   4, blockLocation.blockX());
-		preparedStatement.setInt(   5, blockLocation.blockY());
-		preparedStatement.setInt(   6, blockLocation.blockZ());
-		preparedStatement.setInt(   7, blockLocation.chunkX());
-		preparedStatement.setInt(   8, blockLocation.chunkZ());
+		bindInsert(blockLocation, preparedStatement, 0);
 		return preparedStatement.executeUpdate();
 	}
 
+
+	/**
+	 * Expand a query containing a {@code %s} placeholder for a list of row values
+	 *
+	 * @param query       the query text
+	 * @param rowCount    the number of row values the statement will bind
+	 * @param columnCount the number of columns in each row value
+	 * @return the query text with the placeholder replaced
+	 */
+	static String expandRowList(final String query, final int rowCount, final int columnCount)
+	{
+		final String row = "(" + String.join(",", Collections.nCopies(columnCount, "?")) + ")";
+		return query.formatted(String.join(",", Collections.nCopies(rowCount, row)));
+	}
+
+
+	/**
+	 * Record the world of each block location in the world table, updating the name of a world that has
+	 * been renamed. A block row refers to its world by id, so a record can only be inserted once its world
+	 * is recorded.
+	 *
+	 * @param blockLocations    the records whose worlds to record
+	 * @param preparedStatement a statement prepared from the {@code UpsertWorld} query
+	 */
+	void upsertWorlds(final Collection<BlockLocation.Valid> blockLocations,
+	                  final PreparedStatement preparedStatement) throws SQLException
+	{
+		final Map<UUID, String> worlds = new HashMap<>();
+		for (BlockLocation.Valid blockLocation : blockLocations)
+		{
+			worlds.putIfAbsent(blockLocation.worldUid(), blockLocation.worldName());
+		}
+
+		if (worlds.isEmpty())
+		{
+			return;
+		}
+
+		for (Map.Entry<UUID, String> entry : worlds.entrySet())
+		{
+			preparedStatement.setLong(  1, entry.getKey().getMostSignificantBits());
+			preparedStatement.setLong(  2, entry.getKey().getLeastSignificantBits());
+			preparedStatement.setString(3, entry.getValue());
+			preparedStatement.addBatch();
+		}
+		preparedStatement.executeBatch();
+	}
+
+
+	/**
+	 * Insert records as JDBC batches of at most {@code batchSize} rows. Records are bound
+	 * {@link #ROWS_PER_STATEMENT} at a time to the multi-row statement, and any remainder
+	 * is bound one at a time to the single-row statement.
+	 *
+	 * @param blockLocations     the records to insert
+	 * @param batchSize          the maximum number of rows per batch
+	 * @param multiRowStatement  a statement prepared from the expanded {@code InsertOrIgnoreBlocks} query
+	 * @param singleRowStatement a statement prepared from the {@code InsertOrIgnoreBlock} query
+	 * @return the number of rows inserted, not counting records that were already present
+	 */
+	int insertRecords(final List<BlockLocation.Valid> blockLocations,
+	                  final int batchSize,
+	                  final PreparedStatement multiRowStatement,
+	                  final PreparedStatement singleRowStatement) throws SQLException
+	{
+		final int multiRowCount = blockLocations.size() - (blockLocations.size() % ROWS_PER_STATEMENT);
+
+		int count = 0;
+		int batched = 0;
+
+		for (int start = 0; start < multiRowCount; start += ROWS_PER_STATEMENT)
+		{
+			for (int row = 0; row < ROWS_PER_STATEMENT; row++)
+			{
+				bindInsert(blockLocations.get(start + row), multiRowStatement, row * INSERT_COLUMNS);
+			}
+			multiRowStatement.addBatch();
+
+			if ((batched += ROWS_PER_STATEMENT) >= batchSize)
+			{
+				count += countRows(multiRowStatement.executeBatch(), ROWS_PER_STATEMENT);
+				batched = 0;
+			}
+		}
+
+		if (batched > 0)
+		{
+			count += countRows(multiRowStatement.executeBatch(), ROWS_PER_STATEMENT);
+		}
+
+		return count + insertRecords(blockLocations.subList(multiRowCount, blockLocations.size()), batchSize, singleRowStatement);
+	}
+
+
+	/**
+	 * Insert records as JDBC batches of at most {@code batchSize} rows, one row per statement
+	 *
+	 * @param blockLocations    the records to insert
+	 * @param batchSize         the maximum number of rows per batch
+	 * @param preparedStatement a statement prepared from the {@code InsertOrIgnoreBlock} query
+	 * @return the number of rows inserted, not counting records that were already present
+	 */
+	int insertRecords(final Collection<BlockLocation.Valid> blockLocations,
+	                  final int batchSize,
+	                  final PreparedStatement preparedStatement) throws SQLException
+	{
+		int count = 0;
+		int batched = 0;
+
+		for (BlockLocation.Valid blockLocation : blockLocations)
+		{
+			bindInsert(blockLocation, preparedStatement, 0);
+			preparedStatement.addBatch();
+
+			if (++batched == batchSize)
+			{
+				count += countRows(preparedStatement.executeBatch(), 1);
+				batched = 0;
+			}
+		}
+
+		if (batched > 0)
+		{
+			count += countRows(preparedStatement.executeBatch(), 1);
+		}
+
+		return count;
+	}
+
+
+	/**
+	 * Delete records as JDBC batches of at most {@code batchSize} rows. The records of each world are bound
+	 * {@link #ROWS_PER_STATEMENT} at a time to the multi-row statement, and any remainder is bound one
+	 * at a time to the single-row statement.
+	 *
+	 * @param blockLocations     the records to delete
+	 * @param batchSize          the maximum number of rows per batch
+	 * @param multiRowStatement  a statement prepared from the expanded {@code DeleteBlocks} query
+	 * @param singleRowStatement a statement prepared from the {@code DeleteBlock} query
+	 * @return the number of rows deleted, not counting records that were not present
+	 */
+	int deleteRecords(final List<BlockLocation.Valid> blockLocations,
+	                  final int batchSize,
+	                  final PreparedStatement multiRowStatement,
+	                  final PreparedStatement singleRowStatement) throws SQLException
+	{
+		// a multi-row delete matches coordinates within a single world
+		final Map<UUID, List<BlockLocation.Valid>> byWorld = new HashMap<>();
+		for (BlockLocation.Valid blockLocation : blockLocations)
+		{
+			byWorld.computeIfAbsent(blockLocation.worldUid(), uid -> new ArrayList<>()).add(blockLocation);
+		}
+
+		final List<BlockLocation.Valid> remainder = new ArrayList<>();
+
+		int count = 0;
+		int batched = 0;
+
+		for (Map.Entry<UUID, List<BlockLocation.Valid>> entry : byWorld.entrySet())
+		{
+			final List<BlockLocation.Valid> worldLocations = entry.getValue();
+			final int multiRowCount = worldLocations.size() - (worldLocations.size() % ROWS_PER_STATEMENT);
+
+			for (int start = 0; start < multiRowCount; start += ROWS_PER_STATEMENT)
+			{
+				multiRowStatement.setLong(1, entry.getKey().getMostSignificantBits());
+				multiRowStatement.setLong(2, entry.getKey().getLeastSignificantBits());
+				for (int row = 0; row < ROWS_PER_STATEMENT; row++)
+				{
+					final BlockLocation.Valid blockLocation = worldLocations.get(start + row);
+					multiRowStatement.setInt(3 + (row * DELETE_COLUMNS), blockLocation.chunkX());
+					multiRowStatement.setInt(4 + (row * DELETE_COLUMNS), blockLocation.chunkZ());
+					multiRowStatement.setInt(5 + (row * DELETE_COLUMNS), blockLocation.blockX());
+					multiRowStatement.setInt(6 + (row * DELETE_COLUMNS), blockLocation.blockY());
+					multiRowStatement.setInt(7 + (row * DELETE_COLUMNS), blockLocation.blockZ());
+				}
+				multiRowStatement.addBatch();
+
+				if ((batched += ROWS_PER_STATEMENT) >= batchSize)
+				{
+					count += countRows(multiRowStatement.executeBatch(), ROWS_PER_STATEMENT);
+					batched = 0;
+				}
+			}
+
+			remainder.addAll(worldLocations.subList(multiRowCount, worldLocations.size()));
+		}
+
+		if (batched > 0)
+		{
+			count += countRows(multiRowStatement.executeBatch(), ROWS_PER_STATEMENT);
+		}
+
+		return count + deleteRecords(remainder, batchSize, singleRowStatement);
+	}
+
+
+	/**
+	 * Delete records as JDBC batches of at most {@code batchSize} rows, one row per statement
+	 *
+	 * @param blockLocations    the records to delete
+	 * @param batchSize         the maximum number of rows per batch
+	 * @param preparedStatement a statement prepared from the {@code DeleteBlock} query
+	 * @return the number of rows deleted, not counting records that were not present
+	 */
+	int deleteRecords(final Collection<BlockLocation.Valid> blockLocations,
+	                  final int batchSize,
+	                  final PreparedStatement preparedStatement) throws SQLException
+	{
+		int count = 0;
+		int batched = 0;
+
+		for (BlockLocation.Valid blockLocation : blockLocations)
+		{
+			bindDelete(blockLocation, preparedStatement);
+			preparedStatement.addBatch();
+
+			if (++batched == batchSize)
+			{
+				count += countRows(preparedStatement.executeBatch(), 1);
+				batched = 0;
+			}
+		}
+
+		if (batched > 0)
+		{
+			count += countRows(preparedStatement.executeBatch(), 1);
+		}
+
+		return count;
+	}
+
+
+	/**
+	 * Sum the update counts of an executed batch. A statement that succeeded without reporting
+	 * its update count is counted as the number of rows it bound.
+	 *
+	 * @param updateCounts     the update counts returned by {@link PreparedStatement#executeBatch()}
+	 * @param rowsPerStatement the number of rows bound by each statement of the batch
+	 * @return the number of rows changed by the batch
+	 */
+	static int countRows(final int[] updateCounts, final int rowsPerStatement)
+	{
+		int count = 0;
+		for (int updateCount : updateCounts)
+		{
+			if (updateCount > 0)
+			{
+				count += updateCount;
+			}
+			else if (updateCount == Statement.SUCCESS_NO_INFO)
+			{
+				count += rowsPerStatement;
+			}
+		}
+		return count;
+	}
+
+
+	private void bindDelete(final BlockLocation.Valid validLocation,
+	                        final PreparedStatement preparedStatement) throws SQLException
+	{
+		preparedStatement.setLong(1, validLocation.worldUid().getMostSignificantBits());
+		preparedStatement.setLong(2, validLocation.worldUid().getLeastSignificantBits());
+		preparedStatement.setInt( 3, validLocation.chunkX());
+		preparedStatement.setInt( 4, validLocation.chunkZ());
+		preparedStatement.setInt( 5, validLocation.blockX());
+		preparedStatement.setInt( 6, validLocation.blockY());
+		preparedStatement.setInt( 7, validLocation.blockZ());
+	}
+
+
+	private void bindInsert(final BlockLocation.Valid blockLocation,
+	                        final PreparedStatement preparedStatement,
+	                        final int offset) throws SQLException
+	{
+		preparedStatement.setLong(offset + 1, blockLocation.worldUid().getMostSignificantBits());
+		preparedStatement.setLong(offset + 2, blockLocation.worldUid().getLeastSignificantBits());
+		preparedStatement.setInt( offset + 3, blockLocation.chunkX());
+		preparedStatement.setInt( offset + 4, blockLocation.chunkZ());
+		preparedStatement.setInt( offset + 5, blockLocation.blockX());
+		preparedStatement.setInt( offset + 6, blockLocation.blockY());
+		preparedStatement.setInt( offset + 7, blockLocation.blockZ());
+	}
+
+
+	/**
+	 * A range of chunks in a single chunk column
+	 *
+	 * @param chunkX    the chunk x coordinate of the column
+	 * @param minChunkZ the lowest chunk z coordinate of the range, inclusive
+	 * @param maxChunkZ the highest chunk z coordinate of the range, inclusive
+	 */
+	record ChunkRange(int chunkX, int minChunkZ, int maxChunkZ)
+	{
+		static final ChunkRange EMPTY = new ChunkRange(0, 1, 0);
+	}
+
+
+	/**
+	 * Answers a chunk of a proximity query without the datastore, if it can
+	 */
+	@FunctionalInterface
+	interface ChunkResolver
+	{
+		/**
+		 * @param chunkX the chunk x coordinate
+		 * @param chunkZ the chunk z coordinate
+		 * @return {@code true} if the chunk was answered, {@code false} if it must be read from the datastore
+		 */
+		boolean resolve(int chunkX, int chunkZ);
+	}
+
 }
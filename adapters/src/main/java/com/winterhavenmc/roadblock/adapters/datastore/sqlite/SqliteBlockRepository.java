@@ -3,16 +3,20 @@ package com.winterhavenmc.roadblock.adapters.datastore.sqlite;
 import com.winterhavenmc.library.messagebuilder.models.configuration.ConfigRepository;
 import com.winterhavenmc.roadblock.adapters.datastore.BlockLocationCache;
 import com.winterhavenmc.roadblock.adapters.datastore.CacheStatus;
+import com.winterhavenmc.roadblock.adapters.datastore.ChunkKey;
 import com.winterhavenmc.roadblock.adapters.datastore.DatastoreMessage;
+import com.winterhavenmc.roadblock.adapters.datastore.FillResult;
+import com.winterhavenmc.roadblock.adapters.datastore.FloodFill;
+import com.winterhavenmc.roadblock.adapters.datastore.RoadChunkIndex;
 import com.winterhavenmc.roadblock.core.ports.config.MaterialsProvider;
-import com.winterhavenmc.roadblock.core.util.Config;
+import com.winterhavenmc.roadblock.core.util.ConfigProvider;
 import com.winterhavenmc.roadblock.models.blocklocation.BlockLocation;
 import com.winterhavenmc.roadblock.core.ports.datastore.BlockRepository;
 
 import org.bukkit.Chunk;
 import org.bukkit.Location;
+import org.bukkit.World;
 import org.bukkit.block.Block;
-import org.bukkit.block.BlockFace;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
@@ -21,35 +25,47 @@ import org.bukkit.plugin.Plugin;
 
 import java.sql.*;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
+import static com.winterhavenmc.roadblock.adapters.datastore.sqlite.SqliteBlockQueryExecutor.RANGES_PER_STATEMENT;
 import static com.winterhavenmc.roadblock.adapters.datastore.sqlite.SqliteConnectionProvider.DATASTORE_NAME;
 
 
 public class SqliteBlockRepository implements BlockRepository, Listener
 {
+	static final int FETCH_SIZE = 1000;
+
 	private final Plugin plugin;
-	private final Connection connection;
+	private final SqliteReadPool readPool;
 	private final ConfigRepository configRepository;
 	private final MaterialsProvider materialsProvider;
+	private final ConfigProvider config;
+	private final RoadChunkIndex roadChunks;
 	private final SqliteBlockRowMapper blockRowMapper;
 	private final int schemaVersion;
 	private final BlockLocationCache blockCache;
-	private final Collection<Location> chunkCache;
 	private final SqliteBlockQueryExecutor blockQueryExecutor;
+	private final SqliteWriteQueue writeQueue;
 
 
 	public SqliteBlockRepository(final Plugin plugin,
-	                             final Connection connection,
+	                             final SqliteReadPool readPool,
 	                             final ConfigRepository configRepository,
-	                             final MaterialsProvider materialsProvider)
+	                             final MaterialsProvider materialsProvider,
+	                             final ConfigProvider config,
+	                             final RoadChunkIndex roadChunks,
+	                             final SqliteWriteQueue writeQueue)
 	{
 		this.plugin = plugin;
-		this.connection = connection;
+		this.readPool = readPool;
 		this.configRepository = configRepository;
 		this.materialsProvider = materialsProvider;
+		this.config = config;
+		this.roadChunks = roadChunks;
+		this.writeQueue = writeQueue;
 		this.blockCache = BlockLocationCache.getInstance();
-		this.chunkCache = new HashSet<>();
 		this.schemaVersion = getSchemaVersion();
 		this.blockRowMapper = new SqliteBlockRowMapper(plugin, configRepository);
 		this.blockQueryExecutor = new SqliteBlockQueryExecutor();
@@ -64,7 +80,8 @@ public class SqliteBlockRepository implements BlockRepository, Listener
 	{
 		int version = 0;
 
-		try (Statement statement = connection.createStatement())
+		try (SqliteReadPool.Lease lease = readPool.lease();
+		     Statement statement = lease.connection().createStatement())
 		{
 			ResultSet resultSet = statement.executeQuery(SqliteQueries.getQuery("GetUserVersion"));
 
@@ -83,35 +100,55 @@ public class SqliteBlockRepository implements BlockRepository, Listener
 
 
 	/**
-	 * Insert records into the SQLite datastore
+	 * Record every chunk that holds a protected block in the road chunk index. Called once the schema
+	 * is current; the query is answered by a scan of the block table primary key.
+	 */
+	void loadRoadChunks()
+	{
+		try (SqliteReadPool.Lease lease = readPool.lease();
+		     ResultSet resultSet = lease.statement("SelectRoadChunks").executeQuery())
+		{
+			while (resultSet.next())
+			{
+				roadChunks.add(new UUID(resultSet.getLong("uid_msb"), resultSet.getLong("uid_lsb")),
+						resultSet.getInt("chunk_x"), resultSet.getInt("chunk_z"));
+			}
+		}
+		catch (SQLException sqlException)
+		{
+			plugin.getLogger().warning(DatastoreMessage.SELECT_ROAD_CHUNKS_ERROR.getLocalizedMessage(configRepository.locale(), DATASTORE_NAME));
+			plugin.getLogger().warning(sqlException.getLocalizedMessage());
+		}
+	}
+
+
+	/**
+	 * Queue records for insert into the SQLite datastore. The records are protected in the cache immediately
+	 * and written by the write queue in the background.
 	 *
 	 * @param blockLocations Set of records to insert
+	 * @return the number of locations that were not already protected
 	 */
 	@Override
 	public int save(final Set<BlockLocation.Valid> blockLocations)
 	{
-		try (PreparedStatement preparedStatement = connection.prepareStatement(SqliteQueries.getQuery("InsertOrIgnoreBlock")))
+		int count = 0;
+		for (BlockLocation.Valid validBlockLocation : blockLocations)
 		{
-			connection.setAutoCommit(false);
-			int count = 0;
-			for (BlockLocation blockLocation : blockLocations)
+			if (!isProtected(validBlockLocation))
 			{
-				if (blockLocation instanceof BlockLocation.Valid validBlockLocation)
+				// a chunk without roads has no records in the datastore, so it is resident once its bucket exists
+				if (!roadChunks.contains(validBlockLocation.worldUid(), validBlockLocation.chunkX(), validBlockLocation.chunkZ()))
 				{
-					count += blockQueryExecutor.insertRecord(validBlockLocation, preparedStatement);
-					blockCache.put(validBlockLocation, CacheStatus.RESIDENT);
+					blockCache.installChunk(validBlockLocation.worldUid(), validBlockLocation.worldName(),
+							validBlockLocation.chunkX(), validBlockLocation.chunkZ(), List.of());
+					roadChunks.add(validBlockLocation.worldUid(), validBlockLocation.chunkX(), validBlockLocation.chunkZ());
 				}
+				writeQueue.insert(validBlockLocation);
+				count++;
 			}
-			connection.commit();
-			connection.setAutoCommit(true);
-			return count;
-		}
-		catch (SQLException sqlException)
-		{
-			plugin.getLogger().warning(DatastoreMessage.INSERT_BLOCK_ERROR.getLocalizedMessage(configRepository.locale(), DATASTORE_NAME));
-			plugin.getLogger().warning(sqlException.getLocalizedMessage());
-			return 0;
 		}
+		return count;
 	}
 
 
@@ -123,18 +160,53 @@ public class SqliteBlockRepository implements BlockRepository, Listener
 	@Override
 	public Set<BlockLocation.Valid> getAll()
 	{
-		try (PreparedStatement preparedStatement = connection.prepareStatement(SqliteQueries.getQuery("SelectAllBlocks")))
+		final Set<BlockLocation.Valid> results = new HashSet<>();
+		forEachBlock(FETCH_SIZE, results::add);
+		return results;
+	}
+
+
+	/**
+	 * Pass every block record in the SQLite datastore to a consumer, reading rows from a cursor
+	 * {@code fetchSize} at a time. The consumer runs while a read connection is leased from the pool.
+	 * Changes still in the write queue are not included.
+	 *
+	 * @param fetchSize the number of rows to read from the datastore at a time
+	 * @param consumer  the consumer of each block record
+	 * @return the number of block records passed to the consumer
+	 */
+	@Override
+	public int forEachBlock(final int fetchSize, final Consumer<BlockLocation.Valid> consumer)
+	{
+		int count = 0;
+
+		try (SqliteReadPool.Lease lease = readPool.lease())
 		{
-			ResultSet resultSet = blockQueryExecutor.selectAllRecords(preparedStatement);
+			// a schema migration reads the block table of an older schema
+			final PreparedStatement preparedStatement = lease.statement((schemaVersion < SqliteBlockRowMapper.COMPACT_SCHEMA_VERSION)
+					? "SelectAllLegacyBlocks"
+					: "SelectAllBlocks");
+			preparedStatement.setFetchSize(Math.max(1, fetchSize));
 
-			return blockRowMapper.mapLocations(resultSet, schemaVersion);
+			try (ResultSet resultSet = blockQueryExecutor.selectAllRecords(preparedStatement))
+			{
+				while (resultSet.next())
+				{
+					if (blockRowMapper.mapRow(resultSet, schemaVersion) instanceof BlockLocation.Valid validBlockLocation)
+					{
+						consumer.accept(validBlockLocation);
+						count++;
+					}
+				}
+			}
 		}
 		catch (SQLException sqlException)
 		{
 			plugin.getLogger().warning(DatastoreMessage.SELECT_ALL_BLOCKS_ERROR.getLocalizedMessage(configRepository.locale(), DATASTORE_NAME));
 			plugin.getLogger().warning(sqlException.getLocalizedMessage());
-			return Set.of();
 		}
+
+		return count;
 	}
 
 
@@ -148,13 +220,16 @@ public class SqliteBlockRepository implements BlockRepository, Listener
 	{
 		int count = 0;
 
-		try (PreparedStatement preparedStatement = connection.prepareStatement(SqliteQueries.getQuery("CountAllBlocks")))
+		try (SqliteReadPool.Lease lease = readPool.lease();
+		     ResultSet resultSet = lease.statement("CountAllBlocks").executeQuery())
 		{
-			ResultSet resultSet = preparedStatement.executeQuery();
 			if (resultSet.next())
 			{
 				count = resultSet.getInt("rowcount");
 			}
+
+			// include changes that have not been written yet
+			count += writeQueue.pendingDelta();
 		}
 		catch (final SQLException sqlException)
 		{
@@ -175,9 +250,15 @@ public class SqliteBlockRepository implements BlockRepository, Listener
 	@Override
 	public Collection<BlockLocation.Valid> getBlocksInChunk(final Chunk chunk)
 	{
-		try (PreparedStatement preparedStatement = connection.prepareStatement(SqliteQueries.getQuery("SelectBlocksInChunk")))
+		return getBlocksInChunk(chunk.getWorld().getUID(), chunk.getX(), chunk.getZ());
+	}
+
+
+	private Collection<BlockLocation.Valid> getBlocksInChunk(final UUID worldUid, final int chunkX, final int chunkZ)
+	{
+		try (SqliteReadPool.Lease lease = readPool.lease();
+		     ResultSet resultSet = blockQueryExecutor.selectRecordsInChunk(worldUid, chunkX, chunkZ, lease.statement("SelectBlocksInChunk")))
 		{
-			ResultSet resultSet = blockQueryExecutor.selectRecordsInChunk(chunk, preparedStatement);
 			return blockRowMapper.mapLocations(resultSet, schemaVersion);
 		}
 		catch (SQLException sqlException)
@@ -190,7 +271,8 @@ public class SqliteBlockRepository implements BlockRepository, Listener
 
 
 	/**
-	 * Get block records for locations within {@code distance} of {@code location}
+	 * Get block records for locations within {@code distance} of {@code location}. Chunks that are resident
+	 * in the cache are answered from memory; only the remaining chunks are read from the datastore.
 	 *
 	 * @param location origin location
 	 * @param distance distance from origin to select blocks
@@ -203,67 +285,88 @@ public class SqliteBlockRepository implements BlockRepository, Listener
 
 		if (BlockLocation.of(location) instanceof BlockLocation.Valid validBlockLocation)
 		{
-			try (PreparedStatement preparedStatement = connection.prepareStatement(SqliteQueries.getQuery("SelectNearbyBlocks")))
+			final int minX = validBlockLocation.blockX() - distance;
+			final int maxX = validBlockLocation.blockX() + distance;
+			final int minZ = validBlockLocation.blockZ() - distance;
+			final int maxZ = validBlockLocation.blockZ() + distance;
+
+			// blocks whose delete is queued may still be in the datastore
+			final Set<Location> pendingDeletes = new HashSet<>();
+
+			final List<SqliteBlockQueryExecutor.ChunkRange> ranges = SqliteBlockQueryExecutor.planNearbyRanges(validBlockLocation, distance,
+					(chunkX, chunkZ) -> !roadChunks.contains(validBlockLocation.worldUid(), chunkX, chunkZ)
+							|| blockCache.forEachInChunk(validBlockLocation.worldUid(), chunkX, chunkZ, (x, y, z, status) ->
+					{
+						if (x > minX && x < maxX && z > minZ && z < maxZ)
+						{
+							((status == CacheStatus.PENDING_DELETE) ? pendingDeletes : results).add(new Location(location.getWorld(), x, y, z));
+						}
+					}));
+
+			if (!ranges.isEmpty())
 			{
-				ResultSet resultSet = blockQueryExecutor.selectNearbyBlocks(validBlockLocation, distance, preparedStatement);
-				while (resultSet.next())
+				try (SqliteReadPool.Lease lease = readPool.lease())
 				{
-					final double x = resultSet.getDouble("x");
-					final double y = resultSet.getDouble("y");
-					final double z = resultSet.getDouble("z");
-					Location newLocation = new Location(location.getWorld(), x, y, z);
-					results.add(newLocation);
-				}
+					final PreparedStatement preparedStatement = lease.statement("SelectNearbyBlocks:" + RANGES_PER_STATEMENT,
+							SqliteBlockQueryExecutor.expandRowList(SqliteQueries.getQuery("SelectNearbyBlocks"),
+									RANGES_PER_STATEMENT, SqliteBlockQueryExecutor.RANGE_COLUMNS));
 
+					for (int start = 0; start < ranges.size(); start += RANGES_PER_STATEMENT)
+					{
+						final List<SqliteBlockQueryExecutor.ChunkRange> batch = ranges.subList(start, Math.min(start + RANGES_PER_STATEMENT, ranges.size()));
+						try (ResultSet resultSet = blockQueryExecutor.selectNearbyBlocks(validBlockLocation, distance, batch, RANGES_PER_STATEMENT, preparedStatement))
+						{
+							while (resultSet.next())
+							{
+								final double x = resultSet.getDouble("x");
+								final double y = resultSet.getDouble("y");
+								final double z = resultSet.getDouble("z");
+								Location newLocation = new Location(location.getWorld(), x, y, z);
+								results.add(newLocation);
+							}
+						}
+					}
+				}
+				catch (final SQLException sqlException)
+				{
+					plugin.getLogger().warning(DatastoreMessage.SELECT_BLOCKS_BY_PROXIMITY_ERROR.getLocalizedMessage(configRepository.locale(), DATASTORE_NAME));
+					plugin.getLogger().warning(sqlException.getLocalizedMessage());
+				}
 			}
-			catch (final SQLException sqlException)
-			{
-				plugin.getLogger().warning(DatastoreMessage.SELECT_BLOCKS_BY_PROXIMITY_ERROR.getLocalizedMessage(configRepository.locale(), DATASTORE_NAME));
-				plugin.getLogger().warning(sqlException.getLocalizedMessage());
-			}
+
+			results.removeAll(pendingDeletes);
 		}
 
 		return results;
 	}
 
 
+	/**
+	 * Queue records for delete from the SQLite datastore. The records are unprotected in the cache immediately
+	 * and deleted by the write queue in the background.
+	 *
+	 * @param blockLocations Set of records to delete
+	 * @return the number of locations that were protected
+	 */
 	@Override
 	public int delete(final Set<BlockLocation.Valid> blockLocations)
 	{
 		int count = 0;
-
-		try (PreparedStatement preparedStatement = connection.prepareStatement(SqliteQueries.getQuery("DeleteBlock")))
+		final Map<UUID, Set<Long>> chunks = new HashMap<>();
+		for (BlockLocation.Valid validBlockLocation : blockLocations)
 		{
-			connection.setAutoCommit(false);
-
-			for (final BlockLocation blockLocation : blockLocations)
+			if (isProtected(validBlockLocation))
 			{
-				if (blockLocation instanceof BlockLocation.Valid validLocation)
-				{
-					try
-					{
-						blockQueryExecutor.deleteRecords(validLocation, preparedStatement);
-						count += 1;
-					}
-					catch (SQLException sqlException)
-					{
-						plugin.getLogger().warning(DatastoreMessage.DELETE_BLOCK_RECORD_ERROR.getLocalizedMessage(configRepository.locale(), DATASTORE_NAME));
-						plugin.getLogger().warning(sqlException.getLocalizedMessage());
-					}
-				}
-
-				blockCache.remove(blockLocation);
+				writeQueue.delete(validBlockLocation);
+				chunks.computeIfAbsent(validBlockLocation.worldUid(), uid -> new HashSet<>())
+						.add(ChunkKey.pack(validBlockLocation.chunkX(), validBlockLocation.chunkZ()));
+				count++;
 			}
-
-			connection.commit();
-			connection.setAutoCommit(true);
-		}
-		catch (SQLException sqlException)
-		{
-			plugin.getLogger().warning(DatastoreMessage.DELETE_BLOCK_RECORD_ERROR.getLocalizedMessage(configRepository.locale(), DATASTORE_NAME));
-			plugin.getLogger().warning(sqlException.getLocalizedMessage());
 		}
 
+		// a chunk whose last protected block was deleted no longer holds a road
+		chunks.forEach((worldUid, chunkKeys) -> chunkKeys.forEach(chunkKey ->
+				removeRoadChunkIfEmpty(worldUid, ChunkKey.x(chunkKey), ChunkKey.z(chunkKey))));
 		return count;
 	}
 
@@ -277,7 +380,8 @@ public class SqliteBlockRepository implements BlockRepository, Listener
 	@Override
 	public boolean isChunkCached(final Location location)
 	{
-		return chunkCache.contains(location.getChunk().getBlock(0, 0, 0).getLocation());
+		return location.getWorld() != null
+				&& blockCache.isChunkResident(location.getWorld().getUID(), location.getBlockX() >> 4, location.getBlockZ() >> 4);
 	}
 
 
@@ -290,18 +394,7 @@ public class SqliteBlockRepository implements BlockRepository, Listener
 	@Override
 	public void flushCache(final Chunk chunk)
 	{
-		for (BlockLocation blockLocation : blockCache.keySet())
-		{
-			if (blockLocation instanceof BlockLocation.Valid validLocation
-					&& validLocation.worldUid().equals(chunk.getWorld().getUID())
-					&& validLocation.chunkX() == chunk.getX()
-					&& validLocation.chunkZ() == chunk.getZ())
-			{
-				blockCache.remove(blockLocation);
-			}
-		}
-
-		chunkCache.remove(chunk.getBlock(0, 0, 0).getLocation());
+		blockCache.evictChunk(chunk.getWorld().getUID(), chunk.getX(), chunk.getZ());
 	}
 
 
@@ -314,19 +407,40 @@ public class SqliteBlockRepository implements BlockRepository, Listener
 	@Override
 	public boolean isProtected(final Location location)
 	{
-		return BlockLocation.of(location) instanceof BlockLocation.Valid validLocation
-				&& isProtected(validLocation, location);
+		return location != null
+				&& location.getWorld() != null
+				&& location.isWorldLoaded()
+				&& isProtected(location.getWorld().getUID(), location);
 	}
 
 
-	private boolean isProtected(BlockLocation.Valid validLocation, Location location)
+	private boolean isProtected(final UUID worldUid, final Location location)
 	{
-		if (!this.isChunkCached(location))
+		return isProtected(worldUid, location.getWorld().getName(), location.getBlockX(), location.getBlockY(), location.getBlockZ());
+	}
+
+
+	private boolean isProtected(final BlockLocation.Valid location)
+	{
+		return isProtected(location.worldUid(), location.worldName(), location.blockX(), location.blockY(), location.blockZ());
+	}
+
+
+	private boolean isProtected(final UUID worldUid, final String worldName, final int x, final int y, final int z)
+	{
+		// a chunk without roads has nothing to look up
+		if (!roadChunks.contains(worldUid, x >> 4, z >> 4))
 		{
-			this.cacheChunk(location.getChunk());
+			return false;
 		}
 
-		CacheStatus status = blockCache.get(validLocation);
+		// chunks are normally prefetched on load; if the prefetch has not completed yet, load the chunk now
+		if (!blockCache.isChunkResident(worldUid, x >> 4, z >> 4))
+		{
+			this.cacheChunk(worldUid, worldName, x >> 4, z >> 4);
+		}
+
+		CacheStatus status = blockCache.get(worldUid, x, y, z);
 		return status == CacheStatus.RESIDENT || status == CacheStatus.PENDING_INSERT;
 	}
 
@@ -334,18 +448,44 @@ public class SqliteBlockRepository implements BlockRepository, Listener
 	/**
 	 * Add all road block locations within chunk to cache
 	 *
-	 * @param chunk the chunk for which to load all road block locations into cache
+	 * @param worldUid  the uid of the world containing the chunk
+	 * @param worldName the name of the world containing the chunk
+	 * @param chunkX    the chunk x coordinate
+	 * @param chunkZ    the chunk z coordinate
 	 */
-	private void cacheChunk(final Chunk chunk)
+	private void cacheChunk(final UUID worldUid, final String worldName, final int chunkX, final int chunkZ)
 	{
-		final Collection<BlockLocation.Valid> blockSet = this.getBlocksInChunk(chunk);
-
-		for (BlockLocation blockLocation : blockSet)
+		writeQueue.chunkLoadLock().lock();
+		try
 		{
-			blockCache.put(blockLocation, CacheStatus.RESIDENT);
+			blockCache.installChunk(worldUid, worldName, chunkX, chunkZ, this.getBlocksInChunk(worldUid, chunkX, chunkZ));
 		}
+		finally
+		{
+			writeQueue.chunkLoadLock().unlock();
+		}
+	}
+
+
+	/**
+	 * Remove a chunk from the road chunk index if no block in it is still protected. The chunk is resident
+	 * in the cache, because its blocks were just checked for protection.
+	 */
+	private void removeRoadChunkIfEmpty(final UUID worldUid, final int chunkX, final int chunkZ)
+	{
+		final boolean[] protectedFound = new boolean[1];
+		final boolean resident = blockCache.forEachInChunk(worldUid, chunkX, chunkZ, (x, y, z, status) ->
+		{
+			if (status == CacheStatus.RESIDENT || status == CacheStatus.PENDING_INSERT)
+			{
+				protectedFound[0] = true;
+			}
+		});
 
-		chunkCache.add(chunk.getBlock(0, 0, 0).getLocation());
+		if (resident && !protectedFound[0])
+		{
+			roadChunks.remove(worldUid, chunkX, chunkZ);
+		}
 	}
 
 
@@ -403,36 +543,67 @@ public class SqliteBlockRepository implements BlockRepository, Listener
 	@Override
 	public Set<Location> getFill(final Location startLocation, final MaterialsProvider materialsProvider)
 	{
-		if (startLocation == null) return Collections.emptySet();
+		if (startLocation == null || startLocation.getWorld() == null) return Collections.emptySet();
 
-		final Set<Location> returnSet = new HashSet<>();
-		final Queue<Location> queue = new LinkedList<>();
+		return getFillBlocks(startLocation, materialsProvider).toLocations(startLocation.getWorld());
+	}
 
-		// put start location in queue
-		queue.add(startLocation);
-		while (!queue.isEmpty())
+
+	/**
+	 * Find all blocks of valid road block material attached to location. Snapshots of the chunks in spread
+	 * distance are taken on the server thread, and the fill runs on an async task, which completes the future.
+	 *
+	 * @param startLocation location to begin searching for attached road blocks
+	 * @return a future completed with the Set of Locations of attached road blocks
+	 */
+	@Override
+	public CompletableFuture<Set<Location>> getFillAsync(final Location startLocation, final MaterialsProvider materialsProvider)
+	{
+		final CompletableFuture<Set<Location>> future = new CompletableFuture<>();
+
+		if (startLocation == null || startLocation.getWorld() == null)
 		{
-			// remove location at head of queue
-			Location loc = queue.poll();
+			future.complete(Collections.emptySet());
+			return future;
+		}
 
-			// if location is not in return set and is a road block material and is not too far from start...
-			if (!returnSet.contains(loc) && materialsProvider.contains(loc.getBlock().getType())
-					&& loc.distanceSquared(startLocation) < Math.pow(Config.SPREAD_DISTANCE.getInt(plugin.getConfig()), 2))
+		final World world = startLocation.getWorld();
+		final int x = startLocation.getBlockX();
+		final int y = startLocation.getBlockY();
+		final int z = startLocation.getBlockZ();
+		final int spreadDistance = config.get().spreadDistance();
+
+		// chunk snapshots must be taken on the server thread
+		final FloodFill floodFill = FloodFill.ofSnapshots(world, x, z, spreadDistance, materialsProvider);
+
+		plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () ->
+		{
+			try
 			{
-				// add location to return set
-				returnSet.add(loc);
-
-				// add adjacent locations to queue
-				queue.add(loc.clone().add(0, 0, 1));
-				queue.add(loc.clone().add(0, 0, -1));
-				queue.add(loc.clone().add(1, 0, 0));
-				queue.add(loc.clone().add(-1, 0, 0));
+				future.complete(floodFill.fill(x, y, z, spreadDistance).toLocations(world));
 			}
-		}
-		return returnSet;
+			catch (RuntimeException exception)
+			{
+				future.completeExceptionally(exception);
+			}
+		});
+
+		return future;
 	}
 
 
+	/**
+	 * Find all blocks of valid road block material attached to location, as packed block coordinates
+	 *
+	 * @param startLocation location to begin searching for attached road blocks
+	 * @return the attached road blocks
+	 */
+	public FillResult getFillBlocks(final Location startLocation, final MaterialsProvider materialsProvider)
+	{
+		return FloodFill.of(startLocation.getWorld(), materialsProvider).fill(startLocation.getBlockX(),
+				startLocation.getBlockY(), startLocation.getBlockZ(), config.get().spreadDistance());
+	}
+
 
 	/**
 	 * Check if block below player is a protected road block
@@ -450,7 +621,7 @@ public class SqliteBlockRepository implements BlockRepository, Listener
 		}
 
 		// get configured height above road
-		final int distance = Config.ON_ROAD_HEIGHT.getInt(plugin.getConfig());
+		final int distance = config.get().onRoadHeight();
 
 		// if distance is less than one, return false
 		if (distance < 1)
@@ -464,7 +635,8 @@ public class SqliteBlockRepository implements BlockRepository, Listener
 
 
 	/**
-	 * Check if block below location is a protected road block, searching down to maxDepth
+	 * Check if block below location is a protected road block, searching down to maxDepth. The check is
+	 * answered from the road height map of the chunk in the block cache, without reading any world blocks.
 	 *
 	 * @param location the location to test if above a road block
 	 * @param distance the distance in blocks to test below location for road blocks
@@ -474,7 +646,7 @@ public class SqliteBlockRepository implements BlockRepository, Listener
 	public boolean isAboveRoad(final Location location, final int distance)
 	{
 		// if passed location is null, return false
-		if (location == null)
+		if (location == null || location.getWorld() == null)
 		{
 			return false;
 		}
@@ -485,29 +657,23 @@ public class SqliteBlockRepository implements BlockRepository, Listener
 			return false;
 		}
 
-		boolean result = false;
-		int checkDepth = distance;
+		final UUID worldUid = location.getWorld().getUID();
+		final int x = location.getBlockX();
+		final int z = location.getBlockZ();
 
-		// iterate until maxDepth reached
-		while (checkDepth > 0)
+		// a chunk without roads has nothing to look up
+		if (!roadChunks.contains(worldUid, x >> 4, z >> 4))
 		{
-			// get block at checkDepth
-			Block testBlock = location.getBlock().getRelative(BlockFace.DOWN, checkDepth);
-
-			// don't check datastore unless testBlock is road block material
-			if (materialsProvider.isRoadBlockMaterial(testBlock))
-			{
-				if (isProtected(testBlock.getLocation()))
-				{
-					result = true;
-					break;
-				}
-			}
+			return false;
+		}
 
-			// decrement checkDepth
-			checkDepth--;
+		// chunks are normally prefetched on load; if the prefetch has not completed yet, load the chunk now
+		if (!blockCache.isChunkResident(worldUid, x >> 4, z >> 4))
+		{
+			this.cacheChunk(worldUid, location.getWorld().getName(), x >> 4, z >> 4);
 		}
-		return result;
+
+		return blockCache.isAboveProtected(worldUid, x, location.getBlockY(), z, distance);
 	}
 
 
@@ -522,6 +688,12 @@ public class SqliteBlockRepository implements BlockRepository, Listener
 	{
 		if (block == null) return false;
 
+		// a chunk without roads needs no material check or lookup
+		if (!roadChunks.contains(block.getWorld().getUID(), block.getX() >> 4, block.getZ() >> 4))
+		{
+			return false;
+		}
+
 		// check if block is road block material
 		if (!materialsProvider.isRoadBlockMaterial(block))
 		{
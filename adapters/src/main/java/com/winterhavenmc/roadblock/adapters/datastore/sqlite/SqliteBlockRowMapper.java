@@ -16,6 +16,11 @@ import java.util.UUID;
 
 public class SqliteBlockRowMapper
 {
+	/**
+	 * The first schema version with the compact block table, which refers to its world by id
+	 */
+	static final int COMPACT_SCHEMA_VERSION = 3;
+
 	private final Plugin plugin;
 	private final ConfigRepository configRepository;
 
@@ -28,31 +33,12 @@ public class SqliteBlockRowMapper
 
 
 	Set<BlockLocation.Valid> mapLocations(final ResultSet resultSet, final int schemaVersion) throws SQLException
-	{
-		return (schemaVersion == 0)
-				? mapLocationsV0(resultSet)
-				: mapLocationsV1(resultSet);
-	}
-
-
-	Set<BlockLocation.Valid> mapLocationsV0(final ResultSet resultSet) throws SQLException
 	{
 		Set<BlockLocation.Valid> results = new HashSet<>();
 
 		while (resultSet.next())
 		{
-			final String worldName = resultSet.getString("worldname");
-			final int blockX = resultSet.getInt("x");
-			final int blockY = resultSet.getInt("y");
-			final int blockZ = resultSet.getInt("z");
-			final int chunkX = resultSet.getInt("chunk_x");
-			final int chunkZ = resultSet.getInt("chunk_z");
-
-			// get world by uid
-			World world = plugin.getServer().getWorld(worldName);
-
-			BlockLocation blockLocation = createBlockLocation(world, worldName, blockX, blockY, blockZ, chunkX, chunkZ);
-			if (blockLocation instanceof BlockLocation.Valid validBlockLocation)
+			if (mapRow(resultSet, schemaVersion) instanceof BlockLocation.Valid validBlockLocation)
 			{
 				results.add(validBlockLocation);
 			}
@@ -62,32 +48,73 @@ public class SqliteBlockRowMapper
 	}
 
 
-	Set<BlockLocation.Valid> mapLocationsV1(final ResultSet resultSet) throws SQLException
+	/**
+	 * Map the current row of a result set to a block location, without advancing the result set
+	 *
+	 * @param resultSet     a result set positioned on a block record
+	 * @param schemaVersion the schema version of the block record
+	 * @return the block location, which is invalid if its world is not loaded
+	 */
+	BlockLocation mapRow(final ResultSet resultSet, final int schemaVersion) throws SQLException
 	{
-		Set<BlockLocation.Valid> results = new HashSet<>();
+		if (schemaVersion == 0) return mapRowV0(resultSet);
+		else if (schemaVersion < COMPACT_SCHEMA_VERSION) return mapRowV1(resultSet);
+		else return mapRowV3(resultSet);
+	}
 
-		while (resultSet.next())
-		{
-			final long worldUidMSB = resultSet.getLong("worlduidmsb");
-			final long worldUidLSB = resultSet.getLong("worlduidlsb");
-			final String worldName = resultSet.getString("worldname");
-			final int blockX = resultSet.getInt("x");
-			final int blockY = resultSet.getInt("y");
-			final int blockZ = resultSet.getInt("z");
-			final int chunkX = resultSet.getInt("chunk_x");
-			final int chunkZ = resultSet.getInt("chunk_z");
-
-			// get world by uid
-			World world = plugin.getServer().getWorld(new UUID(worldUidMSB, worldUidLSB));
-
-			BlockLocation blockLocation = createBlockLocation(world, worldName, blockX, blockY, blockZ, chunkX, chunkZ);
-			if (blockLocation instanceof BlockLocation.Valid validBlockLocation)
-			{
-				results.add(validBlockLocation);
-			}
-		}
 
-		return results;
+	BlockLocation mapRowV0(final ResultSet resultSet) throws SQLException
+	{
+		final String worldName = resultSet.getString("worldname");
+		final int blockX = resultSet.getInt("x");
+		final int blockY = resultSet.getInt("y");
+		final int blockZ = resultSet.getInt("z");
+		final int chunkX = resultSet.getInt("chunk_x");
+		final int chunkZ = resultSet.getInt("chunk_z");
+
+		// get world by name
+		World world = plugin.getServer().getWorld(worldName);
+
+		return createBlockLocation(world, worldName, blockX, blockY, blockZ, chunkX, chunkZ);
+	}
+
+
+	BlockLocation mapRowV1(final ResultSet resultSet) throws SQLException
+	{
+		final long worldUidMSB = resultSet.getLong("worlduidmsb");
+		final long worldUidLSB = resultSet.getLong("worlduidlsb");
+		final String worldName = resultSet.getString("worldname");
+		final int blockX = resultSet.getInt("x");
+		final int blockY = resultSet.getInt("y");
+		final int blockZ = resultSet.getInt("z");
+		final int chunkX = resultSet.getInt("chunk_x");
+		final int chunkZ = resultSet.getInt("chunk_z");
+
+		// get world by uid
+		World world = plugin.getServer().getWorld(new UUID(worldUidMSB, worldUidLSB));
+
+		return createBlockLocation(world, worldName, blockX, blockY, blockZ, chunkX, chunkZ);
+	}
+
+
+	/**
+	 * Map a row of the compact schema, whose world columns are joined from the world table
+	 */
+	BlockLocation mapRowV3(final ResultSet resultSet) throws SQLException
+	{
+		final long worldUidMSB = resultSet.getLong("uid_msb");
+		final long worldUidLSB = resultSet.getLong("uid_lsb");
+		final String worldName = resultSet.getString("name");
+		final int blockX = resultSet.getInt("x");
+		final int blockY = resultSet.getInt("y");
+		final int blockZ = resultSet.getInt("z");
+		final int chunkX = resultSet.getInt("chunk_x");
+		final int chunkZ = resultSet.getInt("chunk_z");
+
+		// get world by uid
+		World world = plugin.getServer().getWorld(new UUID(worldUidMSB, worldUidLSB));
+
+		return createBlockLocation(world, worldName, blockX, blockY, blockZ, chunkX, chunkZ);
 	}
 
 
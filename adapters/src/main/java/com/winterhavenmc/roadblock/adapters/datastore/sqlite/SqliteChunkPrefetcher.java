@@ -0,0 +1,290 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.roadblock.adapters.datastore.sqlite;
+
+import com.winterhavenmc.library.messagebuilder.models.configuration.ConfigRepository;
+import com.winterhavenmc.roadblock.adapters.datastore.BlockLocationCache;
+import com.winterhavenmc.roadblock.adapters.datastore.ChunkKey;
+import com.winterhavenmc.roadblock.adapters.datastore.DatastoreMessage;
+import com.winterhavenmc.roadblock.adapters.datastore.RoadChunkIndex;
+import com.winterhavenmc.roadblock.models.blocklocation.BlockLocation;
+
+import org.bukkit.Chunk;
+import org.bukkit.World;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.ChunkLoadEvent;
+import org.bukkit.event.world.ChunkUnloadEvent;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.winterhavenmc.roadblock.adapters.datastore.sqlite.SqliteConnectionProvider.DATASTORE_NAME;
+
+
+/**
+ * Loads the protected blocks of chunks into the block cache off the main thread, as chunks are loaded.
+ * <p>
+ * Chunk load events queue the chunk; an asynchronous task drains the queue every tick and reads the
+ * queued chunks of each world with one query per batch, on a connection from the read pool, so that it
+ * never waits on the main thread. Each chunk is installed in the cache only if it is still loaded.
+ * Chunks that the {@link RoadChunkIndex} shows to hold no roads are not queued at all.
+ * <p>
+ * Fallback policy: if gameplay tests a block in a chunk whose prefetch has not completed, the repository
+ * loads that single chunk synchronously, so a protected block is never reported as unprotected.
+ * Installing a chunk is idempotent, so a prefetch that completes after such a fallback load has no effect.
+ * A chunk that unloads while its batch is being installed may remain resident until its next unload;
+ * this is harmless, because every write made by this server is applied to the cache as well.
+ */
+public final class SqliteChunkPrefetcher implements Listener
+{
+	static final int BATCH_SIZE = 64;
+
+	private final Plugin plugin;
+	private final SqliteReadPool readPool;
+	private final ConfigRepository configRepository;
+	private final SqliteBlockRowMapper blockRowMapper;
+	private final SqliteBlockQueryExecutor blockQueryExecutor;
+	private final BlockLocationCache blockCache;
+	private final SqliteWriteQueue writeQueue;
+	private final RoadChunkIndex roadChunks;
+	private final int schemaVersion;
+
+	private final Queue<PendingChunk> queue = new ConcurrentLinkedQueue<>();
+	private final Set<PendingChunk> pending = ConcurrentHashMap.newKeySet();
+	private final AtomicBoolean draining = new AtomicBoolean();
+	private BukkitTask task;
+
+
+	SqliteChunkPrefetcher(final Plugin plugin,
+	                      final SqliteReadPool readPool,
+	                      final ConfigRepository configRepository,
+	                      final SqliteWriteQueue writeQueue,
+	                      final RoadChunkIndex roadChunks,
+	                      final int schemaVersion)
+	{
+		this.writeQueue = writeQueue;
+		this.roadChunks = roadChunks;
+		this.plugin = plugin;
+		this.readPool = readPool;
+		this.configRepository = configRepository;
+		this.schemaVersion = schemaVersion;
+		this.blockRowMapper = new SqliteBlockRowMapper(plugin, configRepository);
+		this.blockQueryExecutor = new SqliteBlockQueryExecutor();
+		this.blockCache = BlockLocationCache.getInstance();
+	}
+
+
+	/**
+	 * Register event handlers, queue all chunks that are already loaded, and start the prefetch task
+	 */
+	void start()
+	{
+		plugin.getServer().getPluginManager().registerEvents(this, plugin);
+
+		for (World world : plugin.getServer().getWorlds())
+		{
+			for (Chunk chunk : world.getLoadedChunks())
+			{
+				enqueue(chunk);
+			}
+		}
+
+		task = plugin.getServer().getScheduler().runTaskTimerAsynchronously(plugin, this::drain, 1L, 1L);
+	}
+
+
+	/**
+	 * Stop the prefetch task and unregister event handlers. Queued chunks are discarded.
+	 */
+	void stop()
+	{
+		HandlerList.unregisterAll(this);
+
+		if (task != null)
+		{
+			task.cancel();
+			task = null;
+		}
+
+		queue.clear();
+		pending.clear();
+	}
+
+
+	@EventHandler(priority = EventPriority.MONITOR)
+	public void onChunkLoad(final ChunkLoadEvent event)
+	{
+		enqueue(event.getChunk());
+	}
+
+
+	@EventHandler(priority = EventPriority.MONITOR)
+	public void onChunkUnload(final ChunkUnloadEvent event)
+	{
+		// discard prefetch work for a chunk that is no longer loaded
+		pending.remove(PendingChunk.of(event.getChunk()));
+	}
+
+
+	private void enqueue(final Chunk chunk)
+	{
+		// a chunk without roads has nothing to read, and is never looked up in the cache
+		if (!roadChunks.contains(chunk.getWorld().getUID(), chunk.getX(), chunk.getZ())
+				|| blockCache.isChunkResident(chunk.getWorld().getUID(), chunk.getX(), chunk.getZ()))
+		{
+			return;
+		}
+
+		final PendingChunk pendingChunk = PendingChunk.of(chunk);
+		if (pending.add(pendingChunk))
+		{
+			queue.add(pendingChunk);
+		}
+	}
+
+
+	/**
+	 * Read all queued chunks from the datastore and install them in the cache. Runs on an async thread;
+	 * a run that starts while a previous run is still draining returns immediately.
+	 */
+	private void drain()
+	{
+		if (queue.isEmpty() || !draining.compareAndSet(false, true))
+		{
+			return;
+		}
+
+		try
+		{
+			// group queued chunks by world
+			final Map<UUID, List<PendingChunk>> byWorld = new HashMap<>();
+			PendingChunk pendingChunk;
+			while ((pendingChunk = queue.poll()) != null)
+			{
+				if (pending.contains(pendingChunk))
+				{
+					byWorld.computeIfAbsent(pendingChunk.worldUid(), uid -> new ArrayList<>()).add(pendingChunk);
+				}
+			}
+
+			if (!byWorld.isEmpty())
+			{
+				fetch(byWorld);
+			}
+		}
+		finally
+		{
+			draining.set(false);
+		}
+	}
+
+
+	private void fetch(final Map<UUID, List<PendingChunk>> byWorld)
+	{
+		try (SqliteReadPool.Lease lease = readPool.lease())
+		{
+			final PreparedStatement preparedStatement = lease.statement("SelectBlocksInChunks:" + BATCH_SIZE,
+					SqliteBlockQueryExecutor.expandChunkList(SqliteQueries.getQuery("SelectBlocksInChunks"), BATCH_SIZE));
+
+			for (Map.Entry<UUID, List<PendingChunk>> entry : byWorld.entrySet())
+			{
+				final List<PendingChunk> chunks = entry.getValue();
+				for (int start = 0; start < chunks.size(); start += BATCH_SIZE)
+				{
+					fetchBatch(entry.getKey(), chunks.subList(start, Math.min(start + BATCH_SIZE, chunks.size())), preparedStatement);
+				}
+			}
+		}
+		catch (SQLException sqlException)
+		{
+			plugin.getLogger().warning(DatastoreMessage.SELECT_BLOCKS_IN_CHUNK_ERROR.getLocalizedMessage(configRepository.locale(), DATASTORE_NAME));
+			plugin.getLogger().warning(sqlException.getLocalizedMessage());
+
+			// chunks that could not be prefetched will be loaded by the synchronous fallback
+			byWorld.values().forEach(chunks -> chunks.forEach(pending::remove));
+		}
+	}
+
+
+	private void fetchBatch(final UUID worldUid,
+	                        final List<PendingChunk> batch,
+	                        final PreparedStatement preparedStatement) throws SQLException
+	{
+		final long[] chunkKeys = new long[batch.size()];
+		for (int i = 0; i < chunkKeys.length; i++)
+		{
+			chunkKeys[i] = ChunkKey.pack(batch.get(i).chunkX(), batch.get(i).chunkZ());
+		}
+
+		writeQueue.chunkLoadLock().lock();
+		try
+		{
+			final Set<BlockLocation.Valid> blockLocations;
+			try (ResultSet resultSet = blockQueryExecutor.selectRecordsInChunks(worldUid, chunkKeys, chunkKeys.length, BATCH_SIZE, preparedStatement))
+			{
+				blockLocations = blockRowMapper.mapLocations(resultSet, schemaVersion);
+			}
+
+			// group records by chunk
+			final Map<Long, List<BlockLocation.Valid>> byChunk = new HashMap<>();
+			for (BlockLocation.Valid blockLocation : blockLocations)
+			{
+				byChunk.computeIfAbsent(ChunkKey.pack(blockLocation.chunkX(), blockLocation.chunkZ()), key -> new ArrayList<>())
+						.add(blockLocation);
+			}
+
+			// install every chunk of the batch, including chunks with no protected blocks, if it is still loaded
+			for (int i = 0; i < chunkKeys.length; i++)
+			{
+				final PendingChunk pendingChunk = batch.get(i);
+				if (pending.remove(pendingChunk))
+				{
+					blockCache.installChunk(worldUid, pendingChunk.worldName(), pendingChunk.chunkX(), pendingChunk.chunkZ(),
+							byChunk.getOrDefault(chunkKeys[i], List.of()));
+				}
+			}
+		}
+		finally
+		{
+			writeQueue.chunkLoadLock().unlock();
+		}
+	}
+
+
+	/**
+	 * A chunk waiting to be prefetched
+	 */
+	private record PendingChunk(UUID worldUid, String worldName, int chunkX, int chunkZ)
+	{
+		static PendingChunk of(final Chunk chunk)
+		{
+			return new PendingChunk(chunk.getWorld().getUID(), chunk.getWorld().getName(), chunk.getX(), chunk.getZ());
+		}
+	}
+
+}
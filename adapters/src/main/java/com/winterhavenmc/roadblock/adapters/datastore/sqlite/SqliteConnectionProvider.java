@@ -4,8 +4,11 @@ import com.winterhavenmc.library.messagebuilder.adapters.resources.configuration
 import com.winterhavenmc.library.messagebuilder.models.configuration.ConfigRepository;
 
 import com.winterhavenmc.roadblock.adapters.datastore.DatastoreMessage;
+import com.winterhavenmc.roadblock.adapters.datastore.RoadChunkIndex;
 import com.winterhavenmc.roadblock.adapters.datastore.sqlite.schema.SqliteSchemaUpdater;
 import com.winterhavenmc.roadblock.core.ports.config.MaterialsProvider;
+import com.winterhavenmc.roadblock.core.util.Config;
+import com.winterhavenmc.roadblock.core.util.ConfigProvider;
 import com.winterhavenmc.roadblock.core.ports.datastore.BlockRepository;
 import com.winterhavenmc.roadblock.core.ports.datastore.ConnectionProvider;
 
@@ -18,12 +21,17 @@ import java.sql.*;
 public class SqliteConnectionProvider implements ConnectionProvider
 {
 	public static final String DATASTORE_NAME = "SQLite";
+	static final int READ_POOL_SIZE = 4;
 	private final Plugin plugin;
 	private BlockRepository blocks;
 	private final MaterialsProvider materials;
+	private final ConfigProvider config;
 	private final ConfigRepository configRepository;
 	private final String dataFilePath;
-	private Connection connection;
+	private Connection writerConnection;
+	private SqliteReadPool readPool;
+	private SqliteWriteQueue writeQueue;
+	private SqliteChunkPrefetcher chunkPrefetcher;
 	private boolean initialized;
 
 
@@ -32,18 +40,36 @@ public class SqliteConnectionProvider implements ConnectionProvider
 	 *
 	 * @param plugin reference to main class
 	 */
-	private SqliteConnectionProvider(final Plugin plugin, final MaterialsProvider materials)
+	private SqliteConnectionProvider(final Plugin plugin, final MaterialsProvider materials, final ConfigProvider config)
+	{
+		this(plugin, materials, config, BukkitConfigRepository.create(plugin));
+	}
+
+
+	/**
+	 * Class constructor
+	 *
+	 * @param plugin           reference to main class
+	 * @param materials        the provider of road block materials
+	 * @param config           the provider of the configuration snapshot
+	 * @param configRepository the repository of locale settings for log messages
+	 */
+	SqliteConnectionProvider(final Plugin plugin,
+	                         final MaterialsProvider materials,
+	                         final ConfigProvider config,
+	                         final ConfigRepository configRepository)
 	{
 		this.plugin = plugin;
 		this.materials = materials;
-		this.configRepository = BukkitConfigRepository.create(plugin);
+		this.config = config;
+		this.configRepository = configRepository;
 		this.dataFilePath = plugin.getDataFolder() + File.separator + "roadblocks.db";
 	}
 
 
-	public static ConnectionProvider connect(final Plugin plugin, final MaterialsProvider materials)
+	public static ConnectionProvider connect(final Plugin plugin, final MaterialsProvider materials, final ConfigProvider config)
 	{
-		ConnectionProvider connectionProvider = new SqliteConnectionProvider(plugin, materials);
+		ConnectionProvider connectionProvider = new SqliteConnectionProvider(plugin, materials, config);
 		connectionProvider.connect();
 
 		return connectionProvider;
@@ -81,17 +107,48 @@ public class SqliteConnectionProvider implements ConnectionProvider
 			// create database url
 			final String dbUrl = "jdbc:sqlite" + ":" + dataFilePath;
 
-			// create a database connection
-			connection = DriverManager.getConnection(dbUrl);
+			// all writes go through a single connection, which puts the datastore in WAL journal mode
+			writerConnection = DriverManager.getConnection(dbUrl);
+			configureWriter(writerConnection);
 
-			blocks = new SqliteBlockRepository(plugin, connection, configRepository, materials);
+			// reads use a pool of read-only connections, which WAL mode lets proceed while a write commits
+			readPool = SqliteReadPool.open(dbUrl, READ_POOL_SIZE);
 
-			// update database schema if necessary
-			SqliteSchemaUpdater schemaUpdater = SqliteSchemaUpdater.create(plugin, connection, configRepository, blocks);
-			schemaUpdater.update();
+			// create tables if necessary, so a new datastore is brought to the current schema by the updater;
+			// nothing else uses the datastore yet, so the schema is written on the writer connection alone
+			createBlockTable(writerConnection, configRepository);
 
-			// create tables if necessary
-			createBlockTable(connection, configRepository);
+			// update database schema if necessary
+			SqliteSchemaUpdater schemaUpdater = SqliteSchemaUpdater.create(plugin, writerConnection, configRepository);
+			final boolean updated = schemaUpdater.update();
+
+			// every query of the repository targets the compact schema, so an older datastore is not started
+			final int schemaVersion = SqliteSchemaUpdater.getSchemaVersion(plugin, writerConnection, configRepository);
+			if (!updated || schemaVersion < SqliteBlockRowMapper.COMPACT_SCHEMA_VERSION)
+			{
+				plugin.getLogger().severe(DatastoreMessage.SCHEMA_OUTDATED_ERROR.getLocalizedMessage(configRepository.locale(),
+						DATASTORE_NAME, schemaVersion, SqliteBlockRowMapper.COMPACT_SCHEMA_VERSION));
+				readPool.close();
+				writerConnection.close();
+				throw new IllegalStateException("The " + DATASTORE_NAME + " datastore is at schema v" + schemaVersion
+						+ " and could not be updated to schema v" + SqliteBlockRowMapper.COMPACT_SCHEMA_VERSION + ".");
+			}
+
+			// block changes are written in the background on the writer connection
+			writeQueue = new SqliteWriteQueue(plugin, writerConnection, configRepository, config);
+
+			// find the chunks holding roads
+			final RoadChunkIndex roadChunks = new RoadChunkIndex();
+			final SqliteBlockRepository repository = new SqliteBlockRepository(plugin, readPool, configRepository, materials, config, roadChunks, writeQueue);
+			blocks = repository;
+			repository.loadRoadChunks();
+
+			// start writing queued block changes, including any queued by the schema update
+			writeQueue.start();
+
+			// start loading chunk records off the main thread
+			chunkPrefetcher = new SqliteChunkPrefetcher(plugin, readPool, configRepository, writeQueue, roadChunks, schemaVersion);
+			chunkPrefetcher.start();
 		}
 		catch (ClassNotFoundException classNotFoundException)
 		{
@@ -114,9 +171,31 @@ public class SqliteConnectionProvider implements ConnectionProvider
 	@Override
 	public void close()
 	{
+		if (chunkPrefetcher != null)
+		{
+			chunkPrefetcher.stop();
+		}
+
+		// write pending block changes before the connections are closed
+		if (writeQueue != null)
+		{
+			writeQueue.close();
+		}
+
+		if (readPool != null && writeQueue != null && Config.DEBUG.getBoolean(plugin.getConfig()))
+		{
+			plugin.getLogger().info(DatastoreMessage.STATEMENT_CACHE_NOTICE.getLocalizedMessage(configRepository.locale(), DATASTORE_NAME,
+					readPool.prepared() + writeQueue.statements().prepared(),
+					readPool.reused() + writeQueue.statements().reused()));
+		}
+
 		try
 		{
-			connection.close();
+			if (readPool != null)
+			{
+				readPool.close();
+			}
+			writerConnection.close();
 			plugin.getLogger().info(DatastoreMessage.DATASTORE_CLOSED_NOTICE.getLocalizedMessage(configRepository.locale(), DATASTORE_NAME));
 		}
 		catch (Exception e)
@@ -136,6 +215,22 @@ public class SqliteConnectionProvider implements ConnectionProvider
 	}
 
 
+	/**
+	 * Put the datastore in WAL journal mode, which is recorded in the database file, and tune the writer
+	 * connection. In WAL mode, synchronous NORMAL syncs only at checkpoints; a commit may be lost on power
+	 * failure, but never corrupts the datastore.
+	 */
+	private static void configureWriter(final Connection connection) throws SQLException
+	{
+		try (final Statement statement = connection.createStatement())
+		{
+			statement.execute(SqliteQueries.getQuery("EnableWriteAheadLog"));
+			statement.execute(SqliteQueries.getQuery("SetSynchronousNormal"));
+			statement.execute(SqliteQueries.getQuery("SetCacheSize"));
+		}
+	}
+
+
 	private void createBlockTable(final Connection connection, final ConfigRepository configRepository)
 	{
 		try (final Statement statement = connection.createStatement())
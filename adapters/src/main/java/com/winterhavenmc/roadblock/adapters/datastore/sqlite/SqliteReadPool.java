@@ -0,0 +1,225 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.roadblock.adapters.datastore.sqlite;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+
+/**
+ * A fixed pool of read-only connections to the SQLite datastore. With the datastore in WAL journal mode,
+ * readers never wait on the writer connection, nor the writer on readers, so the main thread, the chunk
+ * prefetcher and asynchronous callers each read a consistent snapshot while the write queue commits.
+ * <p>
+ * A connection is borrowed with {@link #lease()} in a try-with-resources statement, and returned to the
+ * pool when its lease is closed. A caller that finds every connection in use waits for one to be returned.
+ * Each connection keeps its own {@link SqliteStatementCache}, so statements are prepared once per connection.
+ */
+final class SqliteReadPool implements AutoCloseable
+{
+	private final List<PooledConnection> connections;
+	private final BlockingQueue<PooledConnection> idle;
+
+
+	private SqliteReadPool(final List<PooledConnection> connections)
+	{
+		this.connections = connections;
+		this.idle = new ArrayBlockingQueue<>(connections.size(), false, connections);
+	}
+
+
+	/**
+	 * Open a pool of read-only connections. The datastore must already exist, and should already be
+	 * in WAL journal mode, which is recorded in the database file by the writer connection.
+	 *
+	 * @param dbUrl the jdbc url of the datastore
+	 * @param size  the number of connections in the pool
+	 * @return the pool
+	 * @throws SQLException if a connection could not be opened
+	 */
+	static SqliteReadPool open(final String dbUrl, final int size) throws SQLException
+	{
+		final List<Connection> connections = new ArrayList<>(size);
+
+		try
+		{
+			for (int i = 0; i < size; i++)
+			{
+				final Connection connection = DriverManager.getConnection(dbUrl);
+				connections.add(connection);
+
+				try (Statement statement = connection.createStatement())
+				{
+					statement.execute(SqliteQueries.getQuery("SetQueryOnly"));
+					statement.execute(SqliteQueries.getQuery("SetCacheSize"));
+					statement.execute(SqliteQueries.getQuery("SetMmapSize"));
+				}
+			}
+		}
+		catch (SQLException sqlException)
+		{
+			for (Connection connection : connections)
+			{
+				connection.close();
+			}
+			throw sqlException;
+		}
+
+		return new SqliteReadPool(connections.stream()
+				.map(connection -> new PooledConnection(connection, new SqliteStatementCache(connection)))
+				.toList());
+	}
+
+
+	/**
+	 * Borrow a connection from the pool, waiting for one to be returned if all are in use
+	 *
+	 * @return a lease on the connection, which returns it to the pool when closed
+	 * @throws SQLException if the calling thread is interrupted while waiting
+	 */
+	Lease lease() throws SQLException
+	{
+		try
+		{
+			return new Lease(idle.take());
+		}
+		catch (InterruptedException interruptedException)
+		{
+			Thread.currentThread().interrupt();
+			throw new SQLException("Interrupted while waiting for a read connection", interruptedException);
+		}
+	}
+
+
+	/**
+	 * Get the number of statements prepared by the connections of the pool
+	 *
+	 * @return the number of statements prepared
+	 */
+	long prepared()
+	{
+		return connections.stream().mapToLong(connection -> connection.statements().prepared()).sum();
+	}
+
+
+	/**
+	 * Get the number of times a cached statement was reused by the connections of the pool
+	 *
+	 * @return the number of statement reuses
+	 */
+	long reused()
+	{
+		return connections.stream().mapToLong(connection -> connection.statements().reused()).sum();
+	}
+
+
+	/**
+	 * Close every connection in the pool, with its cached statements. Connections still leased are
+	 * closed as well.
+	 *
+	 * @throws SQLException if a connection could not be closed
+	 */
+	@Override
+	public void close() throws SQLException
+	{
+		SQLException failure = null;
+
+		for (PooledConnection connection : connections)
+		{
+			try
+			{
+				connection.statements().close();
+				connection.connection().close();
+			}
+			catch (SQLException sqlException)
+			{
+				failure = sqlException;
+			}
+		}
+
+		if (failure != null)
+		{
+			throw failure;
+		}
+	}
+
+
+	private record PooledConnection(Connection connection, SqliteStatementCache statements) { }
+
+
+	/**
+	 * A borrowed read connection, returned to the pool when closed
+	 */
+	final class Lease implements AutoCloseable
+	{
+		private PooledConnection connection;
+
+
+		private Lease(final PooledConnection connection)
+		{
+			this.connection = connection;
+		}
+
+
+		Connection connection()
+		{
+			return connection.connection();
+		}
+
+
+		/**
+		 * Get the cached statement of this connection for a named query
+		 *
+		 * @see SqliteStatementCache#get(String)
+		 */
+		PreparedStatement statement(final String queryName) throws SQLException
+		{
+			return connection.statements().get(queryName);
+		}
+
+
+		/**
+		 * Get the cached statement of this connection for an expanded query
+		 *
+		 * @see SqliteStatementCache#get(String, String)
+		 */
+		PreparedStatement statement(final String key, final String sql) throws SQLException
+		{
+			return connection.statements().get(key, sql);
+		}
+
+
+		@Override
+		public void close()
+		{
+			if (connection != null)
+			{
+				idle.add(connection);
+				connection = null;
+			}
+		}
+	}
+
+}
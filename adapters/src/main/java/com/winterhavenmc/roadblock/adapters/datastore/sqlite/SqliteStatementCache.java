@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.roadblock.adapters.datastore.sqlite;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * The prepared statements of a single connection, keyed by query name and kept open for the lifetime of
+ * the connection, so SQLite parses and plans each query once rather than on every call.
+ * <p>
+ * A cached statement must not be closed by its caller, which should close its result sets instead.
+ * Parameters are cleared each time a statement is handed out. Like its connection, a cache must be used
+ * by one thread at a time; its counters may be read from any thread.
+ */
+final class SqliteStatementCache
+{
+	private final Connection connection;
+	private final Map<String, PreparedStatement> statements = new HashMap<>();
+	private final AtomicLong prepared = new AtomicLong();
+	private final AtomicLong reused = new AtomicLong();
+
+
+	SqliteStatementCache(final Connection connection)
+	{
+		this.connection = connection;
+	}
+
+
+	/**
+	 * Get the cached statement for a named query from queries.properties, preparing it on first use
+	 *
+	 * @param queryName the name of the query
+	 * @return the prepared statement, with its parameters cleared
+	 * @throws SQLException if the statement could not be prepared
+	 */
+	PreparedStatement get(final String queryName) throws SQLException
+	{
+		final PreparedStatement statement = statements.get(queryName);
+		return (statement != null)
+				? reuse(statement)
+				: prepare(queryName, SqliteQueries.getQuery(queryName));
+	}
+
+
+	/**
+	 * Get the cached statement for a query whose SQL is expanded from a named query, such as a multi-row
+	 * statement, preparing it on first use. The key must identify the expanded SQL.
+	 *
+	 * @param key the key of the expanded query
+	 * @param sql the expanded SQL, used only if the statement is not yet cached
+	 * @return the prepared statement, with its parameters cleared
+	 * @throws SQLException if the statement could not be prepared
+	 */
+	PreparedStatement get(final String key, final String sql) throws SQLException
+	{
+		final PreparedStatement statement = statements.get(key);
+		return (statement != null)
+				? reuse(statement)
+				: prepare(key, sql);
+	}
+
+
+	long prepared()
+	{
+		return prepared.get();
+	}
+
+
+	long reused()
+	{
+		return reused.get();
+	}
+
+
+	/**
+	 * Close every cached statement. The connection itself is left open.
+	 */
+	void close()
+	{
+		for (PreparedStatement statement : statements.values())
+		{
+			try
+			{
+				statement.close();
+			}
+			catch (SQLException sqlException)
+			{
+				// the connection is about to be closed, which releases the statement regardless
+			}
+		}
+		statements.clear();
+	}
+
+
+	private PreparedStatement reuse(final PreparedStatement statement) throws SQLException
+	{
+		statement.clearParameters();
+		reused.incrementAndGet();
+		return statement;
+	}
+
+
+	private PreparedStatement prepare(final String key, final String sql) throws SQLException
+	{
+		final PreparedStatement statement = connection.prepareStatement(sql);
+		statements.put(key, statement);
+		prepared.incrementAndGet();
+		return statement;
+	}
+
+}
@@ -0,0 +1,411 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.roadblock.adapters.datastore.sqlite;
+
+import com.winterhavenmc.library.messagebuilder.models.configuration.ConfigRepository;
+import com.winterhavenmc.roadblock.adapters.datastore.BlockLocationCache;
+import com.winterhavenmc.roadblock.adapters.datastore.CacheStatus;
+import com.winterhavenmc.roadblock.adapters.datastore.DatastoreMessage;
+import com.winterhavenmc.roadblock.core.util.ConfigProvider;
+import com.winterhavenmc.roadblock.models.blocklocation.BlockLocation;
+
+import org.bukkit.plugin.Plugin;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static com.winterhavenmc.roadblock.adapters.datastore.sqlite.SqliteBlockQueryExecutor.ROWS_PER_STATEMENT;
+import static com.winterhavenmc.roadblock.adapters.datastore.sqlite.SqliteConnectionProvider.DATASTORE_NAME;
+
+
+/**
+ * A write-behind queue for block records. Changes are applied to the block cache immediately with a
+ * pending status, and a background writer commits all queued changes at a fixed interval, on a connection
+ * of its own, in transactions of no more than {@link #MAX_COMMIT_ROWS} changes each. Rows are sent to SQLite
+ * as JDBC batches of the configured {@code datastore-batch-size}, using multi-row statements where a batch
+ * is large enough.
+ * <p>
+ * Changes are coalesced per block: an insert followed by a delete of the same block, or a delete followed
+ * by an insert, cancel out and never reach the datastore. Once a transaction commits, the cache statuses of
+ * its blocks are completed; a failed transaction is queued again for the next interval.
+ * <p>
+ * Reading a chunk from the datastore and installing it in the cache must hold the {@link #chunkLoadLock()},
+ * which excludes a commit and its completion, so a chunk read before a commit is always installed before
+ * the commit is completed in the cache. The lock is released between transactions, so a chunk loaded on
+ * the server thread waits for one bounded transaction at most, however many changes are queued.
+ */
+public final class SqliteWriteQueue
+{
+	static final long WRITE_INTERVAL_MILLIS = 50;
+	static final long FLUSH_TIMEOUT_SECONDS = 10;
+	static final int MAX_COMMIT_ROWS = 2048;
+
+	private final Plugin plugin;
+	private final Connection connection;
+	private final SqliteStatementCache statements;
+	private final ConfigRepository configRepository;
+	private final ConfigProvider config;
+	private final SqliteBlockQueryExecutor blockQueryExecutor;
+	private final BlockLocationCache blockCache;
+	private final ReadWriteLock commitLock = new ReentrantReadWriteLock();
+	private final ScheduledExecutorService writer;
+
+	// queued changes, guarded by this
+	private Map<BlockLocation.Valid, CacheStatus> queued = new LinkedHashMap<>();
+	private int inFlightDelta;
+
+
+	SqliteWriteQueue(final Plugin plugin,
+	                 final Connection connection,
+	                 final ConfigRepository configRepository,
+	                 final ConfigProvider config)
+	{
+		this.plugin = plugin;
+		this.connection = connection;
+		this.statements = new SqliteStatementCache(connection);
+		this.configRepository = configRepository;
+		this.config = config;
+		this.blockQueryExecutor = new SqliteBlockQueryExecutor();
+		this.blockCache = BlockLocationCache.getInstance();
+		this.writer = Executors.newSingleThreadScheduledExecutor(runnable ->
+		{
+			final Thread thread = new Thread(runnable, plugin.getName() + " datastore writer");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+
+	/**
+	 * Start writing queued changes. Changes queued before this call, such as by a schema migration,
+	 * are written on the first interval.
+	 */
+	void start()
+	{
+		writer.scheduleWithFixedDelay(this::write, WRITE_INTERVAL_MILLIS, WRITE_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+	}
+
+
+	/**
+	 * Write all queued changes and stop the writer, waiting at most {@link #FLUSH_TIMEOUT_SECONDS}.
+	 * The prepared statements are closed only once the writer has stopped, since a writer still running
+	 * may be using them.
+	 */
+	void close()
+	{
+		writer.execute(this::write);
+		writer.shutdown();
+
+		boolean terminated = false;
+		try
+		{
+			terminated = writer.awaitTermination(FLUSH_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+			if (!terminated)
+			{
+				writer.shutdownNow();
+			}
+		}
+		catch (InterruptedException interruptedException)
+		{
+			writer.shutdownNow();
+			Thread.currentThread().interrupt();
+		}
+
+		if (terminated)
+		{
+			statements.close();
+		}
+		else
+		{
+			plugin.getLogger().warning(DatastoreMessage.WRITE_QUEUE_STOP_ERROR.getLocalizedMessage(configRepository.locale(), DATASTORE_NAME, FLUSH_TIMEOUT_SECONDS));
+		}
+
+		final int remaining = size();
+		if (remaining > 0)
+		{
+			plugin.getLogger().warning(DatastoreMessage.WRITE_QUEUE_FLUSH_ERROR.getLocalizedMessage(configRepository.locale(), DATASTORE_NAME, remaining));
+		}
+	}
+
+
+	/**
+	 * Get the statement cache of the writer connection
+	 *
+	 * @return the statement cache
+	 */
+	SqliteStatementCache statements()
+	{
+		return statements;
+	}
+
+
+	/**
+	 * Get the lock that must be held while a chunk is read from the datastore and installed in the cache
+	 *
+	 * @return the chunk load lock
+	 */
+	Lock chunkLoadLock()
+	{
+		return commitLock.readLock();
+	}
+
+
+	/**
+	 * Queue the insert of a block record. The block must not currently be protected.
+	 *
+	 * @param location the block location
+	 */
+	synchronized void insert(final BlockLocation.Valid location)
+	{
+		if (queued.get(location) == CacheStatus.PENDING_DELETE)
+		{
+			// the record was never deleted, so it is still in the datastore
+			queued.remove(location);
+			blockCache.put(location, CacheStatus.RESIDENT);
+		}
+		else
+		{
+			queued.put(location, CacheStatus.PENDING_INSERT);
+			blockCache.put(location, CacheStatus.PENDING_INSERT);
+		}
+	}
+
+
+	/**
+	 * Queue the delete of a block record. The block must currently be protected.
+	 *
+	 * @param location the block location
+	 */
+	synchronized void delete(final BlockLocation.Valid location)
+	{
+		if (queued.get(location) == CacheStatus.PENDING_INSERT)
+		{
+			// the record was never inserted, so there is nothing to delete
+			queued.remove(location);
+			blockCache.remove(location);
+		}
+		else
+		{
+			queued.put(location, CacheStatus.PENDING_DELETE);
+			blockCache.put(location, CacheStatus.PENDING_DELETE);
+		}
+	}
+
+
+	/**
+	 * Get the number of queued changes that have not yet been committed
+	 *
+	 * @return the number of uncommitted changes
+	 */
+	synchronized int size()
+	{
+		return queued.size();
+	}
+
+
+	/**
+	 * Get the net number of records the uncommitted changes will add to the datastore
+	 *
+	 * @return the number of queued inserts less the number of queued deletes
+	 */
+	synchronized int pendingDelta()
+	{
+		return inFlightDelta + delta(queued);
+	}
+
+
+	/**
+	 * Get the net number of records a set of changes will add to the datastore
+	 */
+	private static int delta(final Map<BlockLocation.Valid, CacheStatus> changes)
+	{
+		int delta = 0;
+		for (CacheStatus status : changes.values())
+		{
+			delta += (status == CacheStatus.PENDING_INSERT) ? 1 : -1;
+		}
+		return delta;
+	}
+
+
+	/**
+	 * Commit all queued changes, a bounded number in each transaction, and complete each transaction in the
+	 * cache as it commits. If a transaction fails, its changes and every change not yet written are queued again.
+	 */
+	void write()
+	{
+		final Map<BlockLocation.Valid, CacheStatus> batch;
+		synchronized (this)
+		{
+			if (queued.isEmpty())
+			{
+				return;
+			}
+			batch = queued;
+			queued = new LinkedHashMap<>();
+			inFlightDelta += delta(batch);
+		}
+
+		// the batch size is read for each write, so it follows a reload of the configuration
+		final int batchSize = config.get().datastoreBatchSize();
+		final Iterator<Map.Entry<BlockLocation.Valid, CacheStatus>> iterator = batch.entrySet().iterator();
+
+		while (iterator.hasNext())
+		{
+			final Map<BlockLocation.Valid, CacheStatus> slice = new LinkedHashMap<>();
+			while (iterator.hasNext() && slice.size() < MAX_COMMIT_ROWS)
+			{
+				final Map.Entry<BlockLocation.Valid, CacheStatus> entry = iterator.next();
+				slice.put(entry.getKey(), entry.getValue());
+			}
+
+			if (!write(slice, batchSize))
+			{
+				// the failed changes and the rest of the batch leave the in-flight count as they are queued again,
+				// so pendingDelta never counts them twice, or misses them
+				iterator.forEachRemaining(entry -> slice.put(entry.getKey(), entry.getValue()));
+				synchronized (this)
+				{
+					requeue(slice);
+					inFlightDelta -= delta(slice);
+				}
+				return;
+			}
+		}
+	}
+
+
+	/**
+	 * Commit one slice of a batch in a single transaction, and complete it in the cache, holding the commit
+	 * lock only for that transaction
+	 *
+	 * @return {@code true} if the slice was committed, {@code false} if the transaction failed
+	 */
+	private boolean write(final Map<BlockLocation.Valid, CacheStatus> slice, final int batchSize)
+	{
+		commitLock.writeLock().lock();
+		try
+		{
+			boolean committed = false;
+			try
+			{
+				commit(slice, batchSize);
+				committed = true;
+			}
+			catch (SQLException sqlException)
+			{
+				plugin.getLogger().warning(DatastoreMessage.WRITE_QUEUE_ERROR.getLocalizedMessage(configRepository.locale(), DATASTORE_NAME));
+				plugin.getLogger().warning(sqlException.getLocalizedMessage());
+			}
+
+			if (committed)
+			{
+				// the slice leaves the in-flight count as it is completed
+				synchronized (this)
+				{
+					slice.forEach(blockCache::complete);
+					inFlightDelta -= delta(slice);
+				}
+			}
+			return committed;
+		}
+		finally
+		{
+			commitLock.writeLock().unlock();
+		}
+	}
+
+
+	private void commit(final Map<BlockLocation.Valid, CacheStatus> batch, final int batchSize) throws SQLException
+	{
+		final List<BlockLocation.Valid> inserts = new ArrayList<>();
+		final List<BlockLocation.Valid> deletes = new ArrayList<>();
+		batch.forEach((location, status) -> ((status == CacheStatus.PENDING_INSERT) ? inserts : deletes).add(location));
+
+		try
+		{
+			final PreparedStatement worldStatement = statements.get("UpsertWorld");
+			final PreparedStatement insertStatement = statements.get("InsertOrIgnoreBlock");
+			final PreparedStatement insertRowsStatement = statements.get("InsertOrIgnoreBlocks:" + ROWS_PER_STATEMENT,
+					SqliteBlockQueryExecutor.expandRowList(SqliteQueries.getQuery("InsertOrIgnoreBlocks"),
+							ROWS_PER_STATEMENT, SqliteBlockQueryExecutor.INSERT_COLUMNS));
+			final PreparedStatement deleteStatement = statements.get("DeleteBlock");
+			final PreparedStatement deleteRowsStatement = statements.get("DeleteBlocks:" + ROWS_PER_STATEMENT,
+					SqliteBlockQueryExecutor.expandRowList(SqliteQueries.getQuery("DeleteBlocks"),
+							ROWS_PER_STATEMENT, SqliteBlockQueryExecutor.DELETE_COLUMNS));
+
+			connection.setAutoCommit(false);
+			blockQueryExecutor.upsertWorlds(inserts, worldStatement);
+			blockQueryExecutor.insertRecords(inserts, batchSize, insertRowsStatement, insertStatement);
+			blockQueryExecutor.deleteRecords(deletes, batchSize, deleteRowsStatement, deleteStatement);
+			connection.commit();
+		}
+		catch (SQLException sqlException)
+		{
+			connection.rollback();
+			throw sqlException;
+		}
+		finally
+		{
+			connection.setAutoCommit(true);
+		}
+	}
+
+
+	/**
+	 * Put the changes of a failed batch back in the queue, behind any newer change for the same block
+	 */
+	private synchronized void requeue(final Map<BlockLocation.Valid, CacheStatus> batch)
+	{
+		final Map<BlockLocation.Valid, CacheStatus> newer = queued;
+		queued = new LinkedHashMap<>(batch);
+		newer.forEach((location, status) ->
+		{
+			// a newer change cancels a failed change of the opposite kind
+			if (queued.containsKey(location) && queued.get(location) != status)
+			{
+				queued.remove(location);
+				if (status == CacheStatus.PENDING_DELETE)
+				{
+					blockCache.remove(location);
+				}
+				else
+				{
+					blockCache.put(location, CacheStatus.RESIDENT);
+				}
+			}
+			else
+			{
+				queued.put(location, status);
+			}
+		});
+	}
+
+}
@@ -4,7 +4,6 @@ import com.winterhavenmc.library.messagebuilder.models.configuration.ConfigRepos
 
 import com.winterhavenmc.roadblock.adapters.datastore.DatastoreMessage;
 import com.winterhavenmc.roadblock.adapters.datastore.sqlite.SqliteQueries;
-import com.winterhavenmc.roadblock.core.ports.datastore.BlockRepository;
 
 import org.bukkit.plugin.Plugin;
 
@@ -14,21 +13,29 @@ import java.util.logging.Logger;
 import static com.winterhavenmc.roadblock.adapters.datastore.sqlite.SqliteConnectionProvider.DATASTORE_NAME;
 
 
-public sealed interface SqliteSchemaUpdater permits SqliteSchemaUpdaterFromV0, SqliteSchemaUpdaterNoOp
+public sealed interface SqliteSchemaUpdater permits SqliteSchemaUpdaterFromV0, SqliteSchemaUpdaterFromV1, SqliteSchemaUpdaterFromV2, SqliteSchemaUpdaterNoOp
 {
-	void update();
+	/**
+	 * Bring the datastore to the current schema, one schema version at a time
+	 *
+	 * @return {@code true} if the datastore is at the current schema, {@code false} if an update failed
+	 */
+	boolean update();
 
 
 	static SqliteSchemaUpdater create(final Plugin plugin,
                                       final Connection connection,
-									  final ConfigRepository configRepository,
-                                      final BlockRepository blockRepository)
+									  final ConfigRepository configRepository)
 	{
 		int version = getSchemaVersion(plugin, connection, configRepository);
 
-		return (version == 0)
-				? new SqliteSchemaUpdaterFromV0(plugin, connection, configRepository, blockRepository)
-				: new SqliteSchemaUpdaterNoOp(plugin, configRepository);
+		return switch (version)
+		{
+			case 0 -> new SqliteSchemaUpdaterFromV0(plugin, connection, configRepository);
+			case 1 -> new SqliteSchemaUpdaterFromV1(plugin, connection, configRepository);
+			case 2 -> new SqliteSchemaUpdaterFromV2(plugin, connection, configRepository);
+			default -> new SqliteSchemaUpdaterNoOp(plugin, configRepository);
+		};
 	}
 
 
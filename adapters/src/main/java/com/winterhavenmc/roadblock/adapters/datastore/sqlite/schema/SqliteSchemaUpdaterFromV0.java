@@ -3,76 +3,122 @@ package com.winterhavenmc.roadblock.adapters.datastore.sqlite.schema;
 import com.winterhavenmc.library.messagebuilder.models.configuration.ConfigRepository;
 import com.winterhavenmc.roadblock.adapters.datastore.DatastoreMessage;
 import com.winterhavenmc.roadblock.adapters.datastore.sqlite.SqliteQueries;
-import com.winterhavenmc.roadblock.models.blocklocation.BlockLocation;
-import com.winterhavenmc.roadblock.core.ports.datastore.BlockRepository;
 import org.bukkit.plugin.Plugin;
 
 import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
-import java.util.Set;
 
 import static com.winterhavenmc.roadblock.adapters.datastore.sqlite.SqliteConnectionProvider.DATASTORE_NAME;
 
 
+/**
+ * Schema v1 rebuilds the block table with a unique key on world name, world uid and block coordinates.
+ * The block rows are copied in SQL, so every row is kept whether or not its world is loaded; rows that
+ * name their world only are resolved by a later schema update.
+ */
 public final class SqliteSchemaUpdaterFromV0 implements SqliteSchemaUpdater
 {
 	private final Plugin plugin;
 	private final Connection connection;
 	private final ConfigRepository configRepository;
-	private final BlockRepository blockRepository;
 
 
 	public SqliteSchemaUpdaterFromV0(final Plugin plugin,
 	                                 final Connection connection,
-	                                 final ConfigRepository configRepository,
-	                                 final BlockRepository blockRepository)
+	                                 final ConfigRepository configRepository)
 	{
 		this.plugin = plugin;
 		this.connection = connection;
 		this.configRepository = configRepository;
-		this.blockRepository = blockRepository;
 	}
 
 
 	@Override
-	public void update()
+	public boolean update()
 	{
 		int schemaVersion = SqliteSchemaUpdater.getSchemaVersion(plugin, connection, configRepository);
 
-		if (schemaVersion == 0 && tableExists(connection, "Graveyards"))
+		if (schemaVersion == 0 && tableExists(connection, "blocks")
+				&& !updateBlockTableSchema(connection, schemaVersion))
 		{
-			updateBlockTableSchema(connection, schemaVersion);
+			// leave the datastore at v0, so its records are migrated on the next start
+			return false;
 		}
+
+		// continue with the next schema version
+		return new SqliteSchemaUpdaterFromV1(plugin, connection, configRepository).update();
 	}
 
 
-	private void updateBlockTableSchema(final Connection connection, final int schemaVersion)
+	/**
+	 * Copy the block records into a table of the current schema, then replace the old table with the copy.
+	 * The migration runs in a single transaction, and is committed only if every distinct block record of
+	 * the old table was copied, so an error or a shortfall leaves the old table in place.
+	 *
+	 * @return {@code true} if the records were migrated, {@code false} if the migration failed
+	 */
+	private boolean updateBlockTableSchema(final Connection connection, final int schemaVersion)
 	{
-		Set<BlockLocation.Valid> existingBlockRecords = blockRepository.getAll();
+		final int copiedCount;
 
 		try (final Statement statement = connection.createStatement())
 		{
-			ResultSet resultSet = statement.executeQuery(SqliteQueries.getQuery("SelectBlockTable"));
-			if (resultSet.next())
+			connection.setAutoCommit(false);
+			try
 			{
+				statement.executeUpdate(SqliteQueries.getQuery("CreateMigratedBlockTable"));
+
+				final int sourceCount = count(statement, "CountBlockKeys");
+				statement.executeUpdate(SqliteQueries.getQuery("CopyMigratedBlocks"));
+				copiedCount = count(statement, "CountMigratedBlocks");
+
+				// rows without a world uid never conflict, so duplicates of them may add to the copied count
+				if (copiedCount < sourceCount)
+				{
+					connection.rollback();
+					plugin.getLogger().warning(DatastoreMessage.SCHEMA_BLOCK_RECORDS_MISMATCH_ERROR.getLocalizedMessage(configRepository.locale(),
+							DATASTORE_NAME, copiedCount, sourceCount, schemaVersion + 1));
+					return false;
+				}
+
 				statement.executeUpdate(SqliteQueries.getQuery("DropBlockTable"));
 				statement.executeUpdate(SqliteQueries.getQuery("DropChunkIndex"));
-				statement.executeUpdate(SqliteQueries.getQuery("CreateBlockTable"));
+				statement.executeUpdate(SqliteQueries.getQuery("RenameMigratedBlockTable"));
 				statement.executeUpdate(SqliteQueries.getQuery("CreateChunkIndex"));
 
-				setSchemaVersion(connection, plugin.getLogger(), configRepository, schemaVersion);
+				setSchemaVersion(connection, plugin.getLogger(), configRepository, schemaVersion + 1);
+				connection.commit();
+			}
+			catch (SQLException sqlException)
+			{
+				connection.rollback();
+				throw sqlException;
+			}
+			finally
+			{
+				connection.setAutoCommit(true);
 			}
 		}
 		catch (SQLException sqlException)
 		{
 			plugin.getLogger().warning(DatastoreMessage.SCHEMA_UPDATE_ERROR.getLocalizedMessage(configRepository.locale(), DATASTORE_NAME));
 			plugin.getLogger().warning(sqlException.getLocalizedMessage());
+			return false;
 		}
 
-		int count = this.blockRepository.save(existingBlockRecords);
-		plugin.getLogger().info(DatastoreMessage.SCHEMA_BLOCK_RECORDS_MIGRATED_NOTICE.getLocalizedMessage(configRepository.locale(), count, schemaVersion));
+		plugin.getLogger().info(DatastoreMessage.SCHEMA_BLOCK_RECORDS_MIGRATED_NOTICE.getLocalizedMessage(configRepository.locale(), copiedCount, schemaVersion + 1));
+		return true;
+	}
+
+
+	private static int count(final Statement statement, final String queryName) throws SQLException
+	{
+		try (ResultSet resultSet = statement.executeQuery(SqliteQueries.getQuery(queryName)))
+		{
+			return resultSet.next() ? resultSet.getInt("rowcount") : 0;
+		}
 	}
 
 }
@@ -0,0 +1,60 @@
+package com.winterhavenmc.roadblock.adapters.datastore.sqlite.schema;
+
+import com.winterhavenmc.library.messagebuilder.models.configuration.ConfigRepository;
+import com.winterhavenmc.roadblock.adapters.datastore.DatastoreMessage;
+import com.winterhavenmc.roadblock.adapters.datastore.sqlite.SqliteQueries;
+import org.bukkit.plugin.Plugin;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static com.winterhavenmc.roadblock.adapters.datastore.sqlite.SqliteConnectionProvider.DATASTORE_NAME;
+
+
+/**
+ * Schema v2 replaces the chunk coordinate index, which does not include the world, with a covering index
+ * on world, chunk and block coordinates. Chunk and proximity queries are then answered by index range
+ * scans alone.
+ */
+public final class SqliteSchemaUpdaterFromV1 implements SqliteSchemaUpdater
+{
+	static final int SCHEMA_VERSION = 2;
+
+	private final Plugin plugin;
+	private final Connection connection;
+	private final ConfigRepository configRepository;
+
+
+	public SqliteSchemaUpdaterFromV1(final Plugin plugin,
+	                                 final Connection connection,
+	                                 final ConfigRepository configRepository)
+	{
+		this.plugin = plugin;
+		this.connection = connection;
+		this.configRepository = configRepository;
+	}
+
+
+	@Override
+	public boolean update()
+	{
+		try (final Statement statement = connection.createStatement())
+		{
+			statement.executeUpdate(SqliteQueries.getQuery("CreateSpatialIndex"));
+			statement.executeUpdate(SqliteQueries.getQuery("DropChunkCoordsIndex"));
+
+			setSchemaVersion(connection, plugin.getLogger(), configRepository, SCHEMA_VERSION);
+			plugin.getLogger().info(DatastoreMessage.SCHEMA_INDEX_UPDATED_NOTICE.getLocalizedMessage(configRepository.locale(), DATASTORE_NAME, SCHEMA_VERSION));
+		}
+		catch (SQLException sqlException)
+		{
+			plugin.getLogger().warning(DatastoreMessage.SCHEMA_UPDATE_ERROR.getLocalizedMessage(configRepository.locale(), DATASTORE_NAME));
+			plugin.getLogger().warning(sqlException.getLocalizedMessage());
+		}
+
+		// continue with the next schema version
+		return new SqliteSchemaUpdaterFromV2(plugin, connection, configRepository).update();
+	}
+
+}
@@ -0,0 +1,191 @@
+package com.winterhavenmc.roadblock.adapters.datastore.sqlite.schema;
+
+import com.winterhavenmc.library.messagebuilder.models.configuration.ConfigRepository;
+import com.winterhavenmc.roadblock.adapters.datastore.DatastoreMessage;
+import com.winterhavenmc.roadblock.adapters.datastore.sqlite.SqliteQueries;
+import org.bukkit.World;
+import org.bukkit.plugin.Plugin;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static com.winterhavenmc.roadblock.adapters.datastore.sqlite.SqliteConnectionProvider.DATASTORE_NAME;
+
+
+/**
+ * Schema v3 moves the world name and uid out of the block rows into a table of worlds, and makes the block
+ * table a WITHOUT ROWID table keyed on world id, chunk and block coordinates. Each block is then a single
+ * entry in a single B-tree, and the blocks of a chunk are read with one clustered range scan. The datastore
+ * is vacuumed afterwards, so the space freed by the old table is returned to the file system.
+ * <p>
+ * Rows written before world uids were recorded name their world only; their world is resolved by name
+ * before the copy. The copy is committed only if every distinct block of the old table was copied.
+ */
+public final class SqliteSchemaUpdaterFromV2 implements SqliteSchemaUpdater
+{
+	static final int SCHEMA_VERSION = 3;
+
+	private final Plugin plugin;
+	private final Connection connection;
+	private final ConfigRepository configRepository;
+
+
+	public SqliteSchemaUpdaterFromV2(final Plugin plugin,
+	                                 final Connection connection,
+	                                 final ConfigRepository configRepository)
+	{
+		this.plugin = plugin;
+		this.connection = connection;
+		this.configRepository = configRepository;
+	}
+
+
+	@Override
+	public boolean update()
+	{
+		try (final Statement statement = connection.createStatement())
+		{
+			connection.setAutoCommit(false);
+			try
+			{
+				statement.executeUpdate(SqliteQueries.getQuery("CreateWorldTable"));
+				statement.executeUpdate(SqliteQueries.getQuery("CreateCompactBlockTable"));
+				statement.executeUpdate(SqliteQueries.getQuery("CopyWorlds"));
+				resolveLegacyWorlds(connection);
+
+				final int sourceCount = count(statement, "CountLegacyBlockKeys");
+				statement.executeUpdate(SqliteQueries.getQuery("CopyCompactBlocks"));
+				final int copiedCount = count(statement, "CountCompactBlocks");
+
+				// keep the old table if any block could not be copied, such as one whose world is unknown
+				if (copiedCount != sourceCount)
+				{
+					connection.rollback();
+					plugin.getLogger().warning(DatastoreMessage.SCHEMA_BLOCK_RECORDS_MISMATCH_ERROR.getLocalizedMessage(configRepository.locale(),
+							DATASTORE_NAME, copiedCount, sourceCount, SCHEMA_VERSION));
+					return false;
+				}
+
+				// dropping the old table drops its indexes with it
+				statement.executeUpdate(SqliteQueries.getQuery("DropBlockTable"));
+				statement.executeUpdate(SqliteQueries.getQuery("RenameCompactBlockTable"));
+
+				setSchemaVersion(connection, plugin.getLogger(), configRepository, SCHEMA_VERSION);
+				connection.commit();
+			}
+			catch (SQLException sqlException)
+			{
+				connection.rollback();
+				throw sqlException;
+			}
+			finally
+			{
+				connection.setAutoCommit(true);
+			}
+		}
+		catch (SQLException sqlException)
+		{
+			plugin.getLogger().warning(DatastoreMessage.SCHEMA_UPDATE_ERROR.getLocalizedMessage(configRepository.locale(), DATASTORE_NAME));
+			plugin.getLogger().warning(sqlException.getLocalizedMessage());
+			return false;
+		}
+
+		// vacuum cannot run inside a transaction; the update is committed whether or not the vacuum succeeds
+		try (final Statement statement = connection.createStatement())
+		{
+			statement.executeUpdate(SqliteQueries.getQuery("Vacuum"));
+		}
+		catch (SQLException sqlException)
+		{
+			plugin.getLogger().warning(sqlException.getLocalizedMessage());
+		}
+
+		plugin.getLogger().info(DatastoreMessage.SCHEMA_TABLES_COMPACTED_NOTICE.getLocalizedMessage(configRepository.locale(), DATASTORE_NAME, SCHEMA_VERSION));
+		return true;
+	}
+
+
+	/**
+	 * Record the world uid of each old row that names its world only. The world is looked up by name on the
+	 * server, as schema v0 rows are read, or else taken from the table of worlds if a single world there has
+	 * the name. Rows of a world that cannot be resolved are left without a uid, and are not copied.
+	 */
+	private void resolveLegacyWorlds(final Connection connection) throws SQLException
+	{
+		final List<String> worldNames = new ArrayList<>();
+		try (PreparedStatement preparedStatement = connection.prepareStatement(SqliteQueries.getQuery("SelectLegacyWorldNames"));
+		     ResultSet resultSet = preparedStatement.executeQuery())
+		{
+			while (resultSet.next())
+			{
+				worldNames.add(resultSet.getString("worldname"));
+			}
+		}
+
+		try (PreparedStatement upsertWorld = connection.prepareStatement(SqliteQueries.getQuery("UpsertWorld"));
+		     PreparedStatement updateBlocks = connection.prepareStatement(SqliteQueries.getQuery("UpdateLegacyBlockWorld")))
+		{
+			for (String worldName : worldNames)
+			{
+				final UUID worldUid = resolveWorldUid(connection, worldName);
+				if (worldUid == null)
+				{
+					continue;
+				}
+
+				upsertWorld.setLong(  1, worldUid.getMostSignificantBits());
+				upsertWorld.setLong(  2, worldUid.getLeastSignificantBits());
+				upsertWorld.setString(3, worldName);
+				upsertWorld.executeUpdate();
+
+				updateBlocks.setLong(  1, worldUid.getMostSignificantBits());
+				updateBlocks.setLong(  2, worldUid.getLeastSignificantBits());
+				updateBlocks.setString(3, worldName);
+				updateBlocks.executeUpdate();
+			}
+		}
+	}
+
+
+	private UUID resolveWorldUid(final Connection connection, final String worldName) throws SQLException
+	{
+		final World world = (worldName != null) ? plugin.getServer().getWorld(worldName) : null;
+		if (world != null)
+		{
+			return world.getUID();
+		}
+
+		try (PreparedStatement preparedStatement = connection.prepareStatement(SqliteQueries.getQuery("SelectWorldsByName")))
+		{
+			preparedStatement.setString(1, worldName);
+			try (ResultSet resultSet = preparedStatement.executeQuery())
+			{
+				if (!resultSet.next())
+				{
+					return null;
+				}
+
+				final UUID worldUid = new UUID(resultSet.getLong("uid_msb"), resultSet.getLong("uid_lsb"));
+
+				// a name shared by several worlds does not identify one of them
+				return resultSet.next() ? null : worldUid;
+			}
+		}
+	}
+
+
+	private static int count(final Statement statement, final String queryName) throws SQLException
+	{
+		try (ResultSet resultSet = statement.executeQuery(SqliteQueries.getQuery(queryName)))
+		{
+			return resultSet.next() ? resultSet.getInt("rowcount") : 0;
+		}
+	}
+
+}
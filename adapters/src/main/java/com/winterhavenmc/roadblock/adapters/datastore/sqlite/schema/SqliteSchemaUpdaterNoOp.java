@@ -23,9 +23,10 @@ public final class SqliteSchemaUpdaterNoOp implements SqliteSchemaUpdater
 
 
 	@Override
-	public void update()
+	public boolean update()
 	{
 		plugin.getLogger().info(DatastoreMessage.SCHEMA_UP_TO_DATE_NOTICE.getLocalizedMessage(configRepository.locale(), DATASTORE_NAME));
+		return true;
 	}
 
 }
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.winterhavenmc.roadblock.adapters.features.bukkit;
+
+import com.winterhavenmc.roadblock.adapters.tasks.bukkit.BukkitSpeedBoostTask;
+import com.winterhavenmc.roadblock.core.ports.datastore.BlockRepository;
+import com.winterhavenmc.roadblock.core.ports.features.FeatureManager;
+import com.winterhavenmc.roadblock.core.ports.players.PlayerRoadState;
+import com.winterhavenmc.roadblock.core.util.ConfigProvider;
+import com.winterhavenmc.roadblock.core.util.ConfigSnapshot;
+
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+
+/**
+ * A class that registers the listeners and starts the tasks of the optional features enabled in the
+ * configuration: mob targeting limits, snow plowing and speed boosts. Features are re-evaluated when
+ * the configuration is reloaded. Must be used on the server thread.
+ */
+public final class BukkitFeatureManager implements FeatureManager
+{
+	private final Plugin plugin;
+	private final ConfigProvider config;
+	private final PlayerRoadState roadState;
+	private final List<ListenerFeature> listenerFeatures;
+	private BukkitTask speedBoostTask;
+
+
+	/**
+	 * Class constructor. Features enabled in the current configuration are started at once.
+	 *
+	 * @param plugin    the plugin instance
+	 * @param config    the provider of the configuration snapshot
+	 * @param blocks    the repository of protected blocks
+	 * @param roadState the on-road state of players
+	 */
+	public BukkitFeatureManager(final Plugin plugin,
+	                            final ConfigProvider config,
+	                            final BlockRepository blocks,
+	                            final PlayerRoadState roadState)
+	{
+		this.plugin = plugin;
+		this.config = config;
+		this.roadState = roadState;
+		this.listenerFeatures = List.of(
+				new ListenerFeature(ConfigSnapshot::isTargetingLimited, new BukkitMobTargetListener(config, roadState)),
+				new ListenerFeature(ConfigSnapshot::snowPlow, new BukkitSnowPlowListener(blocks)));
+
+		refresh();
+	}
+
+
+	@Override
+	public void refresh()
+	{
+		final ConfigSnapshot settings = config.get();
+
+		for (ListenerFeature feature : listenerFeatures)
+		{
+			final boolean enabled = feature.enabled.test(settings);
+			if (enabled && !feature.registered)
+			{
+				plugin.getServer().getPluginManager().registerEvents(feature.listener, plugin);
+				feature.registered = true;
+			}
+			else if (!enabled && feature.registered)
+			{
+				HandlerList.unregisterAll(feature.listener);
+				feature.registered = false;
+			}
+		}
+
+		if (settings.speedBoost() && speedBoostTask == null)
+		{
+			speedBoostTask = new BukkitSpeedBoostTask(plugin, roadState)
+					.runTaskTimer(plugin, BukkitSpeedBoostTask.PERIOD_TICKS, BukkitSpeedBoostTask.PERIOD_TICKS);
+		}
+		else if (!settings.speedBoost() && speedBoostTask != null)
+		{
+			speedBoostTask.cancel();
+			speedBoostTask = null;
+		}
+	}
+
+
+	/**
+	 * A feature provided by a listener, and whether the listener is registered
+	 */
+	private static final class ListenerFeature
+	{
+		private final Predicate<ConfigSnapshot> enabled;
+		private final Listener listener;
+		private boolean registered;
+
+		private ListenerFeature(final Predicate<ConfigSnapshot> enabled, final Listener listener)
+		{
+			this.enabled = enabled;
+			this.listener = listener;
+		}
+	}
+
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.winterhavenmc.roadblock.adapters.features.bukkit;
+
+import com.winterhavenmc.roadblock.core.ports.players.PlayerRoadState;
+import com.winterhavenmc.roadblock.core.util.ConfigProvider;
+import com.winterhavenmc.roadblock.core.util.ConfigSnapshot;
+
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityTargetEvent;
+import org.bukkit.event.entity.EntityTargetLivingEntityEvent;
+
+import java.util.Set;
+
+
+/**
+ * A listener that keeps mobs from targeting players on roads, registered only while a positive
+ * target distance is configured
+ */
+final class BukkitMobTargetListener implements Listener
+{
+	private final ConfigProvider config;
+	private final PlayerRoadState roadState;
+
+	private final Set<EntityTargetEvent.TargetReason> cancelReasons = Set.of(
+			EntityTargetEvent.TargetReason.CLOSEST_PLAYER,
+			EntityTargetEvent.TargetReason.RANDOM_TARGET,
+			EntityTargetEvent.TargetReason.UNKNOWN);
+
+
+	/**
+	 * Class constructor
+	 *
+	 * @param config    the provider of the configuration snapshot
+	 * @param roadState the on-road state of players
+	 */
+	BukkitMobTargetListener(final ConfigProvider config, final PlayerRoadState roadState)
+	{
+		this.config = config;
+		this.roadState = roadState;
+	}
+
+
+	/**
+	 * Event handler for EntityTargetLivingEntityEvent;
+	 * cancels players being targeted by mobs if they are within configured height above a road block
+	 * and mob is further away than configured target-distance
+	 *
+	 * @param event the event handled by this method
+	 */
+	@EventHandler(ignoreCancelled = true)
+	public void onEntityTargetLivingEntity(final EntityTargetLivingEntityEvent event)
+	{
+		// check that target is a player
+		if (event.getTarget() != null && event.getTarget() instanceof final Player player)
+		{
+			// check that player is above a road block
+			if (roadState.isOnRoad(player))
+			{
+				final ConfigSnapshot settings = config.get();
+
+				// if entity to target distance is less than configured target distance,
+				// do nothing and return, allowing player to be targeted
+				if (event.getEntity().getLocation()
+						.distanceSquared(player.getLocation()) < settings.targetDistanceSquared())
+				{
+					return;
+				}
+
+				// get target reason
+				final EntityTargetEvent.TargetReason reason = event.getReason();
+
+				// if reason is in cancelReasons list, cancel event
+				if (cancelReasons.contains(reason))
+				{
+					event.setCancelled(true);
+				}
+			}
+		}
+	}
+
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.winterhavenmc.roadblock.adapters.features.bukkit;
+
+import com.winterhavenmc.roadblock.core.ports.datastore.BlockRepository;
+
+import org.bukkit.block.Block;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockFormEvent;
+
+
+/**
+ * A listener that keeps snow from forming on roads, registered only while snow-plow is configured true
+ */
+final class BukkitSnowPlowListener implements Listener
+{
+	private final BlockRepository blocks;
+
+
+	/**
+	 * Class constructor
+	 *
+	 * @param blocks the repository of protected blocks
+	 */
+	BukkitSnowPlowListener(final BlockRepository blocks)
+	{
+		this.blocks = blocks;
+	}
+
+
+	/**
+	 * Event handler for BlockFormEvent;
+	 * prevents snow from forming on road blocks
+	 *
+	 * @param event the event handled by this method
+	 */
+	@EventHandler(ignoreCancelled = true)
+	public void onBlockForm(final BlockFormEvent event)
+	{
+		// get event block
+		Block block = event.getBlock();
+
+		// if formed block is above road block, cancel event
+		if (blocks.isAboveRoad(block.getLocation(), 1))
+		{
+			event.setCancelled(true);
+		}
+	}
+
+}
@@ -18,8 +18,14 @@
 package com.winterhavenmc.roadblock.adapters.highlights.bukkit;
 
 import com.winterhavenmc.roadblock.core.ports.highlights.HighlightManager;
+import com.winterhavenmc.roadblock.core.ports.highlights.HighlightMode;
 import com.winterhavenmc.roadblock.core.ports.highlights.HighlightStyle;
-import com.winterhavenmc.roadblock.adapters.tasks.bukkit.BukkitShowHighlightTask;
+import com.winterhavenmc.roadblock.adapters.tasks.bukkit.BukkitRemoveHighlightTask;
+import com.winterhavenmc.roadblock.core.util.ConfigProvider;
+import com.winterhavenmc.roadblock.core.util.ConfigSnapshot;
+
+import com.winterhavenmc.library.messagebuilder.models.time.TimeUnit;
+
 import org.bukkit.Location;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
@@ -27,27 +33,39 @@ import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.plugin.Plugin;
 import org.bukkit.scheduler.BukkitTask;
 
-import java.util.*;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 
 
 /**
- * A class that manages the highlighting of blocks to show the protected status of blocks
+ * A class that manages the highlighting of blocks to show the protected status of blocks. Highlights are
+ * sent by a {@link BukkitHighlightRenderer} or drawn by a {@link BukkitOutlineRenderer}, as configured for
+ * each highlight style, and removed by a task scheduled after the configured duration.
  */
 public final class BukkitHighlightManager implements HighlightManager
 {
 	private final Plugin plugin;
-	private final Map<UUID, Set<Location>> highlightLocationMap;
+	private final ConfigProvider config;
+	private final BukkitHighlightRenderer renderer;
+	private final BukkitOutlineRenderer outlineRenderer;
 	private final Map<UUID, BukkitTask> unHighlightTaskMap;
 
 
 	/**
 	 * Class constructor
+	 *
+	 * @param plugin the plugin instance
+	 * @param config the provider of the configuration snapshot
 	 */
-	public BukkitHighlightManager(final Plugin plugin)
+	public BukkitHighlightManager(final Plugin plugin, final ConfigProvider config)
 	{
 		this.plugin = plugin;
-		highlightLocationMap = new ConcurrentHashMap<>();
+		this.config = config;
+		this.renderer = new BukkitHighlightRenderer(plugin, config);
+		this.outlineRenderer = new BukkitOutlineRenderer(plugin, config);
 		unHighlightTaskMap = new ConcurrentHashMap<>();
 
 		// register events in this class
@@ -71,21 +89,27 @@ public final class BukkitHighlightManager implements HighlightManager
 		// null parameter check
 		if (player != null && locationSet != null && highlightStyle != null)
 		{
-			// if player uuid is in map, add all in locationSet
-			if (highlightLocationMap.containsKey(player.getUniqueId()))
+			final ConfigSnapshot snapshot = config.get();
+
+			// queue highlights, to be sent a chunk section or outlined box at a time within the per-tick packet budget
+			if (snapshot.highlightMode(highlightStyle) == HighlightMode.OUTLINE)
 			{
-				// add locationSet to existing player highlighted blocks in highlight map
-				highlightLocationMap.get(player.getUniqueId()).addAll(locationSet);
+				outlineRenderer.highlight(player, locationSet, highlightStyle);
 			}
 			else
 			{
-				// add newly created locationSet for player
-				highlightLocationMap.put(player.getUniqueId(), new HashSet<>(locationSet));
+				renderer.highlight(player, locationSet, highlightStyle);
 			}
 
-			// run showHighlight task with small delay
-			new BukkitShowHighlightTask(plugin, this, player, locationSet, highlightStyle)
-					.runTaskLaterAsynchronously(plugin, 2L);
+			// if pending remove highlight task exists, cancel task
+			cancelUnhighlightTask(player);
+
+			// create task to unhighlight blocks after configured duration
+			final BukkitTask task = new BukkitRemoveHighlightTask(this, player)
+					.runTaskLater(plugin, TimeUnit.SECONDS.toTicks(snapshot.highlightDuration()));
+
+			// put new task in pending remove map
+			putUnhighlightTask(player, task);
 		}
 	}
 
@@ -101,22 +125,29 @@ public final class BukkitHighlightManager implements HighlightManager
 		// null parameter check
 		if (player != null)
 		{
-			// check if player has entry in highlight map
-			if (highlightLocationMap.containsKey(player.getUniqueId()))
-			{
-				// get block locations from highlight map for player
-				Set<Location> locationSet = highlightLocationMap.get(player.getUniqueId());
+			// queue the real state of every highlighted block to be sent back to player, and remove outlines
+			renderer.restore(player);
+			outlineRenderer.restore(player);
+
+			// cancel unhighlight task for player
+			cancelUnhighlightTask(player);
+		}
+	}
 
-				// send block change to player for each block location in highlight map for player
-				locationSet.forEach(location -> player.sendBlockChange(location, location.getBlock().getBlockData()));
 
-				// remove player from highlight map
-				highlightLocationMap.remove(player.getUniqueId());
+	/**
+	 * Remove highlighting from all blocks for every player. The real state of every highlighted block is
+	 * sent at once and every outline is removed, since no further ticks will run once the plugin is disabled.
+	 */
+	@Override
+	public void unHighlightAll()
+	{
+		renderer.restoreAll();
+		outlineRenderer.restoreAll();
 
-				// cancel unhighlight task for player
-				cancelUnhighlightTask(player);
-			}
-		}
+		// cancel every pending unhighlight task
+		unHighlightTaskMap.values().forEach(BukkitTask::cancel);
+		unHighlightTaskMap.clear();
 	}
 
 
@@ -186,8 +217,9 @@ public final class BukkitHighlightManager implements HighlightManager
 		// null parameter check
 		if (event != null)
 		{
-			// remove any entry for player from highlight map
-			highlightLocationMap.remove(event.getPlayer().getUniqueId());
+			// discard any queued or captured highlights for player, and remove outline entities
+			renderer.forget(event.getPlayer());
+			outlineRenderer.restore(event.getPlayer());
 
 			// cancel any pending unhighlight task for player
 			cancelUnhighlightTask(event.getPlayer());
@@ -0,0 +1,371 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.winterhavenmc.roadblock.adapters.highlights.bukkit;
+
+import com.winterhavenmc.roadblock.core.ports.highlights.HighlightStyle;
+import com.winterhavenmc.roadblock.core.util.ConfigProvider;
+import com.winterhavenmc.roadblock.core.util.ConfigSnapshot;
+
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.BlockState;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+
+/**
+ * A class that streams highlight block changes to players, one multi-block change for each chunk section.
+ * Each player has a {@link HighlightSession} holding every block highlighted for them, but a chunk is
+ * sent only while it lies within the player's view distance. As the player moves, chunks coming into
+ * view are sent, and chunks the client has dropped are sent again when they come back into view.
+ * <p>
+ * Sections are queued and sent in order, no more than the configured number of sections each tick across
+ * all players, so a large highlight is spread over several ticks instead of flooding client connections.
+ * Highlights are removed by sending the current state of the highlighted blocks in the shown chunks.
+ * This class must only be used on the server thread.
+ */
+final class BukkitHighlightRenderer
+{
+	// chunks in view are checked again every second, to pick up chunks that were not loaded before
+	private static final int REFRESH_TICKS = 20;
+
+	private final Plugin plugin;
+	private final ConfigProvider config;
+	private final Map<UUID, HighlightSession> sessions = new HashMap<>();
+	private final Deque<Section> queue = new ArrayDeque<>();
+	private final Map<HighlightStyle, BlockState> templates = new EnumMap<>(HighlightStyle.class);
+	private ConfigSnapshot templateSnapshot;
+	private int ticks;
+
+
+	/**
+	 * Class constructor
+	 *
+	 * @param plugin the plugin instance
+	 * @param config the provider of the configuration snapshot
+	 */
+	BukkitHighlightRenderer(final Plugin plugin, final ConfigProvider config)
+	{
+		this.plugin = plugin;
+		this.config = config;
+
+		// follow players and send queued sections every tick
+		plugin.getServer().getScheduler().runTaskTimer(plugin, this::tick, 1L, 1L);
+	}
+
+
+	/**
+	 * Add blocks to the highlight session of a player, queueing the sections of any chunks in view
+	 *
+	 * @param player    the player for whom to highlight blocks
+	 * @param locations Collection of Location of blocks to highlight, all in the same world
+	 * @param style     the highlight style to use
+	 */
+	void highlight(final Player player, final Collection<Location> locations, final HighlightStyle style)
+	{
+		if (locations.isEmpty())
+		{
+			return;
+		}
+
+		final World world = locations.iterator().next().getWorld();
+
+		// a session covers a single world; highlights in another world replace it
+		HighlightSession session = sessions.get(player.getUniqueId());
+		if (session != null && !session.world.equals(world))
+		{
+			restore(player);
+			session = null;
+		}
+		if (session == null)
+		{
+			session = new HighlightSession(player, world);
+			sessions.put(player.getUniqueId(), session);
+		}
+
+		for (Location location : locations)
+		{
+			final int x = location.getBlockX();
+			final int y = location.getBlockY();
+			final int z = location.getBlockZ();
+			final ChunkHighlights chunk = session.chunk(x >> 4, z >> 4);
+
+			// a chunk already shown needs only the changed section sent; others are sent when they come into view
+			if (chunk.put(x, y, z, style) && chunk.shown)
+			{
+				queueHighlight(session, chunk, y >> 4);
+			}
+		}
+
+		refresh(session, true);
+	}
+
+
+	/**
+	 * End the highlight session of a player, and queue the current state of the highlighted blocks
+	 * in every chunk shown to the player
+	 *
+	 * @param player the player for whom to remove block highlighting
+	 * @return {@code true} if the player had blocks highlighted, else {@code false}
+	 */
+	boolean restore(final Player player)
+	{
+		final HighlightSession session = sessions.remove(player.getUniqueId());
+		if (session == null)
+		{
+			return false;
+		}
+
+		// highlights still queued for the session are dropped when they reach the head of the queue
+		session.active = false;
+
+		for (ChunkHighlights chunk : session.chunks.values())
+		{
+			if (chunk.shown)
+			{
+				for (int sectionY : chunk.sections())
+				{
+					queue.add(new Section(session, chunk, sectionY, false));
+				}
+			}
+		}
+		return true;
+	}
+
+
+	/**
+	 * End every highlight session, sending the current state of the highlighted blocks in every chunk shown
+	 * at once rather than through the queue, and drop everything still queued
+	 */
+	void restoreAll()
+	{
+		for (HighlightSession session : sessions.values())
+		{
+			session.active = false;
+
+			for (ChunkHighlights chunk : session.chunks.values())
+			{
+				if (chunk.shown)
+				{
+					for (int sectionY : chunk.sections())
+					{
+						send(new Section(session, chunk, sectionY, false));
+					}
+				}
+			}
+		}
+
+		sessions.clear();
+		queue.clear();
+	}
+
+
+	/**
+	 * End the highlight session of a player without sending anything
+	 *
+	 * @param player the player to forget
+	 */
+	void forget(final Player player)
+	{
+		final HighlightSession session = sessions.remove(player.getUniqueId());
+		if (session != null)
+		{
+			session.active = false;
+		}
+	}
+
+
+	/**
+	 * Follow each player's position, then send queued sections up to the configured number for this tick
+	 */
+	private void tick()
+	{
+		final boolean force = ++ticks % REFRESH_TICKS == 0;
+		for (HighlightSession session : sessions.values())
+		{
+			if (session.player.isOnline())
+			{
+				refresh(session, force);
+			}
+		}
+
+		if (queue.isEmpty())
+		{
+			return;
+		}
+
+		refreshTemplates();
+
+		int budget = config.get().highlightPacketBudget();
+		while (budget > 0 && !queue.isEmpty())
+		{
+			if (send(queue.poll()))
+			{
+				budget--;
+			}
+		}
+	}
+
+
+	/**
+	 * Work out which chunks of a session are in view of its player, if the player has changed chunk.
+	 * Chunks within one less than the view distance are shown, leaving the outermost ring to the chunks
+	 * the server is still sending; chunks are forgotten only once they are beyond the view distance and
+	 * the client has certainly dropped them, so highlights still on screen are always restored.
+	 *
+	 * @param session the highlight session
+	 * @param force   {@code true} to check every chunk even if the player has not changed chunk
+	 */
+	private void refresh(final HighlightSession session, final boolean force)
+	{
+		final Player player = session.player;
+		final Location location = player.getLocation();
+		final boolean inWorld = session.world.equals(location.getWorld());
+		final int chunkX = location.getBlockX() >> 4;
+		final int chunkZ = location.getBlockZ() >> 4;
+
+		if (!force && inWorld == session.inWorld && chunkX == session.viewChunkX && chunkZ == session.viewChunkZ)
+		{
+			return;
+		}
+
+		session.inWorld = inWorld;
+		session.viewChunkX = chunkX;
+		session.viewChunkZ = chunkZ;
+
+		final int viewDistance = Math.min(player.getClientViewDistance(), plugin.getServer().getViewDistance());
+
+		for (ChunkHighlights chunk : session.chunks.values())
+		{
+			final int distance = Math.max(Math.abs(chunk.chunkX - chunkX), Math.abs(chunk.chunkZ - chunkZ));
+
+			if (!inWorld || distance > viewDistance + 1)
+			{
+				chunk.shown = false;
+			}
+			else if (!chunk.shown && distance < viewDistance && session.world.isChunkLoaded(chunk.chunkX, chunk.chunkZ))
+			{
+				chunk.shown = true;
+				for (int sectionY : chunk.sections())
+				{
+					queueHighlight(session, chunk, sectionY);
+				}
+			}
+		}
+	}
+
+
+	private void queueHighlight(final HighlightSession session, final ChunkHighlights chunk, final int sectionY)
+	{
+		if (chunk.markQueued(sectionY))
+		{
+			queue.add(new Section(session, chunk, sectionY, true));
+		}
+	}
+
+
+	/**
+	 * Send one section to its player
+	 *
+	 * @param section the section to send
+	 * @return {@code true} if a packet was sent, {@code false} if the section was dropped
+	 */
+	private boolean send(final Section section)
+	{
+		final HighlightSession session = section.session;
+		final ChunkHighlights chunk = section.chunk;
+		final Player player = session.player;
+		final World world = session.world;
+
+		if (section.highlight)
+		{
+			chunk.clearQueued(section.sectionY);
+			if (!session.active || !chunk.shown)
+			{
+				return false;
+			}
+		}
+
+		// a player in another world would see the changes at the same coordinates in that world
+		if (!player.isOnline() || !player.getWorld().equals(world))
+		{
+			return false;
+		}
+
+		final List<BlockState> states = new ArrayList<>();
+		chunk.forEachInSection(section.sectionY, (x, y, z, style) -> states.add(section.highlight
+				? templates.get(style).copy(new Location(world, x, y, z))
+				: world.getBlockAt(x, y, z).getState()));
+
+		if (states.isEmpty())
+		{
+			return false;
+		}
+
+		player.sendBlockChanges(states);
+		return true;
+	}
+
+
+	/**
+	 * Create the block state template for each highlight style again if its configured material has changed.
+	 * Templates are only checked once for each configuration snapshot, so they are rebuilt on reload only.
+	 */
+	private void refreshTemplates()
+	{
+		final ConfigSnapshot snapshot = config.get();
+		if (snapshot == templateSnapshot)
+		{
+			return;
+		}
+		templateSnapshot = snapshot;
+
+		for (HighlightStyle style : HighlightStyle.values())
+		{
+			final Material material = snapshot.highlightMaterial(style);
+			final BlockState template = templates.get(style);
+
+			if (template == null || template.getType() != material)
+			{
+				templates.put(style, plugin.getServer().createBlockData(material).createBlockState());
+			}
+		}
+	}
+
+
+	/**
+	 * One chunk section of a highlight session, sent to its player as a single packet
+	 *
+	 * @param session   the highlight session
+	 * @param chunk     the highlighted blocks of the chunk containing the section
+	 * @param sectionY  the section y coordinate
+	 * @param highlight {@code true} to send highlights, {@code false} to restore the current block states
+	 */
+	private record Section(HighlightSession session, ChunkHighlights chunk, int sectionY, boolean highlight) { }
+
+}
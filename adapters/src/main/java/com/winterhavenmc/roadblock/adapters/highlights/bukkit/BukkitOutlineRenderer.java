@@ -0,0 +1,352 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.winterhavenmc.roadblock.adapters.highlights.bukkit;
+
+import com.winterhavenmc.roadblock.adapters.datastore.BlockKey;
+import com.winterhavenmc.roadblock.adapters.datastore.LongObjectMap;
+import com.winterhavenmc.roadblock.core.ports.highlights.HighlightStyle;
+import com.winterhavenmc.roadblock.core.util.ConfigProvider;
+
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.entity.BlockDisplay;
+import org.bukkit.entity.Display;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.util.Transformation;
+import org.joml.AxisAngle4f;
+import org.joml.Vector3f;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.LongConsumer;
+
+
+/**
+ * A class that highlights blocks by drawing outlines around them instead of changing the blocks a player sees.
+ * Adjacent blocks are merged into boxes by a {@link GreedyMesher}, and each box is drawn by one glowing glass
+ * block display, scaled to fit the box and shown only to its player. The server sends display entities only
+ * to players within entity tracking range, so distant boxes cost nothing until the player comes near.
+ * <p>
+ * Each outlined block records the box that covers it. When a block changes style, the boxes covering
+ * it are erased and their blocks meshed again, each in its own style, so no two outlines overlap.
+ * <p>
+ * Displays are spawned in order, no more than the configured packet budget each tick across all players.
+ * They are never saved with the world. This class must only be used on the server thread.
+ */
+final class BukkitOutlineRenderer
+{
+	// grow each box slightly so its faces do not flicker against the faces of the blocks inside
+	private static final float INSET = 0.005f;
+
+	private final Plugin plugin;
+	private final ConfigProvider config;
+	private final BlockData glass;
+	private final Map<UUID, Outline> outlines = new HashMap<>();
+	private final Deque<OutlineBox> queue = new ArrayDeque<>();
+
+
+	/**
+	 * Class constructor
+	 *
+	 * @param plugin the plugin instance
+	 * @param config the provider of the configuration snapshot
+	 */
+	BukkitOutlineRenderer(final Plugin plugin, final ConfigProvider config)
+	{
+		this.plugin = plugin;
+		this.config = config;
+		this.glass = plugin.getServer().createBlockData(Material.GLASS);
+
+		// spawn queued displays every tick
+		plugin.getServer().getScheduler().runTaskTimer(plugin, this::tick, 1L, 1L);
+	}
+
+
+	/**
+	 * Outline blocks for a player. Blocks already outlined for the player in the same style are skipped,
+	 * and the outlines of blocks already outlined in another style are redrawn.
+	 *
+	 * @param player    the player for whom to outline blocks
+	 * @param locations Collection of Location of blocks to outline, all in the same world
+	 * @param style     the highlight style to use
+	 */
+	void highlight(final Player player, final Collection<Location> locations, final HighlightStyle style)
+	{
+		if (locations.isEmpty())
+		{
+			return;
+		}
+
+		final World world = locations.iterator().next().getWorld();
+
+		// outlines cover a single world; outlines in another world replace them
+		Outline outline = outlines.get(player.getUniqueId());
+		if (outline != null && !outline.blocks.world.equals(world))
+		{
+			restore(player);
+			outline = null;
+		}
+		if (outline == null)
+		{
+			outline = new Outline(new HighlightSession(player, world));
+			outlines.put(player.getUniqueId(), outline);
+		}
+
+		final long[] keys = new long[locations.size()];
+		final Set<OutlineBox> restyled = new HashSet<>();
+		int count = 0;
+		for (Location location : locations)
+		{
+			final int x = location.getBlockX();
+			final int y = location.getBlockY();
+			final int z = location.getBlockZ();
+			if (outline.blocks.chunk(x >> 4, z >> 4).put(x, y, z, style))
+			{
+				final long key = BlockKey.pack(x, y, z);
+				keys[count++] = key;
+
+				// a block outlined in another style is covered by a box that must be redrawn
+				final OutlineBox covering = outline.boxes.get(key);
+				if (covering != null)
+				{
+					restyled.add(covering);
+				}
+			}
+		}
+
+		if (restyled.isEmpty())
+		{
+			draw(outline, Arrays.copyOf(keys, count), style);
+			return;
+		}
+
+		// the other blocks of an erased box are drawn again in their own style
+		final long[] redraw = Arrays.copyOf(keys, count + restyled.stream().mapToInt(OutlineBox::volume).sum());
+		final int[] total = { count };
+		for (OutlineBox box : restyled)
+		{
+			erase(box);
+			box.forEachBlock(key -> redraw[total[0]++] = key);
+		}
+
+		for (HighlightStyle each : HighlightStyle.values())
+		{
+			final long[] styled = new long[total[0]];
+			int styledCount = 0;
+			for (int i = 0; i < total[0]; i++)
+			{
+				final int x = BlockKey.x(redraw[i]);
+				final int y = BlockKey.y(redraw[i]);
+				final int z = BlockKey.z(redraw[i]);
+				if (outline.blocks.chunk(x >> 4, z >> 4).get(x, y, z) == each)
+				{
+					styled[styledCount++] = redraw[i];
+				}
+			}
+			draw(outline, Arrays.copyOf(styled, styledCount), each);
+		}
+	}
+
+
+	/**
+	 * Remove every outline drawn for a player, and drop any still queued
+	 *
+	 * @param player the player for whom to remove outlines
+	 * @return {@code true} if the player had blocks outlined, else {@code false}
+	 */
+	boolean restore(final Player player)
+	{
+		final Outline outline = outlines.remove(player.getUniqueId());
+		if (outline == null)
+		{
+			return false;
+		}
+
+		outline.blocks.active = false;
+		outline.spawned.forEach(box -> box.display.remove());
+		outline.spawned.clear();
+		return true;
+	}
+
+
+	/**
+	 * Remove every outline drawn for every player, and drop every box still queued
+	 */
+	void restoreAll()
+	{
+		for (Outline outline : outlines.values())
+		{
+			outline.blocks.active = false;
+			outline.spawned.forEach(box -> box.display.remove());
+			outline.spawned.clear();
+		}
+
+		outlines.clear();
+		queue.clear();
+	}
+
+
+	/**
+	 * Merge blocks of one style into boxes, and queue the boxes to be drawn
+	 */
+	private void draw(final Outline outline, final long[] keys, final HighlightStyle style)
+	{
+		for (GreedyMesher.Box box : GreedyMesher.mesh(keys))
+		{
+			final OutlineBox outlineBox = new OutlineBox(outline, box, style);
+			outlineBox.forEachBlock(key -> outline.boxes.put(key, outlineBox));
+			queue.add(outlineBox);
+		}
+	}
+
+
+	/**
+	 * Remove the display of a box, or drop the box if it is still queued, and forget the blocks it covers
+	 */
+	private void erase(final OutlineBox box)
+	{
+		box.erased = true;
+		box.forEachBlock(box.outline.boxes::remove);
+		if (box.display != null)
+		{
+			box.display.remove();
+			box.outline.spawned.remove(box);
+		}
+	}
+
+
+	/**
+	 * Spawn queued displays, up to the configured number for this tick
+	 */
+	private void tick()
+	{
+		int budget = config.get().highlightPacketBudget();
+		while (budget > 0 && !queue.isEmpty())
+		{
+			if (spawn(queue.poll()))
+			{
+				budget--;
+			}
+		}
+	}
+
+
+	/**
+	 * Spawn the display for one box and show it to its player
+	 *
+	 * @param pending the box to draw
+	 * @return {@code true} if a display was spawned, {@code false} if the box was dropped
+	 */
+	private boolean spawn(final OutlineBox pending)
+	{
+		final Outline outline = pending.outline;
+		final Player player = outline.blocks.player;
+		final World world = outline.blocks.world;
+		final GreedyMesher.Box box = pending.box;
+
+		if (pending.erased || !outline.blocks.active || !player.isOnline() || !player.getWorld().equals(world))
+		{
+			return false;
+		}
+
+		final BlockDisplay display = world.spawn(new Location(world, box.x(), box.y(), box.z()), BlockDisplay.class, entity ->
+		{
+			entity.setVisibleByDefault(false);
+			entity.setPersistent(false);
+			entity.setBlock(glass);
+			entity.setBrightness(new Display.Brightness(15, 15));
+			entity.setGlowColorOverride(pending.style.getOutlineColor());
+			entity.setGlowing(true);
+			entity.setTransformation(new Transformation(
+					new Vector3f(-INSET, -INSET, -INSET),
+					new AxisAngle4f(),
+					new Vector3f(box.sizeX() + 2 * INSET, box.sizeY() + 2 * INSET, box.sizeZ() + 2 * INSET),
+					new AxisAngle4f()));
+		});
+
+		player.showEntity(plugin, display);
+		pending.display = display;
+		outline.spawned.add(pending);
+		return true;
+	}
+
+
+	/**
+	 * The blocks outlined for one player, the box covering each block, and the boxes drawn so far
+	 */
+	private static final class Outline
+	{
+		private final HighlightSession blocks;
+		private final LongObjectMap<OutlineBox> boxes = new LongObjectMap<>();
+		private final Set<OutlineBox> spawned = new HashSet<>();
+
+		private Outline(final HighlightSession blocks)
+		{
+			this.blocks = blocks;
+		}
+	}
+
+
+	/**
+	 * A box of blocks in one style, queued to be drawn until its display is spawned
+	 */
+	private static final class OutlineBox
+	{
+		private final Outline outline;
+		private final GreedyMesher.Box box;
+		private final HighlightStyle style;
+		private BlockDisplay display;
+		private boolean erased;
+
+		private OutlineBox(final Outline outline, final GreedyMesher.Box box, final HighlightStyle style)
+		{
+			this.outline = outline;
+			this.box = box;
+			this.style = style;
+		}
+
+		private int volume()
+		{
+			return box.sizeX() * box.sizeY() * box.sizeZ();
+		}
+
+		private void forEachBlock(final LongConsumer visitor)
+		{
+			for (int dy = 0; dy < box.sizeY(); dy++)
+			{
+				for (int dz = 0; dz < box.sizeZ(); dz++)
+				{
+					for (int dx = 0; dx < box.sizeX(); dx++)
+					{
+						visitor.accept(BlockKey.pack(box.x() + dx, box.y() + dy, box.z() + dz));
+					}
+				}
+			}
+		}
+	}
+
+}
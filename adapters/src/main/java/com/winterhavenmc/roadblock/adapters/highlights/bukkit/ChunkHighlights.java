@@ -0,0 +1,277 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.winterhavenmc.roadblock.adapters.highlights.bukkit;
+
+import com.winterhavenmc.roadblock.core.ports.highlights.HighlightStyle;
+
+
+/**
+ * The highlighted blocks of one chunk for one player, held in an open-addressing hash map from packed
+ * chunk-relative coordinates to a highlight style. Keys are {@code int} values and styles a single byte
+ * per slot, with zero reserved to mark an empty slot, so no locations or entry nodes are ever allocated.
+ * <p>
+ * Each chunk also records whether it is shown to its player, and which of its sections are queued
+ * to be sent. This class is not thread safe; it is used only on the server thread.
+ */
+final class ChunkHighlights
+{
+	private static final HighlightStyle[] STYLES = HighlightStyle.values();
+	private static final int MIN_CAPACITY = 16;
+
+	final int chunkX;
+	final int chunkZ;
+	boolean shown;
+
+	private final long[] queuedSections = new long[4];
+	private int[] keys;
+	private byte[] styles;
+	private int size;
+	private int mask;
+	private int resizeThreshold;
+
+
+	/**
+	 * Class constructor
+	 *
+	 * @param chunkX the chunk x coordinate
+	 * @param chunkZ the chunk z coordinate
+	 */
+	ChunkHighlights(final int chunkX, final int chunkZ)
+	{
+		this.chunkX = chunkX;
+		this.chunkZ = chunkZ;
+		allocate(MIN_CAPACITY);
+	}
+
+
+	/**
+	 * Highlight a block in this chunk
+	 *
+	 * @param x     the block x coordinate
+	 * @param y     the block y coordinate
+	 * @param z     the block z coordinate
+	 * @param style the highlight style of the block
+	 * @return {@code true} if the block was not already highlighted in this style, else {@code false}
+	 */
+	boolean put(final int x, final int y, final int z, final HighlightStyle style)
+	{
+		final int key = key(x, y, z);
+		final byte value = (byte) (style.ordinal() + 1);
+
+		int slot = slot(key);
+		while (styles[slot] != 0)
+		{
+			if (keys[slot] == key)
+			{
+				final boolean changed = styles[slot] != value;
+				styles[slot] = value;
+				return changed;
+			}
+			slot = (slot + 1) & mask;
+		}
+
+		keys[slot] = key;
+		styles[slot] = value;
+
+		if (++size > resizeThreshold)
+		{
+			rehash(keys.length << 1);
+		}
+		return true;
+	}
+
+
+	/**
+	 * Get the highlight style of a block in this chunk
+	 *
+	 * @param x the block x coordinate
+	 * @param y the block y coordinate
+	 * @param z the block z coordinate
+	 * @return the highlight style of the block, or {@code null} if the block is not highlighted
+	 */
+	HighlightStyle get(final int x, final int y, final int z)
+	{
+		final int key = key(x, y, z);
+
+		int slot = slot(key);
+		while (styles[slot] != 0)
+		{
+			if (keys[slot] == key)
+			{
+				return STYLES[styles[slot] - 1];
+			}
+			slot = (slot + 1) & mask;
+		}
+		return null;
+	}
+
+
+	/**
+	 * Visit every highlighted block in one section of this chunk
+	 *
+	 * @param sectionY the section y coordinate
+	 * @param visitor  the visitor to call for each block, with world coordinates
+	 */
+	void forEachInSection(final int sectionY, final BlockVisitor visitor)
+	{
+		for (int slot = 0; slot < styles.length; slot++)
+		{
+			if (styles[slot] != 0 && keys[slot] >> 12 == sectionY)
+			{
+				final int key = keys[slot];
+				visitor.visit((chunkX << 4) | (key & 15), key >> 8, (chunkZ << 4) | ((key >> 4) & 15), STYLES[styles[slot] - 1]);
+			}
+		}
+	}
+
+
+	/**
+	 * Get the sections of this chunk holding highlighted blocks
+	 *
+	 * @return the section y coordinates, in ascending order
+	 */
+	int[] sections()
+	{
+		final long[] present = new long[4];
+		for (int slot = 0; slot < styles.length; slot++)
+		{
+			if (styles[slot] != 0)
+			{
+				setBit(present, keys[slot] >> 12);
+			}
+		}
+
+		final int[] sections = new int[Long.bitCount(present[0]) + Long.bitCount(present[1])
+				+ Long.bitCount(present[2]) + Long.bitCount(present[3])];
+		int count = 0;
+		for (int sectionY = -128; sectionY < 128; sectionY++)
+		{
+			if (isBitSet(present, sectionY))
+			{
+				sections[count++] = sectionY;
+			}
+		}
+		return sections;
+	}
+
+
+	/**
+	 * Mark a section as queued to be sent
+	 *
+	 * @param sectionY the section y coordinate
+	 * @return {@code true} if the section was not already queued, else {@code false}
+	 */
+	boolean markQueued(final int sectionY)
+	{
+		if (isBitSet(queuedSections, sectionY))
+		{
+			return false;
+		}
+		setBit(queuedSections, sectionY);
+		return true;
+	}
+
+
+	/**
+	 * Mark a section as no longer queued, because it has been sent or dropped
+	 *
+	 * @param sectionY the section y coordinate
+	 */
+	void clearQueued(final int sectionY)
+	{
+		queuedSections[(sectionY & 255) >>> 6] &= ~(1L << sectionY);
+	}
+
+
+	int size()
+	{
+		return size;
+	}
+
+
+	/**
+	 * Pack chunk-relative coordinates into a key. Heights are kept in the upper 24 bits, so the
+	 * section of a key is recovered with a signed shift.
+	 */
+	private static int key(final int x, final int y, final int z)
+	{
+		return (y << 8) | ((z & 15) << 4) | (x & 15);
+	}
+
+
+	/**
+	 * Section y coordinates of any legal world height fit in 256 consecutive bits
+	 */
+	private static void setBit(final long[] bits, final int sectionY)
+	{
+		bits[(sectionY & 255) >>> 6] |= 1L << sectionY;
+	}
+
+
+	private static boolean isBitSet(final long[] bits, final int sectionY)
+	{
+		return (bits[(sectionY & 255) >>> 6] & (1L << sectionY)) != 0;
+	}
+
+
+	private int slot(final int key)
+	{
+		// fibonacci hashing spreads the packed coordinate bits across the table
+		final int hash = key * 0x9E3779B9;
+		return (hash ^ (hash >>> 16)) & mask;
+	}
+
+
+	private void allocate(final int capacity)
+	{
+		keys = new int[capacity];
+		styles = new byte[capacity];
+		mask = capacity - 1;
+		resizeThreshold = (capacity * 3) >>> 2;
+	}
+
+
+	private void rehash(final int capacity)
+	{
+		final int[] oldKeys = keys;
+		final byte[] oldStyles = styles;
+
+		allocate(capacity);
+
+		for (int i = 0; i < oldStyles.length; i++)
+		{
+			if (oldStyles[i] != 0)
+			{
+				int slot = slot(oldKeys[i]);
+				while (styles[slot] != 0)
+				{
+					slot = (slot + 1) & mask;
+				}
+				keys[slot] = oldKeys[i];
+				styles[slot] = oldStyles[i];
+			}
+		}
+	}
+
+
+	@FunctionalInterface
+	interface BlockVisitor
+	{
+		void visit(int x, int y, int z, HighlightStyle style);
+	}
+
+}
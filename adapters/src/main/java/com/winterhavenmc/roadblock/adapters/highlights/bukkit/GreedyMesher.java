@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.winterhavenmc.roadblock.adapters.highlights.bukkit;
+
+import com.winterhavenmc.roadblock.adapters.datastore.BlockKey;
+import com.winterhavenmc.roadblock.adapters.datastore.LongHashSet;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+
+/**
+ * Merges a set of blocks into axis-aligned boxes with a greedy meshing pass. Blocks are visited from
+ * the lowest corner up; each unmerged block starts a box that grows as far as it can along the x axis,
+ * then row by row along the z axis, then layer by layer upward. A straight road becomes one long box,
+ * and a road of uniform width and height a handful of boxes, however many blocks it holds.
+ * <p>
+ * Blocks are held in primitive hash sets and sorted as primitive keys, so meshing allocates no boxed
+ * values however many blocks it is given.
+ */
+final class GreedyMesher
+{
+	// sort keys hold the height in the signed upper 12 bits, above z and x offset to be non-negative
+	private static final int SORT_XZ_BITS = 26;
+	private static final int SORT_XZ_OFFSET = 1 << (SORT_XZ_BITS - 1);
+	private static final long SORT_XZ_MASK = (1L << SORT_XZ_BITS) - 1L;
+
+
+	/**
+	 * Private class constructor to prevent instantiation
+	 */
+	private GreedyMesher()
+	{
+		throw new AssertionError();
+	}
+
+
+	/**
+	 * Merge blocks into boxes. Every block is covered by exactly one box, and no box covers
+	 * a position that is not a block.
+	 *
+	 * @param keys the packed coordinates of the blocks, as made by {@link BlockKey#pack}
+	 * @return the boxes covering the blocks
+	 */
+	static List<Box> mesh(final long[] keys)
+	{
+		final LongHashSet blocks = new LongHashSet(keys.length);
+		final LongHashSet merged = new LongHashSet(keys.length);
+
+		// visit blocks in order of height, then z, then x, so each box starts at its lowest corner
+		final long[] order = new long[keys.length];
+		for (int i = 0; i < keys.length; i++)
+		{
+			blocks.add(keys[i]);
+			order[i] = sortKey(BlockKey.x(keys[i]), BlockKey.y(keys[i]), BlockKey.z(keys[i]));
+		}
+		Arrays.sort(order);
+
+		final List<Box> boxes = new ArrayList<>();
+
+		for (long sortKey : order)
+		{
+			final int x = (int) (sortKey & SORT_XZ_MASK) - SORT_XZ_OFFSET;
+			final int y = (int) (sortKey >> (2 * SORT_XZ_BITS));
+			final int z = (int) ((sortKey >>> SORT_XZ_BITS) & SORT_XZ_MASK) - SORT_XZ_OFFSET;
+
+			if (merged.contains(BlockKey.pack(x, y, z)))
+			{
+				continue;
+			}
+
+			int sizeX = 1;
+			while (isFilled(blocks, merged, x + sizeX, 1, y, 1, z, 1))
+			{
+				sizeX++;
+			}
+
+			int sizeZ = 1;
+			while (isFilled(blocks, merged, x, sizeX, y, 1, z + sizeZ, 1))
+			{
+				sizeZ++;
+			}
+
+			int sizeY = 1;
+			while (isFilled(blocks, merged, x, sizeX, y + sizeY, 1, z, sizeZ))
+			{
+				sizeY++;
+			}
+
+			for (int dy = 0; dy < sizeY; dy++)
+			{
+				for (int dz = 0; dz < sizeZ; dz++)
+				{
+					for (int dx = 0; dx < sizeX; dx++)
+					{
+						merged.add(BlockKey.pack(x + dx, y + dy, z + dz));
+					}
+				}
+			}
+
+			boxes.add(new Box(x, y, z, sizeX, sizeY, sizeZ));
+		}
+
+		return boxes;
+	}
+
+
+	/**
+	 * Pack block coordinates into a key whose signed order is by height, then z, then x
+	 */
+	private static long sortKey(final int x, final int y, final int z)
+	{
+		return ((long) y << (2 * SORT_XZ_BITS))
+				| ((long) (z + SORT_XZ_OFFSET) << SORT_XZ_BITS)
+				| (x + SORT_XZ_OFFSET);
+	}
+
+
+	/**
+	 * Check that every position in a box is a block not yet merged into another box
+	 */
+	private static boolean isFilled(final LongHashSet blocks, final LongHashSet merged,
+	                                final int x, final int sizeX,
+	                                final int y, final int sizeY,
+	                                final int z, final int sizeZ)
+	{
+		for (int dy = 0; dy < sizeY; dy++)
+		{
+			for (int dz = 0; dz < sizeZ; dz++)
+			{
+				for (int dx = 0; dx < sizeX; dx++)
+				{
+					final long key = BlockKey.pack(x + dx, y + dy, z + dz);
+					if (!blocks.contains(key) || merged.contains(key))
+					{
+						return false;
+					}
+				}
+			}
+		}
+		return true;
+	}
+
+
+	/**
+	 * An axis-aligned box of blocks
+	 *
+	 * @param x     the x coordinate of the lowest corner block
+	 * @param y     the y coordinate of the lowest corner block
+	 * @param z     the z coordinate of the lowest corner block
+	 * @param sizeX the number of blocks along the x axis
+	 * @param sizeY the number of blocks along the y axis
+	 * @param sizeZ the number of blocks along the z axis
+	 */
+	record Box(int x, int y, int z, int sizeX, int sizeY, int sizeZ) { }
+
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.winterhavenmc.roadblock.adapters.highlights.bukkit;
+
+import com.winterhavenmc.roadblock.adapters.datastore.ChunkKey;
+
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+import java.util.HashMap;
+import java.util.Map;
+
+
+/**
+ * The blocks highlighted for one player in one world, grouped by chunk. A session remembers the chunk
+ * the player was in when the chunks shown to the player were last worked out, so the work is repeated
+ * only when the player crosses a chunk border.
+ * <p>
+ * This class is not thread safe; it is used only on the server thread.
+ */
+final class HighlightSession
+{
+	final Player player;
+	final World world;
+	final Map<Long, ChunkHighlights> chunks = new HashMap<>();
+
+	boolean active = true;
+	boolean inWorld;
+	int viewChunkX;
+	int viewChunkZ;
+
+
+	/**
+	 * Class constructor
+	 *
+	 * @param player the player for whom blocks are highlighted
+	 * @param world  the world containing the highlighted blocks
+	 */
+	HighlightSession(final Player player, final World world)
+	{
+		this.player = player;
+		this.world = world;
+	}
+
+
+	/**
+	 * Get the highlighted blocks of a chunk, creating an empty entry if the chunk has none
+	 *
+	 * @param chunkX the chunk x coordinate
+	 * @param chunkZ the chunk z coordinate
+	 * @return the highlighted blocks of the chunk
+	 */
+	ChunkHighlights chunk(final int chunkX, final int chunkZ)
+	{
+		return chunks.computeIfAbsent(ChunkKey.pack(chunkX, chunkZ), key -> new ChunkHighlights(chunkX, chunkZ));
+	}
+
+}
@@ -0,0 +1,279 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.winterhavenmc.roadblock.adapters.jobs.bukkit;
+
+import com.winterhavenmc.library.messagebuilder.MessageBuilder;
+import com.winterhavenmc.roadblock.core.ports.config.MaterialsProvider;
+import com.winterhavenmc.roadblock.core.ports.datastore.BlockRepository;
+import com.winterhavenmc.roadblock.core.ports.highlights.HighlightManager;
+import com.winterhavenmc.roadblock.core.ports.highlights.HighlightStyle;
+import com.winterhavenmc.roadblock.core.ports.jobs.BlockJobManager;
+import com.winterhavenmc.roadblock.core.ports.players.PlayerRoadState;
+import com.winterhavenmc.roadblock.core.util.ConfigProvider;
+import com.winterhavenmc.roadblock.core.util.Macro;
+import com.winterhavenmc.roadblock.core.util.MessageId;
+import com.winterhavenmc.roadblock.core.util.SoundId;
+
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.plugin.Plugin;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+
+/**
+ * A class that runs protect and unprotect jobs on the server thread, a slice of blocks at a time. Each tick,
+ * jobs are run in turn until the configured time budget for the tick is spent, and the job that spends the
+ * budget moves to the back of the line, so a job of any size is spread over as many ticks as it needs
+ * without holding up the jobs queued behind it. Each slice checks its blocks, updates the block
+ * repository, and highlights the blocks for the player; the repository writes to the datastore in the background.
+ */
+public final class BukkitBlockJobManager implements BlockJobManager
+{
+	private static final int SLICE_SIZE = 256;
+	private static final int PROGRESS_INTERVAL_TICKS = 20;
+
+	private final ConfigProvider config;
+	private final MessageBuilder messageBuilder;
+	private final MaterialsProvider materials;
+	private final BlockRepository blocks;
+	private final HighlightManager highlightManager;
+	private final PlayerRoadState roadState;
+	private final Queue<Job> submitted = new ConcurrentLinkedQueue<>();
+	private final Deque<Job> running = new ArrayDeque<>();
+
+
+	/**
+	 * Class constructor
+	 */
+	public BukkitBlockJobManager(final Plugin plugin,
+	                             final ConfigProvider config,
+	                             final MessageBuilder messageBuilder,
+	                             final MaterialsProvider materials,
+	                             final BlockRepository blocks,
+	                             final HighlightManager highlightManager,
+	                             final PlayerRoadState roadState)
+	{
+		this.config = config;
+		this.messageBuilder = messageBuilder;
+		this.materials = materials;
+		this.blocks = blocks;
+		this.highlightManager = highlightManager;
+		this.roadState = roadState;
+
+		// register events in this class
+		plugin.getServer().getPluginManager().registerEvents(this, plugin);
+
+		// run queued jobs every tick
+		plugin.getServer().getScheduler().runTaskTimer(plugin, this::tick, 1L, 1L);
+	}
+
+
+	@Override
+	public void protect(final Player player, final Collection<Location> locations)
+	{
+		submitted.add(new Job(player, List.copyOf(locations), HighlightStyle.PROTECT));
+	}
+
+
+	@Override
+	public void unprotect(final Player player, final Collection<Location> locations)
+	{
+		submitted.add(new Job(player, List.copyOf(locations), HighlightStyle.UNPROTECT));
+	}
+
+
+	@Override
+	public boolean cancel(final Player player)
+	{
+		boolean found = false;
+		for (Job job : submitted)
+		{
+			found |= job.cancelFor(player.getUniqueId());
+		}
+		for (Job job : running)
+		{
+			found |= job.cancelFor(player.getUniqueId());
+		}
+		return found;
+	}
+
+
+	@EventHandler
+	@Override
+	public void onPlayerQuit(final PlayerQuitEvent event)
+	{
+		cancel(event.getPlayer());
+	}
+
+
+	/**
+	 * Run queued jobs until the time budget for this tick is spent. Every running job gets at least one
+	 * slice per tick in which it is reached, so a budget smaller than a slice still makes progress, and the
+	 * job that spends the budget moves to the back, so the next tick starts with the job after it.
+	 */
+	private void tick()
+	{
+		for (Job job = submitted.poll(); job != null; job = submitted.poll())
+		{
+			running.add(job);
+		}
+
+		if (running.isEmpty())
+		{
+			return;
+		}
+
+		final long deadline = System.nanoTime() + config.get().jobTickBudgetNanos();
+
+		// each running job is reached at most once per tick
+		for (int remaining = running.size(); remaining > 0; remaining--)
+		{
+			final Job job = running.poll();
+
+			if (job.cancelled || !job.player.isOnline())
+			{
+				if (job.player.isOnline())
+				{
+					messageBuilder.compose(job.player, MessageId.TOOL_INFO_CANCELLED)
+							.setMacro(Macro.QUANTITY, job.count)
+							.send();
+				}
+				continue;
+			}
+
+			do
+			{
+				runSlice(job);
+			}
+			while (!job.isDone() && System.nanoTime() < deadline);
+
+			if (job.isDone())
+			{
+				finish(job);
+			}
+			else
+			{
+				if (++job.ticks % PROGRESS_INTERVAL_TICKS == 0)
+				{
+					messageBuilder.compose(job.player, MessageId.TOOL_INFO_PROGRESS)
+							.setMacro(Macro.QUANTITY, job.next)
+							.send();
+				}
+				running.add(job);
+				break;
+			}
+		}
+	}
+
+
+	/**
+	 * Check, store or remove, and highlight the next slice of blocks of a job
+	 */
+	private void runSlice(final Job job)
+	{
+		final int end = Math.min(job.next + SLICE_SIZE, job.locations.size());
+		final List<Location> slice = new ArrayList<>(end - job.next);
+
+		for (; job.next < end; job.next++)
+		{
+			final Location location = job.locations.get(job.next);
+
+			// blocks found by a fill may have changed since; only protect blocks still of a road block material
+			if (job.style == HighlightStyle.UNPROTECT || materials.contains(location.getBlock().getType()))
+			{
+				slice.add(location);
+			}
+		}
+
+		if (slice.isEmpty())
+		{
+			return;
+		}
+
+		job.count += (job.style == HighlightStyle.PROTECT)
+				? blocks.storeBlockLocations(slice)
+				: blocks.removeBlockLocations(slice);
+
+		roadState.invalidate(slice);
+		highlightManager.highlightBlocks(job.player, slice, job.style);
+	}
+
+
+	/**
+	 * Send the player the result of a completed job
+	 */
+	private void finish(final Job job)
+	{
+		final boolean protect = job.style == HighlightStyle.PROTECT;
+
+		messageBuilder.sounds().play(job.player, protect ? SoundId.TOOL_SUCCESS_PROTECT : SoundId.TOOL_SUCCESS_UNPROTECT);
+		messageBuilder.compose(job.player, protect ? MessageId.TOOL_SUCCESS_PROTECT : MessageId.TOOL_SUCCESS_UNPROTECT)
+				.setMacro(Macro.QUANTITY, job.count)
+				.send();
+	}
+
+
+	/**
+	 * A protect or unprotect job, and its progress. Progress fields are only accessed on the server thread.
+	 */
+	private static final class Job
+	{
+		private final Player player;
+		private final List<Location> locations;
+		private final HighlightStyle style;
+		private volatile boolean cancelled;
+		private int next;
+		private int count;
+		private int ticks;
+
+
+		private Job(final Player player, final List<Location> locations, final HighlightStyle style)
+		{
+			this.player = player;
+			this.locations = locations;
+			this.style = style;
+		}
+
+
+		private boolean isDone()
+		{
+			return next >= locations.size();
+		}
+
+
+		private boolean cancelFor(final UUID playerUid)
+		{
+			if (player.getUniqueId().equals(playerUid) && !cancelled)
+			{
+				cancelled = true;
+				return true;
+			}
+			return false;
+		}
+	}
+
+}
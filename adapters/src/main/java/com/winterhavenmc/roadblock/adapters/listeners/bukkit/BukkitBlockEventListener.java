@@ -21,10 +21,12 @@ import com.winterhavenmc.library.messagebuilder.MessageBuilder;
 import com.winterhavenmc.roadblock.core.util.PluginCtx;
 import com.winterhavenmc.roadblock.core.ports.listeners.BlockEventListener;
 import com.winterhavenmc.roadblock.core.ports.datastore.BlockRepository;
+import com.winterhavenmc.roadblock.core.ports.players.PlayerRoadState;
 import com.winterhavenmc.roadblock.core.util.Macro;
 import com.winterhavenmc.roadblock.core.util.MessageId;
-import com.winterhavenmc.roadblock.core.util.Config;
+import com.winterhavenmc.roadblock.core.util.ConfigProvider;
 
+import org.bukkit.Location;
 import org.bukkit.block.Block;
 import org.bukkit.block.BlockFace;
 import org.bukkit.block.BlockState;
@@ -45,8 +47,10 @@ import java.util.Set;
 public final class BukkitBlockEventListener implements BlockEventListener
 {
 	private final Plugin plugin;
+	private final ConfigProvider config;
 	private final MessageBuilder messageBuilder;
 	private final BlockRepository blocks;
+	private final PlayerRoadState roadState;
 
 	private final Set<String> pathMaterialNames = Set.of(
 			"GRASS_PATH",
@@ -60,8 +64,10 @@ public final class BukkitBlockEventListener implements BlockEventListener
 	public BukkitBlockEventListener(final PluginCtx ctx)
 	{
 		this.plugin = ctx.plugin();
+		this.config = ctx.config();
 		this.messageBuilder = ctx.messageBuilder();
 		this.blocks = ctx.blocks();
+		this.roadState = ctx.roadState();
 		// register events in this class
 		plugin.getServer().getPluginManager().registerEvents(this, plugin);
 	}
@@ -78,7 +84,7 @@ public final class BukkitBlockEventListener implements BlockEventListener
 	public void onBlockPlace(final BlockPlaceEvent event)
 	{
 		// get configured no-place-height
-		final int height = Config.NO_PLACE_HEIGHT.getInt(plugin.getConfig());
+		final int height = config.get().noPlaceHeight();
 
 		// get block placed
 		final Block placedBlock = event.getBlockPlaced();
@@ -115,7 +121,7 @@ public final class BukkitBlockEventListener implements BlockEventListener
 	public void onBlockMultiPlace(final BlockMultiPlaceEvent event)
 	{
 		// get configured no-place-height
-		final int height = Config.NO_PLACE_HEIGHT.getInt(plugin.getConfig());
+		final int height = config.get().noPlaceHeight();
 
 		// get list of blocks that will be replaced
 		final List<BlockState> replacedBlocks = event.getReplacedBlockStates();
@@ -167,7 +173,9 @@ public final class BukkitBlockEventListener implements BlockEventListener
 			}
 
 			// player does have override permission; remove protection from block and send player message
-			blocks.removeBlockLocations(Set.of(block.getLocation()));
+			final Set<Location> locations = Set.of(block.getLocation());
+			blocks.removeBlockLocations(locations);
+			roadState.invalidate(locations);
 			messageBuilder.compose(player, MessageId.TOOL_SUCCESS_BREAK_BLOCK).send();
 		}
 	}
@@ -252,31 +260,4 @@ public final class BukkitBlockEventListener implements BlockEventListener
 		}
 	}
 
-
-	/**
-	 * Event handler for BlockFormEvent;
-	 * prevents snow from forming on road blocks if configured
-	 *
-	 * @param event the event handled by this method
-	 */
-	@EventHandler(ignoreCancelled = true)
-	@Override
-	public void onBlockForm(final BlockFormEvent event)
-	{
-		// if configured false, do nothing and return
-		if (!Config.SNOW_PLOW.getBoolean(plugin.getConfig()))
-		{
-			return;
-		}
-
-		// get event block
-		Block block = event.getBlock();
-
-		// if formed block is above road block, cancel event
-		if (blocks.isAboveRoad(block.getLocation(), 1))
-		{
-			event.setCancelled(true);
-		}
-	}
-
 }
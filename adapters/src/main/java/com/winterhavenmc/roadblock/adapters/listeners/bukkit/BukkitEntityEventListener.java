@@ -20,14 +20,13 @@ package com.winterhavenmc.roadblock.adapters.listeners.bukkit;
 import com.winterhavenmc.library.messagebuilder.MessageBuilder;
 import com.winterhavenmc.roadblock.core.util.PluginCtx;
 import com.winterhavenmc.roadblock.core.ports.highlights.HighlightManager;
-import com.winterhavenmc.roadblock.core.ports.highlights.HighlightStyle;
 import com.winterhavenmc.roadblock.core.ports.listeners.EntityEventListener;
 import com.winterhavenmc.roadblock.core.ports.config.MaterialsProvider;
 import com.winterhavenmc.roadblock.core.ports.datastore.BlockRepository;
+import com.winterhavenmc.roadblock.core.ports.jobs.BlockJobManager;
 import com.winterhavenmc.roadblock.core.util.Macro;
 import com.winterhavenmc.roadblock.core.util.MessageId;
 import com.winterhavenmc.roadblock.core.util.SoundId;
-import com.winterhavenmc.roadblock.core.util.Config;
 
 import org.bukkit.Location;
 import org.bukkit.Material;
@@ -37,18 +36,16 @@ import org.bukkit.event.EventHandler;
 import org.bukkit.event.block.Action;
 import org.bukkit.event.entity.EntityChangeBlockEvent;
 import org.bukkit.event.entity.EntityExplodeEvent;
-import org.bukkit.event.entity.EntityTargetEvent;
-import org.bukkit.event.entity.EntityTargetLivingEntityEvent;
 import org.bukkit.event.player.*;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.plugin.Plugin;
-import org.bukkit.potion.PotionEffect;
-import org.bukkit.potion.PotionEffectType;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 
 public class BukkitEntityEventListener implements EntityEventListener
@@ -58,11 +55,10 @@ public class BukkitEntityEventListener implements EntityEventListener
 	private final BlockRepository blocks;
 	private final MaterialsProvider materials;
 	private final HighlightManager highlightManager;
+	private final BlockJobManager jobs;
 
-	private final Set<EntityTargetEvent.TargetReason> cancelReasons = Set.of(
-			EntityTargetEvent.TargetReason.CLOSEST_PLAYER,
-			EntityTargetEvent.TargetReason.RANDOM_TARGET,
-			EntityTargetEvent.TargetReason.UNKNOWN);
+	// bumped each time a player puts the tool away, so fills still running for an earlier click are dropped
+	private final Map<UUID, Integer> fillGenerations = new ConcurrentHashMap<>();
 
 	private final static Set<Material> toolTransparentMaterials = Set.of(
 			Material.AIR, Material.CAVE_AIR, Material.VOID_AIR, Material.SNOW,
@@ -79,6 +75,7 @@ public class BukkitEntityEventListener implements EntityEventListener
 		this.blocks = ctx.blocks();
 		this.materials = ctx.materials();
 		this.highlightManager = ctx.highlightManager();
+		this.jobs = ctx.jobs();
 		plugin.getServer().getPluginManager().registerEvents(this, plugin);
 	}
 
@@ -123,50 +120,6 @@ public class BukkitEntityEventListener implements EntityEventListener
 	}
 
 
-	/**
-	 * Event handler for EntityTargetLivingEntityEvent;
-	 * cancels players being targeted by mobs if they are within configured height above a road block
-	 * and mob is further away than configured target-distance
-	 *
-	 * @param event the event handled by this method
-	 */
-	@EventHandler(ignoreCancelled = true)
-	@Override
-	public void onEntityTargetLivingEntity(final EntityTargetLivingEntityEvent event)
-	{
-		// if configured target distance is zero or negative, do nothing and return (feature is disabled)
-		if (Config.TARGET_DISTANCE.getInt(plugin.getConfig()) <= 0)
-		{
-			return;
-		}
-
-		// check that target is a player
-		if (event.getTarget() != null && event.getTarget() instanceof final Player player)
-		{
-			// check that player is above a road block
-			if (this.blocks.isAboveRoad(player))
-			{
-				// if entity to target distance is less than configured target distance,
-				// do nothing and return, allowing player to be targeted
-				if (event.getEntity().getLocation()
-						.distanceSquared(player.getLocation()) < Math.pow(Config.TARGET_DISTANCE.getInt(plugin.getConfig()), 2))
-				{
-					return;
-				}
-
-				// get target reason
-				final EntityTargetEvent.TargetReason reason = event.getReason();
-
-				// if reason is in cancelReasons list, cancel event
-				if (cancelReasons.contains(reason))
-				{
-					event.setCancelled(true);
-				}
-			}
-		}
-	}
-
-
 	/**
 	 * Event handler for PlayerItemHeldEvent;
 	 * unhighlights blocks when player changes held item from road block tool
@@ -184,6 +137,10 @@ public class BukkitEntityEventListener implements EntityEventListener
 		if (messageBuilder.items().isItem(previousItem))
 		{
 			highlightManager.unHighlightBlocks(player);
+
+			// putting the tool away stops any protect or unprotect jobs still running, and any fills not yet applied
+			fillGenerations.merge(player.getUniqueId(), 1, Integer::sum);
+			jobs.cancel(player);
 		}
 	}
 
@@ -306,74 +263,69 @@ public class BukkitEntityEventListener implements EntityEventListener
 				return;
 			}
 
-			// get road block locations attached to clicked block
-			final Collection<Location> locations = new HashSet<>(this.blocks.getFill(clickedBlock.getLocation(), materials));
-
-			// if right click, protect blocks
-			if (action.equals(Action.RIGHT_CLICK_BLOCK) || action.equals(Action.RIGHT_CLICK_AIR))
-			{
-				protectBlocks(player, locations);
-			}
-
-			// if left click, unprotect blocks
-			else if (action.equals(Action.LEFT_CLICK_BLOCK) || action.equals(Action.LEFT_CLICK_AIR))
-			{
-				unprotectBlocks(player, locations);
-			}
+			// let player know road blocks are being found; the fill and the job it starts complete on later ticks
+			messageBuilder.compose(player, MessageId.TOOL_INFO_WORKING).send();
+
+			// get road block locations attached to clicked block, then protect or unprotect them
+			final int generation = fillGenerations.getOrDefault(player.getUniqueId(), 0);
+			this.blocks.getFillAsync(clickedBlock.getLocation(), materials)
+					.thenAccept(locations -> applyFill(player, action, generation, locations))
+					.exceptionally(throwable ->
+					{
+						plugin.getLogger().warning("Could not find road blocks: " + throwable.getLocalizedMessage());
+						return null;
+					});
 		}
 	}
 
 
+	/**
+	 * Event handler for PlayerQuitEvent;
+	 * forgets the fill generation of the player
+	 *
+	 * @param event the event handled by this method
+	 */
 	@EventHandler
 	@Override
-	public final void onPlayerMove(final PlayerMoveEvent event)
+	public void onPlayerQuit(final PlayerQuitEvent event)
 	{
-		// if speed boost is configured false, do nothing and return
-		if (!Config.SPEED_BOOST.getBoolean(plugin.getConfig()))
-		{
-			return;
-		}
+		// a fill still running for the player is dropped anyway, as the player is no longer online
+		fillGenerations.remove(event.getPlayer().getUniqueId());
+	}
 
-		// get player for event
-		final Player player = event.getPlayer();
 
-		// if player is not above road, do nothing and return
-		if (!this.blocks.isAboveRoad(player))
+	/**
+	 * Protect or unprotect the road blocks found by a fill, once the fill has completed
+	 *
+	 * @param player     the player who clicked with the road block tool
+	 * @param action     the click action of the player
+	 * @param generation the fill generation of the player when the tool was clicked
+	 * @param locations  Collection of Location of blocks found by the fill
+	 */
+	private void applyFill(final Player player, final Action action, final int generation, final Collection<Location> locations)
+	{
+		// if player logged out or put the tool away while the fill was running, do nothing and return
+		if (!player.isOnline() || fillGenerations.getOrDefault(player.getUniqueId(), 0) != generation)
 		{
 			return;
 		}
 
-		// if player movement is head movement only, do nothing and return
-		if (event.getFrom().equals(event.getTo()))
+		// if right click, protect blocks
+		if (action.equals(Action.RIGHT_CLICK_BLOCK) || action.equals(Action.RIGHT_CLICK_AIR))
 		{
-			return;
+			protectBlocks(player, locations);
 		}
 
-		// speed boost attributes
-		boolean ambient = false;
-		boolean particles = false;
-		boolean icon = false;
-
-		// if player already has speed boost, get existing attributes
-		if (player.hasPotionEffect(PotionEffectType.SPEED))
+		// if left click, unprotect blocks
+		else if (action.equals(Action.LEFT_CLICK_BLOCK) || action.equals(Action.LEFT_CLICK_AIR))
 		{
-			PotionEffect currentEffect = player.getPotionEffect(PotionEffectType.SPEED);
-			assert currentEffect != null;
-			ambient = currentEffect.isAmbient();
-			particles = currentEffect.hasParticles();
-			icon = currentEffect.hasIcon();
+			unprotectBlocks(player, locations);
 		}
-
-		// speed boost potion effect
-		PotionEffect speedBoost = new PotionEffect(PotionEffectType.SPEED, 10, 1, ambient, particles, icon);
-
-		// apply speed boost to player
-		player.addPotionEffect(speedBoost);
 	}
 
 
 	/**
-	 * Protect a collection of blocks
+	 * Protect a collection of blocks. The blocks are protected by a job that runs over as many ticks as needed.
 	 *
 	 * @param player    the player invoking the protection of blocks
 	 * @param locations Collection of Location of blocks to be protected
@@ -381,22 +333,12 @@ public class BukkitEntityEventListener implements EntityEventListener
 	@Override
 	public void protectBlocks(final Player player, final Collection<Location> locations)
 	{
-		// highlight blocks
-		highlightManager.highlightBlocks(player, locations, HighlightStyle.PROTECT);
-
-		// store blocks
-		int count = this.blocks.storeBlockLocations(locations);
-
-		// send player successful protect message
-		messageBuilder.sounds().play(player, SoundId.TOOL_SUCCESS_PROTECT);
-		messageBuilder.compose(player, MessageId.TOOL_SUCCESS_PROTECT)
-				.setMacro(Macro.QUANTITY, count)
-				.send();
+		jobs.protect(player, locations);
 	}
 
 
 	/**
-	 * Unprotect a collection of blocks
+	 * Unprotect a collection of blocks. The blocks are unprotected by a job that runs over as many ticks as needed.
 	 *
 	 * @param player    the player invoking the unprotection of blocks
 	 * @param locations Collection of Location of blocks to be unprotected
@@ -404,17 +346,7 @@ public class BukkitEntityEventListener implements EntityEventListener
 	@Override
 	public void unprotectBlocks(final Player player, final Collection<Location> locations)
 	{
-		// highlight blocks
-		highlightManager.highlightBlocks(player, locations, HighlightStyle.UNPROTECT);
-
-		// remove blocks from storage
-		int result = this.blocks.removeBlockLocations(locations);
-
-		// send player successful unprotect message
-		messageBuilder.sounds().play(player, SoundId.TOOL_SUCCESS_UNPROTECT);
-		messageBuilder.compose(player, MessageId.TOOL_SUCCESS_UNPROTECT)
-				.setMacro(Macro.QUANTITY, result)
-				.send();
+		jobs.unprotect(player, locations);
 	}
 
 }
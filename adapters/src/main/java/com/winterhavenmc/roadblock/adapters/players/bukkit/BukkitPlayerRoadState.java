@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.roadblock.adapters.players.bukkit;
+
+import com.winterhavenmc.roadblock.core.ports.datastore.BlockRepository;
+import com.winterhavenmc.roadblock.core.ports.players.PlayerRoadState;
+import com.winterhavenmc.roadblock.core.util.ConfigProvider;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.plugin.Plugin;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/**
+ * A class that tracks whether each player is standing above a road. A player's state is re-evaluated
+ * only when the player moves into a different block, or when the protection of a block in the column
+ * the player is standing in changes; every other check is answered from the last result.
+ */
+public final class BukkitPlayerRoadState implements PlayerRoadState
+{
+	private final ConfigProvider config;
+	private final BlockRepository blocks;
+	private final Map<UUID, Entry> entries = new ConcurrentHashMap<>();
+
+
+	/**
+	 * Class constructor
+	 */
+	public BukkitPlayerRoadState(final Plugin plugin, final ConfigProvider config, final BlockRepository blocks)
+	{
+		this.config = config;
+		this.blocks = blocks;
+
+		// register events in this class
+		plugin.getServer().getPluginManager().registerEvents(this, plugin);
+	}
+
+
+	@Override
+	public boolean update(final Player player, final Location location)
+	{
+		if (player == null || location == null || location.getWorld() == null)
+		{
+			return false;
+		}
+
+		final Entry entry = entries.computeIfAbsent(player.getUniqueId(), uid -> new Entry());
+		final World world = location.getWorld();
+		final int x = location.getBlockX();
+		final int y = location.getBlockY();
+		final int z = location.getBlockZ();
+
+		// if player is still in the same block, return the last result
+		if (entry.isAt(world, x, y, z))
+		{
+			return entry.onRoad;
+		}
+
+		entry.moveTo(world, x, y, z);
+		entry.onRoad = evaluate(entry);
+		return entry.onRoad;
+	}
+
+
+	@Override
+	public boolean isOnRoad(final Player player)
+	{
+		if (player == null)
+		{
+			return false;
+		}
+
+		return update(player, player.getLocation());
+	}
+
+
+	@Override
+	public void invalidate(final Collection<Location> locations)
+	{
+		if (locations == null || locations.isEmpty() || entries.isEmpty())
+		{
+			return;
+		}
+
+		for (Entry entry : entries.values())
+		{
+			for (Location location : locations)
+			{
+				if (entry.isInColumn(location))
+				{
+					entry.onRoad = evaluate(entry);
+					break;
+				}
+			}
+		}
+	}
+
+
+	@Override
+	public void clear()
+	{
+		entries.clear();
+	}
+
+
+	@EventHandler
+	@Override
+	public void onPlayerQuit(final PlayerQuitEvent event)
+	{
+		entries.remove(event.getPlayer().getUniqueId());
+	}
+
+
+	private boolean evaluate(final Entry entry)
+	{
+		return blocks.isAboveRoad(new Location(entry.world, entry.x, entry.y, entry.z), config.get().onRoadHeight());
+	}
+
+
+	/**
+	 * The last block a player was seen in, and whether that block is above a road. The coordinates are
+	 * only written on the server thread; the result may be read from any thread.
+	 */
+	private static final class Entry
+	{
+		private World world;
+		private int x;
+		private int y;
+		private int z;
+		private volatile boolean onRoad;
+
+
+		private boolean isAt(final World world, final int x, final int y, final int z)
+		{
+			return this.x == x && this.y == y && this.z == z && this.world == world;
+		}
+
+
+		private boolean isInColumn(final Location location)
+		{
+			return location.getBlockX() == x && location.getBlockZ() == z
+					&& location.getWorld() != null && location.getWorld() == world;
+		}
+
+
+		private void moveTo(final World world, final int x, final int y, final int z)
+		{
+			this.world = world;
+			this.x = x;
+			this.y = y;
+			this.z = z;
+		}
+	}
+
+}
@@ -26,7 +26,7 @@ import org.bukkit.scheduler.BukkitRunnable;
 /**
  * A class that extends BukkitRunnable to execute a task after a delay to remove highlighting from blocks for a player
  */
-final class BukkitRemoveHighlightTask extends BukkitRunnable implements RemoveHighlightTask
+public final class BukkitRemoveHighlightTask extends BukkitRunnable implements RemoveHighlightTask
 {
 	private final HighlightManager highlightManager;
 	private final Player player;
@@ -35,9 +35,10 @@ final class BukkitRemoveHighlightTask extends BukkitRunnable implements RemoveHi
 	/**
 	 * Class constructor
 	 *
+	 * @param highlightManager the highlight manager that removes the highlighting
 	 * @param player the player for whom to remove block highlighting
 	 */
-	BukkitRemoveHighlightTask(final HighlightManager highlightManager, final Player player)
+	public BukkitRemoveHighlightTask(final HighlightManager highlightManager, final Player player)
 	{
 		this.highlightManager = highlightManager;
 		this.player = player;
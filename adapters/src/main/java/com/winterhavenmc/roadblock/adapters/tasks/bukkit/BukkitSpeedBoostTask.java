@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.roadblock.adapters.tasks.bukkit;
+
+import com.winterhavenmc.roadblock.core.ports.players.PlayerRoadState;
+import com.winterhavenmc.roadblock.core.tasks.SpeedBoostTask;
+
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.potion.PotionEffect;
+import org.bukkit.potion.PotionEffectType;
+import org.bukkit.scheduler.BukkitRunnable;
+
+
+/**
+ * A class that extends BukkitRunnable to give players on roads a speed boost. The task runs only while
+ * speed-boost is configured true, every
+ * {@link #PERIOD_TICKS} ticks and tops up the effect only when it is about to run out, so a player
+ * walking along a road receives one effect update every few ticks instead of one for every move.
+ */
+public final class BukkitSpeedBoostTask extends BukkitRunnable implements SpeedBoostTask
+{
+	/**
+	 * The number of ticks between sweeps over online players
+	 */
+	public static final long PERIOD_TICKS = 5L;
+
+	// the effect lasts long enough to bridge sweeps, and is topped up once no more than two sweeps remain
+	private static final int DURATION_TICKS = 20;
+	private static final int REFRESH_BELOW_TICKS = (int) (PERIOD_TICKS * 2);
+	private static final int AMPLIFIER = 1;
+
+	private final Plugin plugin;
+	private final PlayerRoadState roadState;
+
+
+	/**
+	 * Class constructor
+	 *
+	 * @param plugin    the plugin instance
+	 * @param roadState the on-road state of players
+	 */
+	public BukkitSpeedBoostTask(final Plugin plugin, final PlayerRoadState roadState)
+	{
+		this.plugin = plugin;
+		this.roadState = roadState;
+	}
+
+
+	@Override
+	public void run()
+	{
+		for (Player player : plugin.getServer().getOnlinePlayers())
+		{
+			if (roadState.isOnRoad(player))
+			{
+				boost(player);
+			}
+		}
+	}
+
+
+	private void boost(final Player player)
+	{
+		// speed boost attributes
+		boolean ambient = false;
+		boolean particles = false;
+		boolean icon = false;
+
+		// if player already has speed, leave a stronger effect, an effect outlasting the boost, or a boost
+		// not yet due to be topped up alone, so a potion is never replaced; else keep its attributes
+		final PotionEffect currentEffect = player.getPotionEffect(PotionEffectType.SPEED);
+		if (currentEffect != null)
+		{
+			if (currentEffect.getAmplifier() > AMPLIFIER
+					|| currentEffect.isInfinite()
+					|| currentEffect.getDuration() > DURATION_TICKS
+					|| currentEffect.getAmplifier() == AMPLIFIER && currentEffect.getDuration() >= REFRESH_BELOW_TICKS)
+			{
+				return;
+			}
+			ambient = currentEffect.isAmbient();
+			particles = currentEffect.hasParticles();
+			icon = currentEffect.hasIcon();
+		}
+
+		// apply speed boost to player
+		player.addPotionEffect(new PotionEffect(PotionEffectType.SPEED, DURATION_TICKS, AMPLIFIER, ambient, particles, icon));
+	}
+
+}
@@ -0,0 +1,289 @@
+package com.winterhavenmc.roadblock.adapters.datastore;
+
+import com.winterhavenmc.roadblock.models.blocklocation.BlockLocation;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+class BlockLocationCacheTest
+{
+	private final BlockLocationCache cache = BlockLocationCache.getInstance();
+
+
+	private static BlockLocation.Valid location(final UUID worldUid, final int x, final int y, final int z)
+	{
+		return new BlockLocation.Valid("world", worldUid, x, y, z, x >> 4, z >> 4);
+	}
+
+
+	@Test
+	void BlockKey_round_trips_negative_and_extreme_coordinates()
+	{
+		// Arrange
+		int[][] coordinates = { { 0, 0, 0 }, { -1, -64, -1 }, { 29_999_999, 2047, -29_999_999 }, { -30_000_000, -2048, 30_000_000 } };
+
+		for (int[] c : coordinates)
+		{
+			// Act
+			long key = BlockKey.pack(c[0], c[1], c[2]);
+
+			// Assert
+			assertEquals(c[0], BlockKey.x(key));
+			assertEquals(c[1], BlockKey.y(key));
+			assertEquals(c[2], BlockKey.z(key));
+		}
+	}
+
+
+	@Test
+	void put_then_get_returns_status()
+	{
+		// Arrange
+		UUID worldUid = UUID.randomUUID();
+		BlockLocation.Valid location = location(worldUid, 10, 64, -10);
+
+		// Act
+		CacheStatus previous = cache.put(location, CacheStatus.RESIDENT);
+
+		// Assert
+		assertNull(previous);
+		assertEquals(CacheStatus.RESIDENT, cache.get(location));
+		assertEquals(CacheStatus.RESIDENT, cache.get(location(worldUid, 10, 64, -10)));
+		assertNull(cache.get(location(UUID.randomUUID(), 10, 64, -10)));
+	}
+
+
+	@Test
+	void remove_returns_previous_status_and_keeps_colliding_entries()
+	{
+		// Arrange
+		UUID worldUid = UUID.randomUUID();
+		for (int x = 0; x < 1000; x++)
+		{
+			cache.put(location(worldUid, x, 70, x * 3), CacheStatus.RESIDENT);
+		}
+
+		// Act
+		for (int x = 0; x < 1000; x += 2)
+		{
+			assertEquals(CacheStatus.RESIDENT, cache.remove(location(worldUid, x, 70, x * 3)));
+		}
+
+		// Assert
+		for (int x = 0; x < 1000; x++)
+		{
+			CacheStatus expected = (x % 2 == 0) ? null : CacheStatus.RESIDENT;
+			assertEquals(expected, cache.get(location(worldUid, x, 70, x * 3)));
+		}
+	}
+
+
+	@Test
+	void keySet_unpacks_cached_locations()
+	{
+		// Arrange
+		UUID worldUid = UUID.randomUUID();
+		BlockLocation.Valid location = location(worldUid, -17, -5, 33);
+		cache.put(location, CacheStatus.PENDING_INSERT);
+
+		// Act
+		Set<BlockLocation> keys = cache.keySet();
+
+		// Assert
+		assertTrue(keys.contains(location));
+	}
+
+
+	@Test
+	void invalid_location_is_ignored()
+	{
+		// Arrange
+		BlockLocation invalid = new BlockLocation.Invalid(null);
+
+		// Act & Assert
+		assertNull(cache.put(invalid, CacheStatus.RESIDENT));
+		assertNull(cache.get(invalid));
+		assertNull(cache.remove(invalid));
+	}
+
+
+	@Test
+	void installChunk_marks_chunk_resident_and_keeps_session_statuses()
+	{
+		// Arrange
+		UUID worldUid = UUID.randomUUID();
+		BlockLocation.Valid pending = location(worldUid, 33, 64, 47);
+		BlockLocation.Valid stored = location(worldUid, 34, 64, 47);
+		cache.put(pending, CacheStatus.PENDING_DELETE);
+
+		// Act
+		cache.installChunk(worldUid, "world", 2, 2, List.of(pending, stored));
+
+		// Assert
+		assertTrue(cache.isChunkResident(worldUid, 2, 2));
+		assertFalse(cache.isChunkResident(worldUid, 2, 3));
+		assertEquals(CacheStatus.PENDING_DELETE, cache.get(pending));
+		assertEquals(CacheStatus.RESIDENT, cache.get(stored));
+	}
+
+
+	@Test
+	void evictChunk_removes_only_blocks_in_chunk()
+	{
+		// Arrange
+		UUID worldUid = UUID.randomUUID();
+		BlockLocation.Valid inChunk = location(worldUid, -1, 64, -1);
+		BlockLocation.Valid neighbor = location(worldUid, 0, 64, -1);
+		cache.installChunk(worldUid, "world", -1, -1, List.of(inChunk));
+		cache.installChunk(worldUid, "world", 0, -1, List.of(neighbor));
+
+		// Act
+		cache.evictChunk(worldUid, -1, -1);
+
+		// Assert
+		assertFalse(cache.isChunkResident(worldUid, -1, -1));
+		assertNull(cache.get(inChunk));
+		assertEquals(CacheStatus.RESIDENT, cache.get(neighbor));
+	}
+
+
+	@Test
+	void evictChunk_keeps_pending_blocks_until_completed()
+	{
+		// Arrange
+		UUID worldUid = UUID.randomUUID();
+		BlockLocation.Valid stored = location(worldUid, 16, 64, 16);
+		BlockLocation.Valid inserted = location(worldUid, 17, 64, 16);
+		cache.installChunk(worldUid, "world", 1, 1, List.of(stored));
+		cache.put(inserted, CacheStatus.PENDING_INSERT);
+
+		// Act
+		cache.evictChunk(worldUid, 1, 1);
+
+		// Assert
+		assertFalse(cache.isChunkResident(worldUid, 1, 1));
+		assertNull(cache.get(stored));
+		assertEquals(CacheStatus.PENDING_INSERT, cache.get(inserted));
+
+		// Act
+		cache.complete(inserted, CacheStatus.PENDING_INSERT);
+
+		// Assert
+		assertNull(cache.get(inserted));
+		assertFalse(cache.isChunkResident(worldUid, 1, 1));
+	}
+
+
+	@Test
+	void complete_promotes_insert_in_resident_chunk_and_ignores_newer_status()
+	{
+		// Arrange
+		UUID worldUid = UUID.randomUUID();
+		BlockLocation.Valid inserted = location(worldUid, 48, 64, 48);
+		BlockLocation.Valid reinserted = location(worldUid, 49, 64, 48);
+		cache.installChunk(worldUid, "world", 3, 3, List.of(reinserted));
+		cache.put(inserted, CacheStatus.PENDING_INSERT);
+		cache.put(reinserted, CacheStatus.PENDING_INSERT);
+
+		// Act
+		cache.complete(inserted, CacheStatus.PENDING_INSERT);
+		cache.complete(reinserted, CacheStatus.PENDING_DELETE);
+
+		// Assert
+		assertEquals(CacheStatus.RESIDENT, cache.get(inserted));
+		assertEquals(CacheStatus.PENDING_INSERT, cache.get(reinserted));
+	}
+
+
+	@Test
+	void forEachInChunk_visits_blocks_and_reports_residency()
+	{
+		// Arrange
+		UUID worldUid = UUID.randomUUID();
+		BlockLocation.Valid stored = location(worldUid, -30, 64, 70);
+		BlockLocation.Valid pending = location(worldUid, 50, 64, 70);
+		cache.installChunk(worldUid, "world", -2, 4, List.of(stored));
+		cache.put(pending, CacheStatus.PENDING_INSERT);
+		Map<BlockLocation, CacheStatus> visited = new HashMap<>();
+
+		// Act
+		boolean resident = cache.forEachInChunk(worldUid, -2, 4, (x, y, z, status) -> visited.put(location(worldUid, x, y, z), status));
+		boolean pendingResident = cache.forEachInChunk(worldUid, 3, 4, (x, y, z, status) -> visited.put(location(worldUid, x, y, z), status));
+		boolean absentResident = cache.forEachInChunk(worldUid, 9, 9, (x, y, z, status) -> fail());
+
+		// Assert
+		assertTrue(resident);
+		assertFalse(pendingResident);
+		assertFalse(absentResident);
+		assertEquals(Map.of(stored, CacheStatus.RESIDENT, pending, CacheStatus.PENDING_INSERT), visited);
+	}
+
+
+	@Test
+	void isAboveProtected_follows_protected_heights_in_column()
+	{
+		// Arrange
+		UUID worldUid = UUID.randomUUID();
+		BlockLocation.Valid road = location(worldUid, 100, 64, 100);
+		BlockLocation.Valid bridge = location(worldUid, 100, 80, 100);
+		cache.installChunk(worldUid, "world", 6, 6, List.of(road, bridge));
+
+		// Act & Assert
+		assertTrue(cache.isAboveProtected(worldUid, 100, 65, 100, 1));
+		assertTrue(cache.isAboveProtected(worldUid, 100, 70, 100, 6));
+		assertFalse(cache.isAboveProtected(worldUid, 100, 71, 100, 6));
+		assertFalse(cache.isAboveProtected(worldUid, 100, 64, 100, 6));
+		assertTrue(cache.isAboveProtected(worldUid, 100, 81, 100, 1));
+		assertFalse(cache.isAboveProtected(worldUid, 101, 65, 100, 1));
+
+		// Act
+		cache.put(bridge, CacheStatus.PENDING_DELETE);
+		cache.remove(road);
+
+		// Assert
+		assertFalse(cache.isAboveProtected(worldUid, 100, 81, 100, 1));
+		assertFalse(cache.isAboveProtected(worldUid, 100, 65, 100, 1));
+
+		// Act
+		cache.put(road, CacheStatus.PENDING_INSERT);
+
+		// Assert
+		assertTrue(cache.isAboveProtected(worldUid, 100, 65, 100, 1));
+	}
+
+
+	@Test
+	void isAboveProtected_finds_next_top_when_top_of_stacked_column_is_removed()
+	{
+		// Arrange
+		UUID worldUid = UUID.randomUUID();
+		BlockLocation.Valid road = location(worldUid, 100, 64, 100);
+		BlockLocation.Valid lowerBridge = location(worldUid, 100, 72, 100);
+		BlockLocation.Valid upperBridge = location(worldUid, 100, 80, 100);
+		cache.installChunk(worldUid, "world", 6, 6, List.of(road, lowerBridge, upperBridge));
+
+		// Act
+		cache.remove(upperBridge);
+
+		// Assert
+		assertFalse(cache.isAboveProtected(worldUid, 100, 81, 100, 1));
+		assertTrue(cache.isAboveProtected(worldUid, 100, 73, 100, 1));
+		assertTrue(cache.isAboveProtected(worldUid, 100, 65, 100, 1));
+
+		// Act
+		cache.remove(lowerBridge);
+
+		// Assert
+		assertFalse(cache.isAboveProtected(worldUid, 100, 73, 100, 1));
+		assertFalse(cache.isAboveProtected(worldUid, 100, 80, 100, 8));
+		assertTrue(cache.isAboveProtected(worldUid, 100, 65, 100, 1));
+	}
+
+}
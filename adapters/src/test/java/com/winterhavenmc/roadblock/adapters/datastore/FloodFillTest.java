@@ -0,0 +1,91 @@
+package com.winterhavenmc.roadblock.adapters.datastore;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+class FloodFillTest
+{
+	/**
+	 * A layer reader for two roads crossing at the origin, reaching 50 blocks out along each axis
+	 */
+	private static final FloodFill.LayerReader CROSSROADS = (chunkX, chunkZ, y, layer) ->
+	{
+		for (int z = 0; z < 16; z++)
+		{
+			for (int x = 0; x < 16; x++)
+			{
+				final int blockX = (chunkX << 4) + x;
+				final int blockZ = (chunkZ << 4) + z;
+				if ((blockX == 0 && Math.abs(blockZ) <= 50) || (blockZ == 0 && Math.abs(blockX) <= 50))
+				{
+					FloodFill.setBit(layer, x, z);
+				}
+			}
+		}
+	};
+
+
+	private static Set<Long> keys(final FillResult result)
+	{
+		final Set<Long> keys = new HashSet<>();
+		for (int i = 0; i < result.size(); i++)
+		{
+			keys.add(result.key(i));
+		}
+		return keys;
+	}
+
+
+	@Test
+	void fill_follows_connected_road_blocks_within_spread_distance()
+	{
+		// Arrange
+		FloodFill floodFill = new FloodFill(CROSSROADS);
+
+		// Act
+		FillResult result = floodFill.fill(0, 64, 0, 10);
+
+		// Assert
+		Set<Long> keys = keys(result);
+		assertEquals(4 * 9 + 1, result.size());
+		assertEquals(result.size(), keys.size());
+		assertTrue(keys.contains(BlockKey.pack(9, 64, 0)));
+		assertTrue(keys.contains(BlockKey.pack(0, 64, -9)));
+		assertFalse(keys.contains(BlockKey.pack(10, 64, 0)));
+	}
+
+
+	@Test
+	void fill_stops_at_end_of_road()
+	{
+		// Arrange
+		FloodFill floodFill = new FloodFill(CROSSROADS);
+
+		// Act
+		FillResult result = floodFill.fill(-50, 64, 0, 1000);
+
+		// Assert
+		assertEquals(4 * 50 + 1, result.size());
+		assertFalse(keys(result).contains(BlockKey.pack(-51, 64, 0)));
+	}
+
+
+	@Test
+	void fill_from_non_road_block_is_empty()
+	{
+		// Arrange
+		FloodFill floodFill = new FloodFill(CROSSROADS);
+
+		// Act
+		FillResult result = floodFill.fill(5, 64, 5, 100);
+
+		// Assert
+		assertEquals(0, result.size());
+	}
+
+}
@@ -0,0 +1,60 @@
+package com.winterhavenmc.roadblock.adapters.datastore;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+class RoadChunkIndexTest
+{
+	private static final UUID WORLD_UID = UUID.fromString("6a1c5e76-0e4a-4d4e-9a39-1b9b7f0f2b11");
+	private static final UUID OTHER_WORLD_UID = UUID.fromString("0b7c6f1e-3a2d-4c8b-9e51-7d4f2a6b8c90");
+
+
+	@Test
+	void contains_only_added_chunks()
+	{
+		// Arrange
+		RoadChunkIndex index = new RoadChunkIndex();
+
+		// Act
+		index.add(WORLD_UID, 3, -7);
+		index.add(WORLD_UID, -32, 31);
+
+		// Assert
+		assertTrue(index.contains(WORLD_UID, 3, -7));
+		assertTrue(index.contains(WORLD_UID, -32, 31));
+		assertFalse(index.contains(WORLD_UID, 3, -6));
+		assertFalse(index.contains(WORLD_UID, 35, -7));
+		assertFalse(index.contains(WORLD_UID, -31, 31));
+		assertFalse(index.contains(OTHER_WORLD_UID, 3, -7));
+	}
+
+
+	@Test
+	void remove_clears_chunk_and_leaves_neighbours()
+	{
+		// Arrange
+		RoadChunkIndex index = new RoadChunkIndex();
+		index.add(WORLD_UID, 0, 0);
+		index.add(WORLD_UID, 1, 0);
+
+		// Act
+		index.remove(WORLD_UID, 0, 0);
+		index.remove(OTHER_WORLD_UID, 1, 0);
+
+		// Assert
+		assertFalse(index.contains(WORLD_UID, 0, 0));
+		assertTrue(index.contains(WORLD_UID, 1, 0));
+
+		// Act: removing the last chunk of a region, then adding it back
+		index.remove(WORLD_UID, 1, 0);
+		index.add(WORLD_UID, 1, 0);
+
+		// Assert
+		assertTrue(index.contains(WORLD_UID, 1, 0));
+	}
+
+}
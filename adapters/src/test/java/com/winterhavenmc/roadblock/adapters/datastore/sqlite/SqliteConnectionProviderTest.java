@@ -0,0 +1,127 @@
+package com.winterhavenmc.roadblock.adapters.datastore.sqlite;
+
+import com.winterhavenmc.library.messagebuilder.models.configuration.ConfigRepository;
+import com.winterhavenmc.roadblock.core.ports.config.MaterialsProvider;
+import com.winterhavenmc.roadblock.core.util.ConfigProvider;
+
+import org.bukkit.Server;
+import org.bukkit.plugin.Plugin;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+
+@ExtendWith(MockitoExtension.class)
+class SqliteConnectionProviderTest
+{
+	private static final UUID WORLD_UID = UUID.fromString("6a1c5e76-0e4a-4d4e-9a39-1b9b7f0f2b11");
+
+	@Mock Plugin pluginMock;
+	@Mock Server serverMock;
+	@Mock MaterialsProvider materialsMock;
+	@Mock ConfigProvider configMock;
+	@Mock ConfigRepository configRepositoryMock;
+
+	@TempDir Path dataFolder;
+
+
+	@BeforeEach
+	void setUp()
+	{
+		when(pluginMock.getDataFolder()).thenReturn(dataFolder.toFile());
+		lenient().when(pluginMock.getLogger()).thenReturn(Logger.getLogger("RoadBlock"));
+		lenient().when(pluginMock.getServer()).thenReturn(serverMock);
+		lenient().when(configRepositoryMock.locale()).thenReturn(Locale.US);
+	}
+
+
+	@Test
+	void connect_refuses_to_start_when_the_compact_schema_update_is_rolled_back() throws SQLException
+	{
+		// Arrange
+		try (Connection connection = DriverManager.getConnection(dbUrl()))
+		{
+			try (Statement statement = connection.createStatement())
+			{
+				statement.executeUpdate(SqliteQueries.getQuery("CreateBlockTable"));
+				statement.executeUpdate("PRAGMA user_version = 2");
+			}
+			insertLegacyBlock(connection, "world", WORLD_UID, 1, 64, 1);
+			insertLegacyBlock(connection, "gone", null, 5, 70, 5);
+		}
+		SqliteConnectionProvider connectionProvider = new SqliteConnectionProvider(pluginMock, materialsMock, configMock, configRepositoryMock);
+
+		// Act & Assert
+		assertThrows(IllegalStateException.class, connectionProvider::connect);
+		assertNull(connectionProvider.blocks());
+
+		try (Connection connection = DriverManager.getConnection(dbUrl()))
+		{
+			assertEquals(2, count(connection, "PRAGMA user_version"));
+			assertEquals(2, count(connection, "SELECT COUNT(*) FROM blocks"));
+			assertEquals(0, count(connection, "SELECT COUNT(*) FROM sqlite_master WHERE name IN ('worlds', 'blocks_compact')"));
+		}
+	}
+
+
+	private String dbUrl()
+	{
+		return "jdbc:sqlite:" + dataFolder.resolve("roadblocks.db");
+	}
+
+
+	private static void insertLegacyBlock(final Connection connection, final String worldName, final UUID worldUid,
+	                                      final int x, final int y, final int z) throws SQLException
+	{
+		try (PreparedStatement preparedStatement = connection.prepareStatement(
+				"INSERT INTO blocks (worldname, worlduidmsb, worlduidlsb, x, y, z, chunk_x, chunk_z) VALUES (?,?,?,?,?,?,?,?)"))
+		{
+			preparedStatement.setString(1, worldName);
+			if (worldUid != null)
+			{
+				preparedStatement.setLong(2, worldUid.getMostSignificantBits());
+				preparedStatement.setLong(3, worldUid.getLeastSignificantBits());
+			}
+			else
+			{
+				preparedStatement.setNull(2, Types.BIGINT);
+				preparedStatement.setNull(3, Types.BIGINT);
+			}
+			preparedStatement.setInt(4, x);
+			preparedStatement.setInt(5, y);
+			preparedStatement.setInt(6, z);
+			preparedStatement.setInt(7, x >> 4);
+			preparedStatement.setInt(8, z >> 4);
+			preparedStatement.executeUpdate();
+		}
+	}
+
+
+	private static int count(final Connection connection, final String sql) throws SQLException
+	{
+		try (Statement statement = connection.createStatement();
+		     ResultSet resultSet = statement.executeQuery(sql))
+		{
+			return resultSet.next() ? resultSet.getInt(1) : 0;
+		}
+	}
+
+}
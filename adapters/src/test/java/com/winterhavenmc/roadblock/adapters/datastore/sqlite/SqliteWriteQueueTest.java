@@ -0,0 +1,229 @@
+package com.winterhavenmc.roadblock.adapters.datastore.sqlite;
+
+import com.winterhavenmc.library.messagebuilder.models.configuration.ConfigRepository;
+import com.winterhavenmc.roadblock.adapters.datastore.BlockLocationCache;
+import com.winterhavenmc.roadblock.adapters.datastore.CacheStatus;
+import com.winterhavenmc.roadblock.core.util.ConfigProvider;
+import com.winterhavenmc.roadblock.models.blocklocation.BlockLocation;
+
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.plugin.Plugin;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+
+@ExtendWith(MockitoExtension.class)
+class SqliteWriteQueueTest
+{
+	@Mock Plugin pluginMock;
+	@Mock FileConfiguration configurationMock;
+	@Mock ConfigRepository configRepositoryMock;
+
+	private final BlockLocationCache cache = BlockLocationCache.getInstance();
+	private final UUID worldUid = UUID.randomUUID();
+
+	private Connection connection;
+	private SqliteWriteQueue writeQueue;
+
+
+	@BeforeEach
+	void setUp() throws SQLException
+	{
+		connection = DriverManager.getConnection("jdbc:sqlite::memory:");
+
+		when(pluginMock.getConfig()).thenReturn(configurationMock);
+		when(configurationMock.getInt("datastore-batch-size")).thenReturn(500);
+		lenient().when(pluginMock.getName()).thenReturn("RoadBlock");
+		lenient().when(pluginMock.getLogger()).thenReturn(Logger.getLogger("RoadBlock"));
+		lenient().when(configRepositoryMock.locale()).thenReturn(Locale.US);
+
+		writeQueue = new SqliteWriteQueue(pluginMock, connection, configRepositoryMock, new ConfigProvider(pluginMock));
+
+		// the chunk is resident, so committed inserts are kept in the cache
+		cache.installChunk(worldUid, "world", 0, 0, List.of());
+	}
+
+
+	@AfterEach
+	void tearDown() throws SQLException
+	{
+		writeQueue.close();
+		cache.evictChunk(worldUid, 0, 0);
+		connection.close();
+	}
+
+
+	private BlockLocation.Valid location(final int x, final int y, final int z)
+	{
+		return new BlockLocation.Valid("world", worldUid, x, y, z, x >> 4, z >> 4);
+	}
+
+
+	private void createSchema() throws SQLException
+	{
+		try (Statement statement = connection.createStatement())
+		{
+			statement.executeUpdate(SqliteQueries.getQuery("CreateWorldTable"));
+			statement.executeUpdate(SqliteQueries.getQuery("CreateCompactBlockTable"));
+			statement.executeUpdate(SqliteQueries.getQuery("RenameCompactBlockTable"));
+		}
+	}
+
+
+	private int countBlocks() throws SQLException
+	{
+		try (Statement statement = connection.createStatement();
+		     ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM blocks"))
+		{
+			return resultSet.next() ? resultSet.getInt(1) : 0;
+		}
+	}
+
+
+	@Test
+	void insert_then_write_commits_record_and_completes_cache() throws SQLException
+	{
+		// Arrange
+		createSchema();
+		BlockLocation.Valid location = location(1, 64, 1);
+
+		// Act
+		writeQueue.insert(location);
+		int queuedDelta = writeQueue.pendingDelta();
+		writeQueue.write();
+
+		// Assert
+		assertEquals(1, queuedDelta);
+		assertEquals(0, writeQueue.size());
+		assertEquals(0, writeQueue.pendingDelta());
+		assertEquals(CacheStatus.RESIDENT, cache.get(location));
+		assertEquals(1, countBlocks());
+	}
+
+
+	@Test
+	void insert_then_delete_cancels_out() throws SQLException
+	{
+		// Arrange
+		createSchema();
+		BlockLocation.Valid location = location(2, 64, 2);
+
+		// Act
+		writeQueue.insert(location);
+		writeQueue.delete(location);
+		writeQueue.write();
+
+		// Assert
+		assertEquals(0, writeQueue.size());
+		assertEquals(0, writeQueue.pendingDelta());
+		assertNull(cache.get(location));
+		assertEquals(0, countBlocks());
+	}
+
+
+	@Test
+	void delete_then_insert_keeps_committed_record() throws SQLException
+	{
+		// Arrange
+		createSchema();
+		BlockLocation.Valid location = location(3, 64, 3);
+		writeQueue.insert(location);
+		writeQueue.write();
+
+		// Act
+		writeQueue.delete(location);
+		assertEquals(CacheStatus.PENDING_DELETE, cache.get(location));
+		assertEquals(-1, writeQueue.pendingDelta());
+		writeQueue.insert(location);
+		writeQueue.write();
+
+		// Assert
+		assertEquals(0, writeQueue.size());
+		assertEquals(0, writeQueue.pendingDelta());
+		assertEquals(CacheStatus.RESIDENT, cache.get(location));
+		assertEquals(1, countBlocks());
+	}
+
+
+	@Test
+	void failed_write_requeues_changes_and_keeps_pending_statuses() throws SQLException
+	{
+		// Arrange
+		BlockLocation.Valid first = location(4, 64, 4);
+		BlockLocation.Valid second = location(5, 64, 5);
+		writeQueue.insert(first);
+		writeQueue.insert(second);
+
+		// Act
+		writeQueue.write();
+
+		// Assert
+		assertEquals(2, writeQueue.size());
+		assertEquals(2, writeQueue.pendingDelta());
+		assertEquals(CacheStatus.PENDING_INSERT, cache.get(first));
+		assertEquals(CacheStatus.PENDING_INSERT, cache.get(second));
+	}
+
+
+	@Test
+	void requeued_insert_is_cancelled_by_later_delete_and_rest_is_committed() throws SQLException
+	{
+		// Arrange
+		BlockLocation.Valid first = location(6, 64, 6);
+		BlockLocation.Valid second = location(7, 64, 7);
+		writeQueue.insert(first);
+		writeQueue.insert(second);
+		writeQueue.write();
+
+		// Act
+		writeQueue.delete(first);
+		createSchema();
+		writeQueue.write();
+
+		// Assert
+		assertEquals(0, writeQueue.size());
+		assertEquals(0, writeQueue.pendingDelta());
+		assertNull(cache.get(first));
+		assertEquals(CacheStatus.RESIDENT, cache.get(second));
+		assertEquals(1, countBlocks());
+	}
+
+
+	@Test
+	void write_commits_batch_larger_than_one_transaction() throws SQLException
+	{
+		// Arrange
+		createSchema();
+		int records = SqliteWriteQueue.MAX_COMMIT_ROWS + 1;
+		for (int i = 0; i < records; i++)
+		{
+			writeQueue.insert(location(i & 15, i >> 4, 8));
+		}
+
+		// Act
+		writeQueue.write();
+
+		// Assert
+		assertEquals(0, writeQueue.size());
+		assertEquals(0, writeQueue.pendingDelta());
+		assertEquals(records, countBlocks());
+	}
+
+}
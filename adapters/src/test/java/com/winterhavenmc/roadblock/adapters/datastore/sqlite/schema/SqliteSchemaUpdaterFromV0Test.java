@@ -0,0 +1,115 @@
+package com.winterhavenmc.roadblock.adapters.datastore.sqlite.schema;
+
+import com.winterhavenmc.library.messagebuilder.models.configuration.ConfigRepository;
+import com.winterhavenmc.roadblock.adapters.datastore.sqlite.SqliteQueries;
+
+import org.bukkit.Server;
+import org.bukkit.plugin.Plugin;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+
+@ExtendWith(MockitoExtension.class)
+class SqliteSchemaUpdaterFromV0Test
+{
+	private static final UUID WORLD_UID = UUID.fromString("6a1c5e76-0e4a-4d4e-9a39-1b9b7f0f2b11");
+	private static final UUID UNLOADED_WORLD_UID = UUID.fromString("9d8c7b6a-5f4e-4d3c-8b2a-1f0e9d8c7b6a");
+
+	@Mock Plugin pluginMock;
+	@Mock Server serverMock;
+	@Mock ConfigRepository configRepositoryMock;
+
+	@TempDir Path dataFolder;
+
+	private Connection connection;
+
+
+	@BeforeEach
+	void setUp() throws SQLException
+	{
+		connection = DriverManager.getConnection("jdbc:sqlite:" + dataFolder.resolve("roadblocks.db"));
+
+		lenient().when(pluginMock.getLogger()).thenReturn(Logger.getLogger("RoadBlock"));
+		lenient().when(pluginMock.getServer()).thenReturn(serverMock);
+		lenient().when(configRepositoryMock.locale()).thenReturn(Locale.US);
+	}
+
+
+	@AfterEach
+	void tearDown() throws SQLException
+	{
+		connection.close();
+	}
+
+
+	@Test
+	void update_from_v0_keeps_rows_of_worlds_that_are_not_loaded() throws SQLException
+	{
+		// Arrange
+		try (Statement statement = connection.createStatement())
+		{
+			statement.executeUpdate(SqliteQueries.getQuery("CreateBlockTable"));
+			statement.executeUpdate(SqliteQueries.getQuery("CreateChunkIndex"));
+		}
+		insertBlock("world", WORLD_UID, 1, 64, 1);
+		insertBlock("world", WORLD_UID, 2, 64, 1);
+		insertBlock("unloaded", UNLOADED_WORLD_UID, 1, 64, 1);
+
+		// Act
+		SqliteSchemaUpdater.create(pluginMock, connection, configRepositoryMock).update();
+
+		// Assert
+		assertEquals(SqliteSchemaUpdaterFromV2.SCHEMA_VERSION, count("PRAGMA user_version"));
+		assertEquals(3, count("SELECT COUNT(*) FROM blocks"));
+		assertEquals(2, count("SELECT COUNT(*) FROM worlds"));
+		verify(serverMock, never()).getWorld(anyString());
+	}
+
+
+	private void insertBlock(final String worldName, final UUID worldUid, final int x, final int y, final int z) throws SQLException
+	{
+		try (PreparedStatement preparedStatement = connection.prepareStatement(
+				"INSERT INTO blocks (worldname, worlduidmsb, worlduidlsb, x, y, z, chunk_x, chunk_z) VALUES (?,?,?,?,?,?,?,?)"))
+		{
+			preparedStatement.setString(1, worldName);
+			preparedStatement.setLong(  2, worldUid.getMostSignificantBits());
+			preparedStatement.setLong(  3, worldUid.getLeastSignificantBits());
+			preparedStatement.setInt(   4, x);
+			preparedStatement.setInt(   5, y);
+			preparedStatement.setInt(   6, z);
+			preparedStatement.setInt(   7, x >> 4);
+			preparedStatement.setInt(   8, z >> 4);
+			preparedStatement.executeUpdate();
+		}
+	}
+
+
+	private int count(final String sql) throws SQLException
+	{
+		try (Statement statement = connection.createStatement();
+		     ResultSet resultSet = statement.executeQuery(sql))
+		{
+			return resultSet.next() ? resultSet.getInt(1) : 0;
+		}
+	}
+
+}
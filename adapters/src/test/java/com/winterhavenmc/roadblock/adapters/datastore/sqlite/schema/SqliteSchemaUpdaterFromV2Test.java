@@ -0,0 +1,200 @@
+package com.winterhavenmc.roadblock.adapters.datastore.sqlite.schema;
+
+import com.winterhavenmc.library.messagebuilder.models.configuration.ConfigRepository;
+import com.winterhavenmc.roadblock.adapters.datastore.sqlite.SqliteQueries;
+
+import org.bukkit.Server;
+import org.bukkit.World;
+import org.bukkit.plugin.Plugin;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+
+@ExtendWith(MockitoExtension.class)
+class SqliteSchemaUpdaterFromV2Test
+{
+	private static final UUID WORLD_UID = UUID.fromString("6a1c5e76-0e4a-4d4e-9a39-1b9b7f0f2b11");
+	private static final UUID LEGACY_WORLD_UID = UUID.fromString("0b7c6f1e-3a2d-4c8b-9e51-7d4f2a6b8c90");
+	private static final UUID NAMED_WORLD_UID = UUID.fromString("3f2e1d0c-5b4a-4987-8a6b-1c2d3e4f5a6b");
+
+	@Mock Plugin pluginMock;
+	@Mock Server serverMock;
+	@Mock World worldMock;
+	@Mock ConfigRepository configRepositoryMock;
+
+	@TempDir Path dataFolder;
+
+	private Connection connection;
+
+
+	@BeforeEach
+	void setUp() throws SQLException
+	{
+		connection = DriverManager.getConnection("jdbc:sqlite:" + dataFolder.resolve("roadblocks.db"));
+
+		lenient().when(pluginMock.getLogger()).thenReturn(Logger.getLogger("RoadBlock"));
+		lenient().when(pluginMock.getServer()).thenReturn(serverMock);
+		lenient().when(configRepositoryMock.locale()).thenReturn(Locale.US);
+	}
+
+
+	@AfterEach
+	void tearDown() throws SQLException
+	{
+		connection.close();
+	}
+
+
+	@Test
+	void update_from_v2_copies_rows_and_resolves_v0_rows_by_world_name() throws SQLException
+	{
+		// Arrange
+		createLegacySchema(2);
+		insertLegacyBlock("world", WORLD_UID, 1, 64, 1);
+		insertLegacyBlock("world", WORLD_UID, 17, 64, 1);
+		insertLegacyBlock("legacy", null, 5, 70, 5);
+		insertLegacyBlock("legacy", LEGACY_WORLD_UID, 5, 70, 5);
+		insertLegacyBlock("legacy", null, 6, 70, 5);
+		insertLegacyBlock("named", NAMED_WORLD_UID, 3, 60, 3);
+		insertLegacyBlock("named", null, 2, 60, 2);
+		lenient().when(serverMock.getWorld("legacy")).thenReturn(worldMock);
+		when(worldMock.getUID()).thenReturn(LEGACY_WORLD_UID);
+
+		// Act
+		SqliteSchemaUpdater.create(pluginMock, connection, configRepositoryMock).update();
+
+		// Assert
+		assertEquals(SqliteSchemaUpdaterFromV2.SCHEMA_VERSION, userVersion());
+		assertEquals(6, count("SELECT COUNT(*) FROM blocks"));
+		assertEquals(3, count("SELECT COUNT(*) FROM worlds"));
+		assertEquals(2, countInWorld(WORLD_UID));
+		assertEquals(2, countInWorld(LEGACY_WORLD_UID));
+		assertEquals(2, countInWorld(NAMED_WORLD_UID));
+	}
+
+
+	@Test
+	void update_from_v2_rolls_back_when_a_world_cannot_be_resolved() throws SQLException
+	{
+		// Arrange
+		createLegacySchema(2);
+		insertLegacyBlock("world", WORLD_UID, 1, 64, 1);
+		insertLegacyBlock("gone", null, 5, 70, 5);
+
+		// Act
+		new SqliteSchemaUpdaterFromV2(pluginMock, connection, configRepositoryMock).update();
+
+		// Assert
+		assertEquals(2, userVersion());
+		assertEquals(2, count("SELECT COUNT(*) FROM blocks"));
+		assertEquals(1, count("SELECT COUNT(*) FROM blocks WHERE worldname = 'gone' AND worlduidmsb IS NULL"));
+		assertEquals(0, count("SELECT COUNT(*) FROM sqlite_master WHERE name IN ('worlds', 'blocks_compact')"));
+	}
+
+
+	@Test
+	void update_from_v1_continues_to_the_compact_schema() throws SQLException
+	{
+		// Arrange
+		createLegacySchema(1);
+		insertLegacyBlock("world", WORLD_UID, 1, 64, 1);
+		insertLegacyBlock("world", WORLD_UID, -1, 64, -1);
+
+		// Act
+		SqliteSchemaUpdater.create(pluginMock, connection, configRepositoryMock).update();
+
+		// Assert
+		assertEquals(SqliteSchemaUpdaterFromV2.SCHEMA_VERSION, userVersion());
+		assertEquals(2, countInWorld(WORLD_UID));
+		assertEquals(1, count("SELECT COUNT(*) FROM blocks WHERE chunk_x = -1 AND chunk_z = -1"));
+	}
+
+
+	private void createLegacySchema(final int version) throws SQLException
+	{
+		try (Statement statement = connection.createStatement())
+		{
+			statement.executeUpdate(SqliteQueries.getQuery("CreateBlockTable"));
+			statement.executeUpdate(SqliteQueries.getQuery("CreateChunkIndex"));
+			statement.executeUpdate("PRAGMA user_version = " + version);
+		}
+	}
+
+
+	private void insertLegacyBlock(final String worldName, final UUID worldUid, final int x, final int y, final int z) throws SQLException
+	{
+		try (PreparedStatement preparedStatement = connection.prepareStatement(
+				"INSERT INTO blocks (worldname, worlduidmsb, worlduidlsb, x, y, z, chunk_x, chunk_z) VALUES (?,?,?,?,?,?,?,?)"))
+		{
+			preparedStatement.setString(1, worldName);
+			if (worldUid != null)
+			{
+				preparedStatement.setLong(2, worldUid.getMostSignificantBits());
+				preparedStatement.setLong(3, worldUid.getLeastSignificantBits());
+			}
+			else
+			{
+				preparedStatement.setNull(2, Types.BIGINT);
+				preparedStatement.setNull(3, Types.BIGINT);
+			}
+			preparedStatement.setInt(4, x);
+			preparedStatement.setInt(5, y);
+			preparedStatement.setInt(6, z);
+			preparedStatement.setInt(7, x >> 4);
+			preparedStatement.setInt(8, z >> 4);
+			preparedStatement.executeUpdate();
+		}
+	}
+
+
+	private int userVersion() throws SQLException
+	{
+		return count("PRAGMA user_version");
+	}
+
+
+	private int countInWorld(final UUID worldUid) throws SQLException
+	{
+		try (PreparedStatement preparedStatement = connection.prepareStatement(
+				"SELECT COUNT(*) FROM blocks JOIN worlds ON worlds.id = blocks.world_id WHERE uid_msb = ? AND uid_lsb = ?"))
+		{
+			preparedStatement.setLong(1, worldUid.getMostSignificantBits());
+			preparedStatement.setLong(2, worldUid.getLeastSignificantBits());
+			try (ResultSet resultSet = preparedStatement.executeQuery())
+			{
+				return resultSet.next() ? resultSet.getInt(1) : 0;
+			}
+		}
+	}
+
+
+	private int count(final String sql) throws SQLException
+	{
+		try (Statement statement = connection.createStatement();
+		     ResultSet resultSet = statement.executeQuery(sql))
+		{
+			return resultSet.next() ? resultSet.getInt(1) : 0;
+		}
+	}
+
+}
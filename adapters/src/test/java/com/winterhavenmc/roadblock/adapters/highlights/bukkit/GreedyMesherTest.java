@@ -0,0 +1,112 @@
+package com.winterhavenmc.roadblock.adapters.highlights.bukkit;
+
+import com.winterhavenmc.roadblock.adapters.datastore.BlockKey;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+class GreedyMesherTest
+{
+	private static long[] keys(final List<int[]> blocks)
+	{
+		return blocks.stream().mapToLong(block -> BlockKey.pack(block[0], block[1], block[2])).toArray();
+	}
+
+
+	private static Set<Long> covered(final List<GreedyMesher.Box> boxes)
+	{
+		final Set<Long> covered = new HashSet<>();
+		for (GreedyMesher.Box box : boxes)
+		{
+			for (int dy = 0; dy < box.sizeY(); dy++)
+			{
+				for (int dz = 0; dz < box.sizeZ(); dz++)
+				{
+					for (int dx = 0; dx < box.sizeX(); dx++)
+					{
+						assertTrue(covered.add(BlockKey.pack(box.x() + dx, box.y() + dy, box.z() + dz)));
+					}
+				}
+			}
+		}
+		return covered;
+	}
+
+
+	@Test
+	void mesh_merges_straight_road_into_one_box()
+	{
+		// Arrange
+		List<int[]> blocks = new ArrayList<>();
+		for (int x = -100; x < 100; x++)
+		{
+			blocks.add(new int[] { x, 64, 7 });
+		}
+
+		// Act
+		List<GreedyMesher.Box> boxes = GreedyMesher.mesh(keys(blocks));
+
+		// Assert
+		assertEquals(List.of(new GreedyMesher.Box(-100, 64, 7, 200, 1, 1)), boxes);
+	}
+
+
+	@Test
+	void mesh_merges_wide_road_over_rows_and_layers()
+	{
+		// Arrange
+		List<int[]> blocks = new ArrayList<>();
+		for (int y = 63; y <= 64; y++)
+		{
+			for (int z = 0; z < 3; z++)
+			{
+				for (int x = 0; x < 50; x++)
+				{
+					blocks.add(new int[] { x, y, z });
+				}
+			}
+		}
+
+		// Act
+		List<GreedyMesher.Box> boxes = GreedyMesher.mesh(keys(blocks));
+
+		// Assert
+		assertEquals(List.of(new GreedyMesher.Box(0, 63, 0, 50, 2, 3)), boxes);
+	}
+
+
+	@Test
+	void mesh_covers_every_block_exactly_once()
+	{
+		// Arrange: two crossing roads with a step up in one of them
+		List<int[]> blocks = new ArrayList<>();
+		for (int i = -20; i <= 20; i++)
+		{
+			blocks.add(new int[] { i, (i > 10) ? 65 : 64, 0 });
+			if (i != 0)
+			{
+				blocks.add(new int[] { 0, 64, i });
+			}
+		}
+		long[] keys = keys(blocks);
+
+		// Act
+		List<GreedyMesher.Box> boxes = GreedyMesher.mesh(keys);
+
+		// Assert
+		Set<Long> expected = new HashSet<>();
+		for (long key : keys)
+		{
+			expected.add(key);
+		}
+		assertEquals(expected, covered(boxes));
+		assertTrue(boxes.size() <= 5);
+	}
+
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.roadblock.adapters.config.bukkit;
+
+import com.winterhavenmc.roadblock.adapters.datastore.sqlite.StubServer;
+import com.winterhavenmc.roadblock.core.util.Config;
+
+import org.bukkit.Material;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.plugin.Plugin;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * The per-call cost of a road block material check. The parse benchmarks measure the former lookup,
+ * which parsed the configured material list on every call; the table benchmarks measure the compiled
+ * material table. A hit is a configured material; a miss is any other material.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MaterialLookupBenchmark
+{
+	private Plugin plugin;
+	private BukkitMaterialsProvider materialsProvider;
+
+
+	@Setup(Level.Trial)
+	public void setUp()
+	{
+		final YamlConfiguration configuration = new YamlConfiguration();
+		configuration.set(Config.MATERIALS.toKey(), ((List<?>) Config.MATERIALS.getDefaultObject()).stream()
+				.map(Object::toString)
+				.toList());
+
+		plugin = StubServer.plugin(new File(System.getProperty("java.io.tmpdir")), configuration);
+		materialsProvider = new BukkitMaterialsProvider(plugin);
+	}
+
+
+	@Benchmark
+	public boolean parseHit()
+	{
+		return BukkitMaterialsProvider.getValidMaterials(plugin).contains(Material.COBBLESTONE);
+	}
+
+
+	@Benchmark
+	public boolean parseMiss()
+	{
+		return BukkitMaterialsProvider.getValidMaterials(plugin).contains(Material.OAK_LOG);
+	}
+
+
+	@Benchmark
+	public boolean tableHit()
+	{
+		return materialsProvider.contains(Material.COBBLESTONE);
+	}
+
+
+	@Benchmark
+	public boolean tableMiss()
+	{
+		return materialsProvider.contains(Material.OAK_LOG);
+	}
+
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.roadblock.adapters.datastore.sqlite;
+
+import org.bukkit.Location;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * The on-road check made on every player move, at increasing heights above the road. The check walks up
+ * from the deepest block, so a hit returns at the road surface and a miss walks every level.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AboveRoadBenchmark
+{
+	@Param({ "1", "3", "6" })
+	public int depth;
+
+	private Location aboveRoadLocation;
+	private Location besideRoadLocation;
+
+
+	@Setup(Level.Trial)
+	public void setUp(final RepositoryState state)
+	{
+		final int roadY = StubServer.ROAD_NETWORK.roadY();
+
+		aboveRoadLocation = StubServer.location(0, roadY + depth, 5);
+		besideRoadLocation = StubServer.location(5, roadY + depth, 5);
+
+		// load the chunk into the cache
+		state.repository.isProtected(StubServer.location(0, roadY, 5));
+	}
+
+
+	@Benchmark
+	public boolean isAboveRoadHit(final RepositoryState state)
+	{
+		return state.repository.isAboveRoad(aboveRoadLocation, depth);
+	}
+
+
+	@Benchmark
+	public boolean isAboveRoadMiss(final RepositoryState state)
+	{
+		return state.repository.isAboveRoad(besideRoadLocation, depth);
+	}
+
+}
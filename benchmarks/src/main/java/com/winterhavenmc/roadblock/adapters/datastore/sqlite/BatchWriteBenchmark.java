@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.roadblock.adapters.datastore.sqlite;
+
+import com.winterhavenmc.roadblock.models.blocklocation.BlockLocation;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Compares the per-row insert and delete path of {@link SqliteBlockQueryExecutor} with its JDBC batch
+ * and multi-row paths. Each operation inserts a straight road of {@code rows} blocks and deletes it again,
+ * in one transaction per direction, as the write queue does.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BatchWriteBenchmark
+{
+	@Param({ "100", "1000", "10000" })
+	public int rows;
+
+	@Param({ "500" })
+	public int batchSize;
+
+	private final SqliteBlockQueryExecutor blockQueryExecutor = new SqliteBlockQueryExecutor();
+	private File dataFile;
+	private Connection connection;
+	private List<BlockLocation.Valid> road;
+	private PreparedStatement insertStatement;
+	private PreparedStatement insertRowsStatement;
+	private PreparedStatement deleteStatement;
+	private PreparedStatement deleteRowsStatement;
+
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException, SQLException
+	{
+		dataFile = File.createTempFile("roadblock-bench", ".db");
+		connection = DriverManager.getConnection("jdbc:sqlite:" + dataFile.getPath());
+
+		RepositoryState.createSchema(connection);
+
+		final UUID worldUid = UUID.randomUUID();
+		road = new ArrayList<>(rows);
+		for (int x = 0; x < rows; x++)
+		{
+			road.add(new BlockLocation.Valid("world", worldUid, x, 64, 0, x >> 4, 0));
+		}
+
+		try (PreparedStatement worldStatement = connection.prepareStatement(SqliteQueries.getQuery("UpsertWorld")))
+		{
+			blockQueryExecutor.upsertWorlds(road, worldStatement);
+		}
+
+		insertStatement = connection.prepareStatement(SqliteQueries.getQuery("InsertOrIgnoreBlock"));
+		insertRowsStatement = connection.prepareStatement(SqliteBlockQueryExecutor.expandRowList(
+				SqliteQueries.getQuery("InsertOrIgnoreBlocks"), SqliteBlockQueryExecutor.ROWS_PER_STATEMENT, SqliteBlockQueryExecutor.INSERT_COLUMNS));
+		deleteStatement = connection.prepareStatement(SqliteQueries.getQuery("DeleteBlock"));
+		deleteRowsStatement = connection.prepareStatement(SqliteBlockQueryExecutor.expandRowList(
+				SqliteQueries.getQuery("DeleteBlocks"), SqliteBlockQueryExecutor.ROWS_PER_STATEMENT, SqliteBlockQueryExecutor.DELETE_COLUMNS));
+	}
+
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws SQLException
+	{
+		insertStatement.close();
+		insertRowsStatement.close();
+		deleteStatement.close();
+		deleteRowsStatement.close();
+		connection.close();
+		//noinspection ResultOfMethodCallIgnored
+		dataFile.delete();
+	}
+
+
+	@Benchmark
+	public int perRow() throws SQLException
+	{
+		int count = 0;
+
+		connection.setAutoCommit(false);
+		for (BlockLocation.Valid blockLocation : road)
+		{
+			count += blockQueryExecutor.insertRecord(blockLocation, insertStatement);
+		}
+		connection.commit();
+
+		for (BlockLocation.Valid blockLocation : road)
+		{
+			count += blockQueryExecutor.deleteRecords(blockLocation, deleteStatement);
+		}
+		connection.commit();
+		connection.setAutoCommit(true);
+
+		return count;
+	}
+
+
+	@Benchmark
+	public int batched() throws SQLException
+	{
+		connection.setAutoCommit(false);
+		int count = blockQueryExecutor.insertRecords(road, batchSize, insertStatement);
+		connection.commit();
+
+		count += blockQueryExecutor.deleteRecords(road, batchSize, deleteStatement);
+		connection.commit();
+		connection.setAutoCommit(true);
+
+		return count;
+	}
+
+
+	@Benchmark
+	public int multiRow() throws SQLException
+	{
+		connection.setAutoCommit(false);
+		int count = blockQueryExecutor.insertRecords(road, batchSize, insertRowsStatement, insertStatement);
+		connection.commit();
+
+		count += blockQueryExecutor.deleteRecords(road, batchSize, deleteRowsStatement, deleteStatement);
+		connection.commit();
+		connection.setAutoCommit(true);
+
+		return count;
+	}
+
+}
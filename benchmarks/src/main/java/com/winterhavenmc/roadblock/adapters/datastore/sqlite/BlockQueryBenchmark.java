@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.roadblock.adapters.datastore.sqlite;
+
+import org.bukkit.Location;
+import org.bukkit.block.Block;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Protection checks that run on every block and entity event and on every player move, for blocks in
+ * chunks that are resident in the cache. A hit is a protected road block; a miss is a block beside the road.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BlockQueryBenchmark
+{
+	private Location roadLocation;
+	private Location besideRoadLocation;
+	private Block roadBlock;
+	private Block besideRoadBlock;
+
+
+	@Setup(Level.Trial)
+	public void setUp(final RepositoryState state)
+	{
+		final int roadY = StubServer.ROAD_NETWORK.roadY();
+
+		roadLocation = StubServer.location(0, roadY, 5);
+		besideRoadLocation = StubServer.location(5, roadY, 5);
+		roadBlock = roadLocation.getBlock();
+		besideRoadBlock = besideRoadLocation.getBlock();
+
+		// load the chunk into the cache
+		state.repository.isProtected(roadLocation);
+	}
+
+
+	@Benchmark
+	public boolean isProtectedHit(final RepositoryState state)
+	{
+		return state.repository.isProtected(roadLocation);
+	}
+
+
+	@Benchmark
+	public boolean isProtectedMiss(final RepositoryState state)
+	{
+		return state.repository.isProtected(besideRoadLocation);
+	}
+
+
+	@Benchmark
+	public boolean isRoadBlockHit(final RepositoryState state)
+	{
+		return state.repository.isRoadBlock(roadBlock);
+	}
+
+
+	@Benchmark
+	public boolean isRoadBlockMiss(final RepositoryState state)
+	{
+		return state.repository.isRoadBlock(besideRoadBlock);
+	}
+
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.winterhavenmc.roadblock.adapters.datastore.sqlite;
+
+import com.winterhavenmc.roadblock.core.util.Config;
+
+import org.bukkit.Location;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * The flood fill run when a player clicks a road with the tool, started at a road junction of the
+ * synthetic road network and bounded by the configured spread distance.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FillBenchmark
+{
+	@Param({ "25", "50", "100" })
+	public int spreadDistance;
+
+	private Location junction;
+
+
+	@Setup(Level.Trial)
+	public void setUp(final RepositoryState state)
+	{
+		state.plugin.getConfig().set(Config.SPREAD_DISTANCE.toKey(), spreadDistance);
+		state.config.reload();
+		junction = StubServer.location(0, StubServer.ROAD_NETWORK.roadY(), 0);
+	}
+
+
+	@Benchmark
+	public Set<Location> getFill(final RepositoryState state)
+	{
+		return state.repository.getFill(junction, state.materialsProvider);
+	}
+
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.winterhavenmc.roadblock.adapters.datastore.sqlite;
+
+import org.bukkit.Chunk;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Removing one chunk from the block cache on chunk unload, with an increasing number of other chunks
+ * resident. The chunk is loaded back into the cache before each invocation, outside the measurement.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FlushCacheBenchmark
+{
+	@Param({ "16", "1024", "4096" })
+	public int residentChunks;
+
+	private Chunk chunk;
+
+
+	@Setup(Level.Trial)
+	public void setUp(final RepositoryState state)
+	{
+		final int roadY = StubServer.ROAD_NETWORK.roadY();
+		final int chunkExtent = StubServer.ROAD_NETWORK.extent() >> 4;
+		final int side = (int) Math.ceil(Math.sqrt(residentChunks));
+
+		// make a square of chunks resident, starting at the north-west corner of the road network
+		for (int i = 0; i < residentChunks; i++)
+		{
+			final int chunkX = -chunkExtent + (i % side);
+			final int chunkZ = -chunkExtent + (i / side);
+			state.repository.isProtected(StubServer.location(chunkX << 4, roadY, chunkZ << 4));
+		}
+
+		chunk = StubServer.chunk(-chunkExtent, -chunkExtent);
+	}
+
+
+	@Setup(Level.Invocation)
+	public void loadChunk(final RepositoryState state)
+	{
+		state.repository.isProtected(StubServer.location(chunk.getX() << 4, StubServer.ROAD_NETWORK.roadY(), chunk.getZ() << 4));
+	}
+
+
+	@Benchmark
+	public void flushCache(final RepositoryState state)
+	{
+		state.repository.flushCache(chunk);
+	}
+
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.winterhavenmc.roadblock.adapters.datastore.sqlite;
+
+import org.bukkit.Location;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * The proximity query behind the show command, centered in the synthetic road network, with the covered
+ * chunks either all resident in the cache or none of them.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NearbyBlocksBenchmark
+{
+	@Param({ "16", "100", "500" })
+	public int radius;
+
+	@Param({ "false", "true" })
+	public boolean resident;
+
+	private Location origin;
+
+
+	@Setup(Level.Trial)
+	public void setUp(final RepositoryState state)
+	{
+		origin = StubServer.location(8, StubServer.ROAD_NETWORK.roadY() + 1, 8);
+
+		if (resident)
+		{
+			// load every covered chunk into the cache
+			for (int chunkX = (8 - radius) >> 4; chunkX <= (8 + radius) >> 4; chunkX++)
+			{
+				for (int chunkZ = (8 - radius) >> 4; chunkZ <= (8 + radius) >> 4; chunkZ++)
+				{
+					state.repository.isProtected(StubServer.location(chunkX << 4, StubServer.ROAD_NETWORK.roadY(), chunkZ << 4));
+				}
+			}
+		}
+	}
+
+
+	@Benchmark
+	public Collection<Location> getNearbyBlocks(final RepositoryState state)
+	{
+		return state.repository.getNearbyBlocks(origin, radius);
+	}
+
+}
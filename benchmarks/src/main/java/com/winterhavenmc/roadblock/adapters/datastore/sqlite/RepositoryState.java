@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.roadblock.adapters.datastore.sqlite;
+
+import com.winterhavenmc.library.messagebuilder.models.configuration.ConfigRepository;
+import com.winterhavenmc.roadblock.adapters.config.bukkit.BukkitMaterialsProvider;
+import com.winterhavenmc.roadblock.adapters.datastore.RoadChunkIndex;
+import com.winterhavenmc.roadblock.core.ports.config.MaterialsProvider;
+import com.winterhavenmc.roadblock.core.util.Config;
+import com.winterhavenmc.roadblock.core.util.ConfigProvider;
+import com.winterhavenmc.roadblock.models.blocklocation.BlockLocation;
+
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.plugin.Plugin;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+
+/**
+ * A block repository backed by a temp-file SQLite database that holds every block of the stub world's
+ * {@link RoadNetwork}, wired up as the connection provider does, but without the chunk prefetcher.
+ * Chunks are loaded into the cache by the repository's synchronous fallback on first use.
+ */
+@State(Scope.Benchmark)
+public class RepositoryState
+{
+	File dataFolder;
+	Plugin plugin;
+	ConfigRepository configRepository;
+	MaterialsProvider materialsProvider;
+	ConfigProvider config;
+	Connection writerConnection;
+	SqliteReadPool readPool;
+	SqliteWriteQueue writeQueue;
+	SqliteBlockRepository repository;
+	List<BlockLocation.Valid> roadBlocks;
+
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException, SQLException
+	{
+		dataFolder = Files.createTempDirectory("roadblock-bench").toFile();
+
+		final YamlConfiguration configuration = new YamlConfiguration();
+		configuration.set(Config.MATERIALS.toKey(), List.of(RoadNetwork.ROAD_MATERIAL.name()));
+		configuration.set(Config.SPREAD_DISTANCE.toKey(), Config.SPREAD_DISTANCE.getDefaultObject());
+		configuration.set(Config.ON_ROAD_HEIGHT.toKey(), Config.ON_ROAD_HEIGHT.getDefaultObject());
+		configuration.set(Config.DATASTORE_BATCH_SIZE.toKey(), Config.DATASTORE_BATCH_SIZE.getDefaultObject());
+
+		plugin = StubServer.plugin(dataFolder, configuration);
+		configRepository = StubServer.configRepository();
+		materialsProvider = new BukkitMaterialsProvider(plugin);
+		config = new ConfigProvider(plugin);
+
+		final String dbUrl = "jdbc:sqlite:" + new File(dataFolder, "roadblocks.db").getPath();
+		writerConnection = DriverManager.getConnection(dbUrl);
+		roadBlocks = StubServer.ROAD_NETWORK.locations(StubServer.WORLD_NAME, StubServer.WORLD_UID);
+		seed(writerConnection, roadBlocks);
+
+		readPool = SqliteReadPool.open(dbUrl, SqliteConnectionProvider.READ_POOL_SIZE);
+		writeQueue = new SqliteWriteQueue(plugin, writerConnection, configRepository, config);
+		repository = new SqliteBlockRepository(plugin, readPool, configRepository, materialsProvider, config, new RoadChunkIndex(), writeQueue);
+		repository.loadRoadChunks();
+		writeQueue.start();
+	}
+
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException, SQLException
+	{
+		writeQueue.close();
+		readPool.close();
+		writerConnection.close();
+
+		try (Stream<Path> paths = Files.walk(dataFolder.toPath()))
+		{
+			for (Path path : paths.sorted(Comparator.reverseOrder()).toList())
+			{
+				Files.delete(path);
+			}
+		}
+	}
+
+
+	/**
+	 * Create the tables of the current schema, as the schema updaters leave them
+	 */
+	static void createSchema(final Connection connection) throws SQLException
+	{
+		try (Statement statement = connection.createStatement())
+		{
+			statement.executeUpdate(SqliteQueries.getQuery("CreateWorldTable"));
+			statement.executeUpdate(SqliteQueries.getQuery("CreateCompactBlockTable"));
+			statement.executeUpdate(SqliteQueries.getQuery("RenameCompactBlockTable"));
+			statement.executeUpdate("PRAGMA user_version = " + SqliteBlockRowMapper.COMPACT_SCHEMA_VERSION);
+		}
+	}
+
+
+	/**
+	 * Create the current schema and insert every road block in a single transaction
+	 */
+	private static void seed(final Connection connection, final List<BlockLocation.Valid> blockLocations) throws SQLException
+	{
+		try (Statement statement = connection.createStatement())
+		{
+			statement.execute(SqliteQueries.getQuery("EnableWriteAheadLog"));
+			statement.execute(SqliteQueries.getQuery("SetSynchronousNormal"));
+		}
+		createSchema(connection);
+
+		final SqliteBlockQueryExecutor blockQueryExecutor = new SqliteBlockQueryExecutor();
+		try (PreparedStatement worldStatement = connection.prepareStatement(SqliteQueries.getQuery("UpsertWorld"));
+		     PreparedStatement insertStatement = connection.prepareStatement(SqliteQueries.getQuery("InsertOrIgnoreBlock")))
+		{
+			connection.setAutoCommit(false);
+			blockQueryExecutor.upsertWorlds(blockLocations, worldStatement);
+			blockQueryExecutor.insertRecords(blockLocations, Integer.MAX_VALUE, insertStatement);
+			connection.commit();
+		}
+		finally
+		{
+			connection.setAutoCommit(true);
+		}
+	}
+
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.roadblock.adapters.datastore.sqlite;
+
+import com.winterhavenmc.roadblock.models.blocklocation.BlockLocation;
+
+import org.bukkit.Material;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+
+/**
+ * A synthetic road network: a square grid of cobblestone roads, one block wide, at a fixed height,
+ * laid over solid stone. Block types are computed from coordinates, so the network costs no memory.
+ *
+ * @param roadY   the height of the road surface
+ * @param spacing the distance between parallel roads
+ * @param extent  the distance from the origin to the edge of the network on each horizontal axis
+ */
+record RoadNetwork(int roadY, int spacing, int extent)
+{
+	static final Material ROAD_MATERIAL = Material.COBBLESTONE;
+
+
+	boolean isRoad(final int x, final int y, final int z)
+	{
+		return y == roadY
+				&& Math.abs(x) <= extent && Math.abs(z) <= extent
+				&& (Math.floorMod(x, spacing) == 0 || Math.floorMod(z, spacing) == 0);
+	}
+
+
+	Material getType(final int x, final int y, final int z)
+	{
+		if (isRoad(x, y, z)) return ROAD_MATERIAL;
+		else if (y <= roadY) return Material.STONE;
+		else return Material.AIR;
+	}
+
+
+	/**
+	 * Get the locations of every road block in the network
+	 *
+	 * @param worldName the name of the world containing the network
+	 * @param worldUid  the uid of the world containing the network
+	 * @return a List of all road block locations
+	 */
+	List<BlockLocation.Valid> locations(final String worldName, final UUID worldUid)
+	{
+		final List<BlockLocation.Valid> locations = new ArrayList<>();
+
+		for (int x = -extent; x <= extent; x++)
+		{
+			for (int z = -extent; z <= extent; z++)
+			{
+				if (isRoad(x, roadY, z))
+				{
+					locations.add(new BlockLocation.Valid(worldName, worldUid, x, roadY, z, x >> 4, z >> 4));
+				}
+			}
+		}
+
+		return locations;
+	}
+
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+package com.winterhavenmc.roadblock.adapters.datastore.sqlite;
+
+import com.winterhavenmc.roadblock.models.blocklocation.BlockLocation;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Protecting and then unprotecting a set of blocks, as the tool does, at increasing set sizes. This measures
+ * the cost on the calling thread; the write queue coalesces each insert with its delete, so the datastore
+ * is only written when a write interval falls between the two.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SaveDeleteBenchmark
+{
+	@Param({ "1", "100", "1000", "10000" })
+	public int blocks;
+
+	private Set<BlockLocation.Valid> blockLocations;
+
+
+	@Setup(Level.Trial)
+	public void setUp(final RepositoryState state)
+	{
+		// a square of blocks above the road surface, so none of them are protected
+		final int y = StubServer.ROAD_NETWORK.roadY() + 10;
+		final int side = (int) Math.ceil(Math.sqrt(blocks));
+
+		blockLocations = new HashSet<>();
+		for (int i = 0; i < blocks; i++)
+		{
+			final int x = i % side;
+			final int z = i / side;
+			blockLocations.add(new BlockLocation.Valid(StubServer.WORLD_NAME, StubServer.WORLD_UID, x, y, z, x >> 4, z >> 4));
+		}
+
+		// load the chunks into the cache
+		state.repository.save(blockLocations);
+		state.repository.delete(blockLocations);
+	}
+
+
+	@Benchmark
+	public int saveAndDelete(final RepositoryState state)
+	{
+		return state.repository.save(blockLocations) + state.repository.delete(blockLocations);
+	}
+
+}
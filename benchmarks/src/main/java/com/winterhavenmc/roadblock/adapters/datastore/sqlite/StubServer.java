@@ -0,0 +1,262 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.roadblock.adapters.datastore.sqlite;
+
+import com.winterhavenmc.library.messagebuilder.models.configuration.ConfigRepository;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Location;
+import org.bukkit.Server;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockFace;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.PluginManager;
+
+import java.io.File;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+
+/**
+ * Minimal stand-ins for the Bukkit server, plugin and world, so the datastore can be exercised outside
+ * a running server. Each stub is a dynamic proxy that implements the few methods the datastore calls
+ * and returns a default value from every other method.
+ * <p>
+ * The stub world has a single {@link RoadNetwork}; its blocks are created on demand and carry no state.
+ */
+public final class StubServer
+{
+	static final String WORLD_NAME = "world";
+	static final UUID WORLD_UID = UUID.fromString("6a1c5e76-0e4a-4d4e-9a39-1b9b7f0f2b11");
+	static final RoadNetwork ROAD_NETWORK = new RoadNetwork(64, 32, 512);
+
+	private static final Logger LOGGER = Logger.getLogger("RoadBlock");
+	private static final World WORLD = proxy(World.class, (proxy, method, args) -> switch (method.getName())
+	{
+		case "getName" -> WORLD_NAME;
+		case "getUID" -> WORLD_UID;
+		case "getBlockAt" -> (args.length == 1)
+				? block((Location) args[0])
+				: block((int) args[0], (int) args[1], (int) args[2]);
+		case "getChunkAt" -> (args[0] instanceof Location location)
+				? chunk(location.getBlockX() >> 4, location.getBlockZ() >> 4)
+				: chunk((int) args[0], (int) args[1]);
+		case "getMinHeight" -> -64;
+		case "getMaxHeight" -> 320;
+		default -> standard(proxy, method.getName(), method.getReturnType(), args);
+	});
+	private static final Server SERVER = proxy(Server.class, (proxy, method, args) -> switch (method.getName())
+	{
+		case "getName" -> "StubServer";
+		case "getVersion", "getBukkitVersion" -> "benchmark";
+		case "getLogger" -> LOGGER;
+		case "getWorld" -> (WORLD_NAME.equals(args[0]) || WORLD_UID.equals(args[0])) ? WORLD : null;
+		case "getWorlds" -> List.of(WORLD);
+		case "getPluginManager" -> proxy(PluginManager.class, (pluginManager, pluginManagerMethod, pluginManagerArgs) ->
+				standard(pluginManager, pluginManagerMethod.getName(), pluginManagerMethod.getReturnType(), pluginManagerArgs));
+		default -> standard(proxy, method.getName(), method.getReturnType(), args);
+	});
+
+
+	/**
+	 * Private class constructor to prevent instantiation
+	 */
+	private StubServer()
+	{
+		throw new AssertionError();
+	}
+
+
+	/**
+	 * Get the stub world, installing the stub server in {@link Bukkit} on first use
+	 *
+	 * @return the stub world
+	 */
+	static synchronized World world()
+	{
+		if (Bukkit.getServer() == null)
+		{
+			Bukkit.setServer(SERVER);
+		}
+		return WORLD;
+	}
+
+
+	/**
+	 * Create a stub plugin with a data folder and configuration of its own
+	 *
+	 * @param dataFolder    the plugin data folder
+	 * @param configuration the plugin configuration
+	 * @return the stub plugin
+	 */
+	public static Plugin plugin(final File dataFolder, final YamlConfiguration configuration)
+	{
+		world();
+		return proxy(Plugin.class, (proxy, method, args) -> switch (method.getName())
+		{
+			case "getName" -> "RoadBlock";
+			case "getServer" -> SERVER;
+			case "getLogger" -> LOGGER;
+			case "getConfig" -> configuration;
+			case "getDataFolder" -> dataFolder;
+			case "isEnabled" -> true;
+			default -> standard(proxy, method.getName(), method.getReturnType(), args);
+		});
+	}
+
+
+	/**
+	 * Create a stub config repository that reports the default locale
+	 *
+	 * @return the stub config repository
+	 */
+	static ConfigRepository configRepository()
+	{
+		return proxy(ConfigRepository.class, (proxy, method, args) -> switch (method.getName())
+		{
+			case "locale" -> Locale.US;
+			default -> standard(proxy, method.getName(), method.getReturnType(), args);
+		});
+	}
+
+
+	static Location location(final int x, final int y, final int z)
+	{
+		return new Location(world(), x, y, z);
+	}
+
+
+	static Chunk chunk(final int chunkX, final int chunkZ)
+	{
+		return proxy(Chunk.class, (proxy, method, args) -> switch (method.getName())
+		{
+			case "getX" -> chunkX;
+			case "getZ" -> chunkZ;
+			case "getWorld" -> WORLD;
+			case "isLoaded" -> true;
+			case "getChunkSnapshot" -> chunkSnapshot(chunkX, chunkZ);
+			case "equals" -> args[0] instanceof Chunk other && other.getX() == chunkX && other.getZ() == chunkZ;
+			case "hashCode" -> 31 * chunkX + chunkZ;
+			default -> standard(proxy, method.getName(), method.getReturnType(), args);
+		});
+	}
+
+
+	private static ChunkSnapshot chunkSnapshot(final int chunkX, final int chunkZ)
+	{
+		return proxy(ChunkSnapshot.class, (proxy, method, args) -> switch (method.getName())
+		{
+			case "getX" -> chunkX;
+			case "getZ" -> chunkZ;
+			case "getWorldName" -> WORLD_NAME;
+			case "getBlockType" -> ROAD_NETWORK.getType((chunkX << 4) + (int) args[0], (int) args[1], (chunkZ << 4) + (int) args[2]);
+			default -> standard(proxy, method.getName(), method.getReturnType(), args);
+		});
+	}
+
+
+	private static Block block(final Location location)
+	{
+		return block(location.getBlockX(), location.getBlockY(), location.getBlockZ());
+	}
+
+
+	private static Block block(final int x, final int y, final int z)
+	{
+		return proxy(Block.class, (proxy, method, args) -> switch (method.getName())
+		{
+			case "getX" -> x;
+			case "getY" -> y;
+			case "getZ" -> z;
+			case "getWorld" -> WORLD;
+			case "getType" -> ROAD_NETWORK.getType(x, y, z);
+			case "getLocation" -> (args == null) ? new Location(WORLD, x, y, z) : copyLocation((Location) args[0], x, y, z);
+			case "getChunk" -> chunk(x >> 4, z >> 4);
+			case "getRelative" -> relative(x, y, z, args);
+			default -> standard(proxy, method.getName(), method.getReturnType(), args);
+		});
+	}
+
+
+	private static Location copyLocation(final Location location, final int x, final int y, final int z)
+	{
+		if (location != null)
+		{
+			location.setWorld(WORLD);
+			location.setX(x);
+			location.setY(y);
+			location.setZ(z);
+		}
+		return location;
+	}
+
+
+	private static Block relative(final int x, final int y, final int z, final Object[] args)
+	{
+		if (args[0] instanceof BlockFace face)
+		{
+			final int distance = (args.length > 1) ? (int) args[1] : 1;
+			return block(x + face.getModX() * distance, y + face.getModY() * distance, z + face.getModZ() * distance);
+		}
+		return block(x + (int) args[0], y + (int) args[1], z + (int) args[2]);
+	}
+
+
+	/**
+	 * Answer the methods every stub shares: identity equality, and a default value for anything else
+	 */
+	private static Object standard(final Object proxy, final String name, final Class<?> returnType, final Object[] args)
+	{
+		return switch (name)
+		{
+			case "equals" -> proxy == args[0];
+			case "hashCode" -> System.identityHashCode(proxy);
+			case "toString" -> "Stub" + proxy.getClass().getInterfaces()[0].getSimpleName();
+			default -> defaultValue(returnType);
+		};
+	}
+
+
+	private static Object defaultValue(final Class<?> type)
+	{
+		if (!type.isPrimitive() || type == void.class) return null;
+		else if (type == boolean.class) return false;
+		else if (type == char.class) return '\0';
+		else if (type == long.class) return 0L;
+		else if (type == float.class) return 0F;
+		else if (type == double.class) return 0D;
+		else if (type == byte.class) return (byte) 0;
+		else if (type == short.class) return (short) 0;
+		else return 0;
+	}
+
+
+	private static <T> T proxy(final Class<T> type, final InvocationHandler handler)
+	{
+		return type.cast(Proxy.newProxyInstance(StubServer.class.getClassLoader(), new Class<?>[] { type }, handler));
+	}
+
+}
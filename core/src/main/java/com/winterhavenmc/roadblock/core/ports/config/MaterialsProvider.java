@@ -14,6 +14,11 @@ public interface MaterialsProvider
 {
 	Supplier<Set<Material>> getSupplier();
 
+	/**
+	 * Re-read the configured road block materials, after the plugin configuration has been reloaded
+	 */
+	void reload();
+
 	/**
 	 * Check if a material is a valid road block material
 	 *
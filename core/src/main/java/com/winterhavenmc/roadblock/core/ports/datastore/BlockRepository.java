@@ -26,6 +26,8 @@ import org.bukkit.entity.Player;
 
 import java.util.Collection;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 
 public interface BlockRepository
@@ -38,6 +40,18 @@ public interface BlockRepository
 	Set<BlockLocation.Valid> getAll();
 
 
+	/**
+	 * Pass every block record to a consumer in turn, reading the records from the datastore
+	 * {@code fetchSize} at a time, so the table is never held in memory as a whole. Records whose
+	 * world is not loaded are skipped.
+	 *
+	 * @param fetchSize the number of records to read from the datastore at a time
+	 * @param consumer  the consumer of each block record
+	 * @return the number of block records passed to the consumer
+	 */
+	int forEachBlock(final int fetchSize, final Consumer<BlockLocation.Valid> consumer);
+
+
 	/**
 	 * Store list of records
 	 *
@@ -92,6 +106,17 @@ public interface BlockRepository
 
 	Set<Location> getFill(Location startLocation, MaterialsProvider materialsProvider);
 
+	/**
+	 * Find all blocks of valid road block material attached to a location, without reading world blocks
+	 * on the server thread during the search. Must be called on the server thread; the returned future
+	 * may be completed on another thread, and blocks found may have changed by the time it completes.
+	 *
+	 * @param startLocation     location to begin searching for attached road blocks
+	 * @param materialsProvider the provider of the configured road block materials
+	 * @return a future completed with the Set of Locations of attached road blocks
+	 */
+	CompletableFuture<Set<Location>> getFillAsync(Location startLocation, MaterialsProvider materialsProvider);
+
 	boolean isAboveRoad(Player player);
 
 	boolean isAboveRoad(Location location, int distance);
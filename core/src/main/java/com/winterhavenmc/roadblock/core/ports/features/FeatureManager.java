@@ -0,0 +1,12 @@
+package com.winterhavenmc.roadblock.core.ports.features;
+
+
+public interface FeatureManager
+{
+	/**
+	 * Register the event listeners and start the tasks of each optional feature that is enabled in the current
+	 * configuration snapshot, and unregister or stop those of each feature that is disabled. A disabled feature
+	 * has no listener registered, so its events are never dispatched to the plugin at all.
+	 */
+	void refresh();
+}
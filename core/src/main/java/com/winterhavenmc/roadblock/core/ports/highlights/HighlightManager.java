@@ -32,6 +32,11 @@ public interface HighlightManager extends Listener
 	 */
 	void unHighlightBlocks(Player player);
 
+	/**
+	 * Remove highlighting from all blocks for every player, such as when the plugin is disabled
+	 */
+	void unHighlightAll();
+
 	/**
 	 * Get a task from the pending remove map
 	 *
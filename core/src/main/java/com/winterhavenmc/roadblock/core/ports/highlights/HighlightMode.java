@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.roadblock.core.ports.highlights;
+
+
+/**
+ * The ways highlighted blocks can be shown to a player
+ */
+public enum HighlightMode
+{
+	/**
+	 * Each highlighted block is shown to the player as a block of the highlight material
+	 */
+	BLOCKS,
+
+	/**
+	 * Runs of adjacent highlighted blocks are merged into boxes, each drawn as a single glowing outline
+	 */
+	OUTLINE
+}
@@ -18,41 +18,54 @@
 package com.winterhavenmc.roadblock.core.ports.highlights;
 
 import com.winterhavenmc.roadblock.core.util.Config;
+import org.bukkit.Color;
 import org.bukkit.Material;
-import org.bukkit.plugin.Plugin;
+import org.bukkit.configuration.Configuration;
+
+import java.util.Locale;
 
 
 public enum HighlightStyle
 {
-	PROTECT(Material.EMERALD_BLOCK, Config.PROTECT_MATERIAL.toKey()),
-	UNPROTECT(Material.REDSTONE_BLOCK, Config.UNPROTECT_MATERIAL.toKey());
+	PROTECT(Material.EMERALD_BLOCK, Config.PROTECT_MATERIAL.toKey(), Config.PROTECT_HIGHLIGHT_MODE.toKey(), Color.LIME),
+	UNPROTECT(Material.REDSTONE_BLOCK, Config.UNPROTECT_MATERIAL.toKey(), Config.UNPROTECT_HIGHLIGHT_MODE.toKey(), Color.RED);
 
 	private final Material defaultMaterial;
 	private final String configString;
+	private final String modeConfigString;
+	private final Color outlineColor;
 
 
 	/**
 	 * Class constructor
 	 *
-	 * @param defaultMaterial the material type to use as default
-	 * @param configString    the configuration key for material type
+	 * @param defaultMaterial  the material type to use as default
+	 * @param configString     the configuration key for material type
+	 * @param modeConfigString the configuration key for highlight mode
+	 * @param outlineColor     the color of outlines drawn in {@link HighlightMode#OUTLINE} mode
 	 */
-	HighlightStyle(final Material defaultMaterial, final String configString)
+	HighlightStyle(final Material defaultMaterial,
+	               final String configString,
+	               final String modeConfigString,
+	               final Color outlineColor)
 	{
 		this.defaultMaterial = defaultMaterial;
 		this.configString = configString;
+		this.modeConfigString = modeConfigString;
+		this.outlineColor = outlineColor;
 	}
 
 
 	/**
 	 * Get configured material type or default if not configured
 	 *
+	 * @param configuration the configuration to read
 	 * @return the material type that matches the configured string
 	 */
-	public final Material getMaterial(final Plugin plugin)
+	public final Material getMaterial(final Configuration configuration)
 	{
 		// get configured material
-		String materialString = plugin.getConfig().getString(this.configString);
+		String materialString = configuration.getString(this.configString);
 
 		// if no configured material, return default material
 		if (materialString == null)
@@ -72,4 +85,44 @@ public enum HighlightStyle
 		return material;
 	}
 
+
+	/**
+	 * Get configured highlight mode or {@link HighlightMode#BLOCKS} if not configured
+	 *
+	 * @param configuration the configuration to read
+	 * @return the highlight mode that matches the configured string
+	 */
+	public final HighlightMode getMode(final Configuration configuration)
+	{
+		// get configured mode
+		String modeString = configuration.getString(this.modeConfigString);
+
+		// if no configured mode, return default mode
+		if (modeString == null)
+		{
+			return HighlightMode.BLOCKS;
+		}
+
+		// try to match mode from configured string, or return default mode
+		try
+		{
+			return HighlightMode.valueOf(modeString.trim().toUpperCase(Locale.ROOT));
+		}
+		catch (IllegalArgumentException exception)
+		{
+			return HighlightMode.BLOCKS;
+		}
+	}
+
+
+	/**
+	 * Get the color of outlines drawn for this style
+	 *
+	 * @return the outline color
+	 */
+	public final Color getOutlineColor()
+	{
+		return this.outlineColor;
+	}
+
 }
@@ -0,0 +1,49 @@
+package com.winterhavenmc.roadblock.core.ports.jobs;
+
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+import java.util.Collection;
+
+
+public interface BlockJobManager extends Listener
+{
+	/**
+	 * Queue a job to protect blocks for a player. The job runs on the server thread, a slice at a time,
+	 * within the configured time budget of each tick. Blocks that are no longer of a road block material
+	 * when their slice runs are not protected. May be called from any thread.
+	 *
+	 * @param player    the player invoking the protection of blocks
+	 * @param locations Collection of Location of blocks to be protected
+	 */
+	void protect(Player player, Collection<Location> locations);
+
+	/**
+	 * Queue a job to unprotect blocks for a player. The job runs on the server thread, a slice at a time,
+	 * within the configured time budget of each tick. May be called from any thread.
+	 *
+	 * @param player    the player invoking the unprotection of blocks
+	 * @param locations Collection of Location of blocks to be unprotected
+	 */
+	void unprotect(Player player, Collection<Location> locations);
+
+	/**
+	 * Stop all jobs of a player. Slices that have already run are not undone.
+	 *
+	 * @param player the player whose jobs are to be stopped
+	 * @return {@code true} if the player had any jobs, else {@code false}
+	 */
+	boolean cancel(Player player);
+
+	/**
+	 * Event handler for PlayerQuitEvent;
+	 * stops all jobs of the player
+	 *
+	 * @param event the event handled by this method
+	 */
+	@EventHandler
+	void onPlayerQuit(PlayerQuitEvent event);
+}
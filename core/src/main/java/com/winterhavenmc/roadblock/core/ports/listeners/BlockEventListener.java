@@ -59,13 +59,4 @@ public interface BlockEventListener extends Listener
 	 */
 	@EventHandler(ignoreCancelled = true)
 	void onPistonRetract(BlockPistonRetractEvent event);
-
-	/**
-	 * Event handler for BlockFormEvent;
-	 * prevents snow from forming on road blocks if configured
-	 *
-	 * @param event the event handled by this method
-	 */
-	@EventHandler(ignoreCancelled = true)
-	void onBlockForm(BlockFormEvent event);
 }
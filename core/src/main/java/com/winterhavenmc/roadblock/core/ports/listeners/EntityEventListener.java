@@ -6,7 +6,6 @@ import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.entity.EntityChangeBlockEvent;
 import org.bukkit.event.entity.EntityExplodeEvent;
-import org.bukkit.event.entity.EntityTargetLivingEntityEvent;
 import org.bukkit.event.player.*;
 
 import java.util.Collection;
@@ -29,16 +28,6 @@ public interface EntityEventListener extends Listener
 	@EventHandler(ignoreCancelled = true)
 	void onEntityChangeBlock(EntityChangeBlockEvent event);
 
-	/**
-	 * Event handler for EntityTargetLivingEntityEvent;
-	 * cancels players being targeted by mobs if they are within configured height above a road block
-	 * and mob is further away than configured target-distance
-	 *
-	 * @param event the event handled by this method
-	 */
-	@EventHandler(ignoreCancelled = true)
-	void onEntityTargetLivingEntity(EntityTargetLivingEntityEvent event);
-
 	/**
 	 * Event handler for PlayerItemHeldEvent;
 	 * unhighlights blocks when player changes held item from road block tool
@@ -75,8 +64,14 @@ public interface EntityEventListener extends Listener
 	@EventHandler
 	void onPlayerInteract(PlayerInteractEvent event);
 
+	/**
+	 * Event handler for PlayerQuitEvent;
+	 * forgets the fill generation of the player
+	 *
+	 * @param event the event handled by this method
+	 */
 	@EventHandler
-	void onPlayerMove(PlayerMoveEvent event);
+	void onPlayerQuit(PlayerQuitEvent event);
 
 	/**
 	 * Protect a collection of blocks
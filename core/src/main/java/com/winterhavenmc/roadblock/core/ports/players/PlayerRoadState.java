@@ -0,0 +1,52 @@
+package com.winterhavenmc.roadblock.core.ports.players;
+
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+import java.util.Collection;
+
+
+public interface PlayerRoadState extends Listener
+{
+	/**
+	 * Update the on-road state of a player for a location the player has moved to. The state is
+	 * re-evaluated only if the location is in a different block than the last location seen for the player.
+	 *
+	 * @param player   the player whose state is to be updated
+	 * @param location the location of the player
+	 * @return {@code true} if the player is within configured on-road-height above a road block, else {@code false}
+	 */
+	boolean update(Player player, Location location);
+
+	/**
+	 * Get the on-road state of a player at the player's current location
+	 *
+	 * @param player the player whose state is to be retrieved
+	 * @return {@code true} if the player is within configured on-road-height above a road block, else {@code false}
+	 */
+	boolean isOnRoad(Player player);
+
+	/**
+	 * Re-evaluate the state of any player standing in the block column of a location whose protection has changed
+	 *
+	 * @param locations Collection of Location of blocks that have been protected or unprotected
+	 */
+	void invalidate(Collection<Location> locations);
+
+	/**
+	 * Discard the state of all players, so that each is re-evaluated on next use
+	 */
+	void clear();
+
+	/**
+	 * Event handler for PlayerQuitEvent;
+	 * removes player from the on-road state map
+	 *
+	 * @param event the event handled by this method
+	 */
+	@EventHandler
+	void onPlayerQuit(PlayerQuitEvent event);
+}
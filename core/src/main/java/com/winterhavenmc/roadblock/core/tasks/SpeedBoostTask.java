@@ -1,6 +1,6 @@
 package com.winterhavenmc.roadblock.core.tasks;
 
-public interface ShowHighlightTask extends Runnable
+public interface SpeedBoostTask extends Runnable
 {
 	@Override
 	void run();
@@ -22,6 +22,8 @@ public enum Config
 	TOOL_MATERIAL(Material.GOLDEN_PICKAXE),
 	PROTECT_MATERIAL(Material.EMERALD_BLOCK),
 	UNPROTECT_MATERIAL(Material.REDSTONE_BLOCK),
+	PROTECT_HIGHLIGHT_MODE("BLOCKS"),
+	UNPROTECT_HIGHLIGHT_MODE("BLOCKS"),
 	DISPLAY_TOTAL(Boolean.TRUE),
 	SPREAD_DISTANCE(100),
 	SHOW_DISTANCE(100),
@@ -33,6 +35,9 @@ public enum Config
 	SPEED_BOOST(Boolean.TRUE),
 	TITLES_ENABLED(Boolean.TRUE),
 	HIGHLIGHT_DURATION(10),
+	DATASTORE_BATCH_SIZE(500),
+	JOB_TICK_BUDGET(2000),
+	HIGHLIGHT_PACKET_BUDGET(64),
 	MATERIALS(List.of(
 			Material.DIRT_PATH,
 			Material.COBBLESTONE,
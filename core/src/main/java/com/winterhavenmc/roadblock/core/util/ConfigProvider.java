@@ -0,0 +1,52 @@
+package com.winterhavenmc.roadblock.core.util;
+
+import org.bukkit.plugin.Plugin;
+
+import java.util.function.Supplier;
+
+
+/**
+ * Publishes the current {@link ConfigSnapshot} of the plugin configuration. A reload reads a complete new
+ * snapshot before replacing the reference to the old one, so a reader sees either the old settings or the
+ * new settings, never a mix of both.
+ */
+public final class ConfigProvider implements Supplier<ConfigSnapshot>
+{
+	private final Plugin plugin;
+	private volatile ConfigSnapshot snapshot;
+
+
+	/**
+	 * Class constructor; takes a snapshot of the plugin configuration as currently loaded
+	 *
+	 * @param plugin the plugin whose configuration is read
+	 */
+	public ConfigProvider(final Plugin plugin)
+	{
+		this.plugin = plugin;
+		this.snapshot = ConfigSnapshot.of(plugin.getConfig());
+	}
+
+
+	/**
+	 * Get the current configuration snapshot
+	 *
+	 * @return the current configuration snapshot
+	 */
+	@Override
+	public ConfigSnapshot get()
+	{
+		return snapshot;
+	}
+
+
+	/**
+	 * Replace the current snapshot with a new snapshot of the plugin configuration, after the configuration
+	 * has been reloaded from file
+	 */
+	public void reload()
+	{
+		snapshot = ConfigSnapshot.of(plugin.getConfig());
+	}
+
+}
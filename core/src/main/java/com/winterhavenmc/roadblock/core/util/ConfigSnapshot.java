@@ -0,0 +1,125 @@
+package com.winterhavenmc.roadblock.core.util;
+
+import com.winterhavenmc.roadblock.core.ports.highlights.HighlightMode;
+import com.winterhavenmc.roadblock.core.ports.highlights.HighlightStyle;
+
+import org.bukkit.Material;
+import org.bukkit.configuration.Configuration;
+
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * An immutable, typed copy of the configuration settings read by event handlers and the block repository,
+ * with derived values such as squared distances computed once when the snapshot is taken.
+ *
+ * @param spreadDistance        the maximum distance a fill spreads from the block clicked
+ * @param spreadDistanceSquared the square of {@code spreadDistance}
+ * @param showDistance          the distance from a player within which protected blocks are shown
+ * @param noPlaceHeight         the height above a road block at which blocks may not be placed
+ * @param targetDistance        the distance within which mobs may target a player on a road
+ * @param targetDistanceSquared the square of {@code targetDistance}
+ * @param onRoadHeight          the height above a road block at which a player is considered on the road
+ * @param snowPlow              whether snow is prevented from forming on road blocks
+ * @param speedBoost            whether players are given a speed boost on roads
+ * @param jobTickBudgetNanos    the time in nanoseconds block jobs may run in each server tick
+ * @param highlightPacketBudget the number of highlight packets that may be sent in each server tick
+ * @param datastoreBatchSize    the number of block records sent to the datastore in each batch
+ * @param highlightDuration     the number of seconds blocks stay highlighted
+ * @param protectMaterial       the material protected blocks are highlighted with
+ * @param unprotectMaterial     the material unprotected blocks are highlighted with
+ * @param protectMode           the way protected blocks are highlighted
+ * @param unprotectMode         the way unprotected blocks are highlighted
+ */
+public record ConfigSnapshot(int spreadDistance,
+                             double spreadDistanceSquared,
+                             int showDistance,
+                             int noPlaceHeight,
+                             int targetDistance,
+                             double targetDistanceSquared,
+                             int onRoadHeight,
+                             boolean snowPlow,
+                             boolean speedBoost,
+                             long jobTickBudgetNanos,
+                             int highlightPacketBudget,
+                             int datastoreBatchSize,
+                             int highlightDuration,
+                             Material protectMaterial,
+                             Material unprotectMaterial,
+                             HighlightMode protectMode,
+                             HighlightMode unprotectMode)
+{
+	/**
+	 * Read a snapshot of the settings in a configuration
+	 *
+	 * @param configuration the configuration to read
+	 * @return a new snapshot of the configuration settings
+	 */
+	public static ConfigSnapshot of(final Configuration configuration)
+	{
+		final int spreadDistance = Config.SPREAD_DISTANCE.getInt(configuration);
+		final int targetDistance = Config.TARGET_DISTANCE.getInt(configuration);
+
+		return new ConfigSnapshot(spreadDistance,
+				(double) spreadDistance * spreadDistance,
+				Config.SHOW_DISTANCE.getInt(configuration),
+				Config.NO_PLACE_HEIGHT.getInt(configuration),
+				targetDistance,
+				(double) targetDistance * targetDistance,
+				Config.ON_ROAD_HEIGHT.getInt(configuration),
+				Config.SNOW_PLOW.getBoolean(configuration),
+				Config.SPEED_BOOST.getBoolean(configuration),
+				TimeUnit.MICROSECONDS.toNanos(Config.JOB_TICK_BUDGET.getInt(configuration)),
+				Math.max(1, Config.HIGHLIGHT_PACKET_BUDGET.getInt(configuration)),
+				Math.max(1, Config.DATASTORE_BATCH_SIZE.getInt(configuration)),
+				Config.HIGHLIGHT_DURATION.getInt(configuration),
+				HighlightStyle.PROTECT.getMaterial(configuration),
+				HighlightStyle.UNPROTECT.getMaterial(configuration),
+				HighlightStyle.PROTECT.getMode(configuration),
+				HighlightStyle.UNPROTECT.getMode(configuration));
+	}
+
+
+	/**
+	 * Get the material blocks are highlighted with in a highlight style
+	 *
+	 * @param style the highlight style
+	 * @return the configured material of the highlight style
+	 */
+	public Material highlightMaterial(final HighlightStyle style)
+	{
+		return switch (style)
+		{
+			case PROTECT -> protectMaterial;
+			case UNPROTECT -> unprotectMaterial;
+		};
+	}
+
+
+	/**
+	 * Get the way blocks are highlighted in a highlight style
+	 *
+	 * @param style the highlight style
+	 * @return the configured highlight mode of the highlight style
+	 */
+	public HighlightMode highlightMode(final HighlightStyle style)
+	{
+		return switch (style)
+		{
+			case PROTECT -> protectMode;
+			case UNPROTECT -> unprotectMode;
+		};
+	}
+
+
+	/**
+	 * Check if mobs are kept from targeting players on roads
+	 *
+	 * @return {@code true} if a positive target distance is configured, else {@code false}
+	 */
+	public boolean isTargetingLimited()
+	{
+		return targetDistance > 0;
+	}
+
+}
@@ -68,6 +68,9 @@ public enum MessageId
 	TOOL_SUCCESS_PROTECT,
 	TOOL_SUCCESS_UNPROTECT,
 	TOOL_SUCCESS_BREAK_BLOCK,
+	TOOL_INFO_WORKING,
+	TOOL_INFO_PROGRESS,
+	TOOL_INFO_CANCELLED,
 
 	TOOL_FAIL_DISTANCE_EXCEEDED,
 	TOOL_FAIL_WORLD_DISABLED,
@@ -2,12 +2,16 @@ package com.winterhavenmc.roadblock.core.util;
 
 import com.winterhavenmc.library.messagebuilder.MessageBuilder;
 
+import com.winterhavenmc.roadblock.core.ports.features.FeatureManager;
 import com.winterhavenmc.roadblock.core.ports.highlights.HighlightManager;
 import com.winterhavenmc.roadblock.core.ports.datastore.BlockRepository;
+import com.winterhavenmc.roadblock.core.ports.jobs.BlockJobManager;
+import com.winterhavenmc.roadblock.core.ports.players.PlayerRoadState;
 
 import com.winterhavenmc.roadblock.core.ports.config.MaterialsProvider;
 import org.bukkit.plugin.java.JavaPlugin;
 
 
-public record PluginCtx(JavaPlugin plugin, MessageBuilder messageBuilder, MaterialsProvider materials,
-                        BlockRepository blocks, HighlightManager highlightManager) { }
+public record PluginCtx(JavaPlugin plugin, ConfigProvider config, MessageBuilder messageBuilder, MaterialsProvider materials,
+                        BlockRepository blocks, HighlightManager highlightManager,
+                        PlayerRoadState roadState, BlockJobManager jobs, FeatureManager features) { }
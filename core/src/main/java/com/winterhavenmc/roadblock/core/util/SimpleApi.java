@@ -21,13 +21,12 @@ import com.winterhavenmc.roadblock.core.ports.datastore.BlockRepository;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
-import org.bukkit.plugin.Plugin;
 
 
 @SuppressWarnings("unused")
 public final class SimpleApi
 {
-	private final Plugin plugin;
+	private final ConfigProvider config;
 	private final BlockRepository blocks;
 	private final MaterialsProvider materials;
 
@@ -37,7 +36,7 @@ public final class SimpleApi
 	 */
 	public SimpleApi(final PluginCtx ctx)
 	{
-		this.plugin = ctx.plugin();
+		this.config = ctx.config();
 		this.blocks = ctx.blocks();
 		this.materials = ctx.materials();
 	}
@@ -75,7 +74,7 @@ public final class SimpleApi
 	 */
 	public boolean isAboveRoad(final Location location)
 	{
-		return blocks.isAboveRoad(location, Config.NO_PLACE_HEIGHT.getInt(plugin.getConfig()));
+		return blocks.isAboveRoad(location, config.get().noPlaceHeight());
 	}
 
 
@@ -101,7 +100,7 @@ public final class SimpleApi
 	public boolean canPlace(final Location location)
 	{
 		// get configured no-place-height
-		int height = Config.NO_PLACE_HEIGHT.getInt(plugin.getConfig());
+		int height = config.get().noPlaceHeight();
 
 		// check location with configured no-place-height
 		return canPlace(location, height);
@@ -2,9 +2,12 @@ package com.winterhavenmc.roadblock.plugin;
 
 import com.winterhavenmc.roadblock.adapters.commands.bukkit.BukkitCommandDispatcher;
 import com.winterhavenmc.roadblock.adapters.datastore.sqlite.SqliteConnectionProvider;
+import com.winterhavenmc.roadblock.adapters.features.bukkit.BukkitFeatureManager;
 import com.winterhavenmc.roadblock.adapters.highlights.bukkit.BukkitHighlightManager;
+import com.winterhavenmc.roadblock.adapters.jobs.bukkit.BukkitBlockJobManager;
 import com.winterhavenmc.roadblock.adapters.listeners.bukkit.BukkitBlockEventListener;
 import com.winterhavenmc.roadblock.adapters.listeners.bukkit.BukkitEntityEventListener;
+import com.winterhavenmc.roadblock.adapters.players.bukkit.BukkitPlayerRoadState;
 
 import com.winterhavenmc.roadblock.adapters.config.bukkit.BukkitMaterialsProvider;
 import com.winterhavenmc.roadblock.core.util.PluginCtx;
@@ -12,6 +15,10 @@ import com.winterhavenmc.roadblock.core.ports.highlights.HighlightManager;
 import com.winterhavenmc.roadblock.core.ports.config.MaterialsProvider;
 import com.winterhavenmc.roadblock.core.ports.datastore.BlockRepository;
 import com.winterhavenmc.roadblock.core.ports.datastore.ConnectionProvider;
+import com.winterhavenmc.roadblock.core.ports.features.FeatureManager;
+import com.winterhavenmc.roadblock.core.ports.jobs.BlockJobManager;
+import com.winterhavenmc.roadblock.core.ports.players.PlayerRoadState;
+import com.winterhavenmc.roadblock.core.util.ConfigProvider;
 import com.winterhavenmc.roadblock.core.util.MetricsHandler;
 import com.winterhavenmc.roadblock.core.util.SimpleApi;
 
@@ -23,6 +30,7 @@ import org.bukkit.plugin.java.JavaPlugin;
 public class Bootsrap extends JavaPlugin
 {
 	private ConnectionProvider connectionProvider;
+	private HighlightManager highlightManager;
 	private static SimpleApi simpleApi;
 
 
@@ -31,13 +39,17 @@ public class Bootsrap extends JavaPlugin
 	{
 		saveDefaultConfig();
 
+		final ConfigProvider config = new ConfigProvider(this);
 		final MessageBuilder messageBuilder = MessageBuilder.create(this);
 		final MaterialsProvider materials = new BukkitMaterialsProvider(this);
-		this.connectionProvider = SqliteConnectionProvider.connect(this, materials);
+		this.connectionProvider = SqliteConnectionProvider.connect(this, materials, config);
 		final BlockRepository blocks = connectionProvider.blocks();
-		final HighlightManager highlightManager = new BukkitHighlightManager(this);
+		this.highlightManager = new BukkitHighlightManager(this, config);
+		final PlayerRoadState roadState = new BukkitPlayerRoadState(this, config, blocks);
+		final BlockJobManager jobs = new BukkitBlockJobManager(this, config, messageBuilder, materials, blocks, highlightManager, roadState);
+		final FeatureManager features = new BukkitFeatureManager(this, config, blocks, roadState);
 
-		final PluginCtx ctx = new PluginCtx(this, messageBuilder, materials, blocks, highlightManager);
+		final PluginCtx ctx = new PluginCtx(this, config, messageBuilder, materials, blocks, highlightManager, roadState, jobs, features);
 
 		new BukkitCommandDispatcher(ctx);
 		new BukkitBlockEventListener(ctx);
@@ -51,7 +63,17 @@ public class Bootsrap extends JavaPlugin
 	@Override
 	public void onDisable()
 	{
-		connectionProvider.close();
+		// highlights and outline entities would otherwise remain until their chunks are reloaded
+		if (highlightManager != null)
+		{
+			highlightManager.unHighlightAll();
+		}
+
+		// the datastore is not set if it refused to start
+		if (connectionProvider != null)
+		{
+			connectionProvider.close();
+		}
 	}
 
 